@@ -0,0 +1,102 @@
+package io.mewb.bossEventManager.messages;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message rendering with {@link MessageTemplate} against the old ConfigManager.getMessage path, which replaced
+ * %prefix% and every map entry with String.replace and then translated color codes on each call.
+ * Run with {@code mvn -P jmh test-compile exec:exec -Djmh.include=MessageTemplate}; compare the
+ * gc.alloc.rate.norm column for the allocation per message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateBenchmark {
+
+    private static final String PREFIX = "&8[&bEvents&8] &r";
+    private static final String WITH_PLACEHOLDERS = "%prefix%&a%cost% gems were deducted as your share of %player%'s boss event.";
+    private static final String CONSTANT = "%prefix%&cYour party has been defeated! The event is ending.";
+
+    private String coloredPrefix;
+    private MessageTemplate withPlaceholders;
+    private MessageTemplate constant;
+    private String cost = "250";
+    private String player = "Notch";
+
+    @Setup
+    public void setup() {
+        coloredPrefix = ChatColor.translateAlternateColorCodes('&', PREFIX);
+        withPlaceholders = MessageTemplate.compile(WITH_PLACEHOLDERS, coloredPrefix);
+        constant = MessageTemplate.compile(CONSTANT, coloredPrefix);
+    }
+
+    private String renderLegacy(String raw, Map<String, String> replacements) {
+        String message = raw.replace("%prefix%", coloredPrefix);
+        if (replacements != null) {
+            for (Map.Entry<String, String> entry : replacements.entrySet()) {
+                message = message.replace(entry.getKey(), entry.getValue());
+            }
+        }
+        return ChatColor.translateAlternateColorCodes('&', message);
+    }
+
+    @Benchmark
+    public String placeholdersLegacy() {
+        Map<String, String> replacements = new HashMap<>();
+        replacements.put("%cost%", cost);
+        replacements.put("%player%", player);
+        return renderLegacy(WITH_PLACEHOLDERS, replacements);
+    }
+
+    @Benchmark
+    public String placeholdersTemplateMap() {
+        Map<String, String> replacements = new HashMap<>();
+        replacements.put("%cost%", cost);
+        replacements.put("%player%", player);
+        return withPlaceholders.render(replacements);
+    }
+
+    @Benchmark
+    public String placeholdersTemplatePairs() {
+        return withPlaceholders.render("%cost%", cost, "%player%", player);
+    }
+
+    @Benchmark
+    public String constantLegacy() {
+        return renderLegacy(CONSTANT, null);
+    }
+
+    @Benchmark
+    public String constantTemplate() {
+        return constant.render((Map<String, String>) null);
+    }
+
+    @Benchmark
+    public Component componentLegacy() {
+        return LegacyComponentSerializer.legacySection().deserialize(renderLegacy(CONSTANT, null));
+    }
+
+    @Benchmark
+    public Component componentTemplate() {
+        return constant.toComponent((Map<String, String>) null);
+    }
+}
@@ -0,0 +1,91 @@
+package io.mewb.bossEventManager.party;
+
+import com.google.common.io.ByteArrayDataInput;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of a PARTY_INFO_RESPONSE: {@link PartyMessageCodec} against the legacy writeUTF
+ * sub-channel frame with UUID strings, as still parsed by SpigotPluginMessageListener.
+ * Run with {@code mvn -P jmh test-compile exec:exec -Djmh.include=PartyMessageCodec}; the gc profiler reports
+ * allocation per operation next to the timings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartyMessageCodecBenchmark {
+
+    @Param({"1", "5", "10"})
+    private int memberCount;
+
+    private PartyInfo info;
+    private byte[] legacyFrame;
+    private byte[] binaryFrame;
+
+    @Setup
+    public void setup() {
+        List<UUID> members = new ArrayList<>();
+        for (int i = 0; i < memberCount; i++) members.add(UUID.randomUUID());
+        info = new PartyInfo(members.get(0), true, memberCount, members);
+        legacyFrame = encodeLegacy();
+        binaryFrame = encodeBinary();
+    }
+
+    @Benchmark
+    public byte[] encodeLegacy() {
+        ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        out.writeUTF("PARTY_INFO_RESPONSE");
+        out.writeUTF(info.getRequestedPlayerUUID().toString());
+        out.writeBoolean(info.isLeader());
+        out.writeInt(info.getPartySize());
+        out.writeInt(info.getMemberUUIDs().size());
+        for (UUID member : info.getMemberUUIDs()) {
+            out.writeUTF(member.toString());
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return PartyMessageCodec.encodePartyInfoResponse(info);
+    }
+
+    @Benchmark
+    public PartyInfo decodeLegacy() {
+        ByteArrayDataInput input = ByteStreams.newDataInput(legacyFrame);
+        input.readUTF(); // Sub-channel
+        UUID requestedPlayerUUID = UUID.fromString(input.readUTF());
+        boolean isLeader = input.readBoolean();
+        int partySize = input.readInt();
+        int count = input.readInt();
+        List<UUID> memberUUIDs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            memberUUIDs.add(UUID.fromString(input.readUTF()));
+        }
+        return new PartyInfo(requestedPlayerUUID, isLeader, partySize, memberUUIDs);
+    }
+
+    @Benchmark
+    public PartyInfo decodeBinary() {
+        return PartyMessageCodec.reader(binaryFrame).readPartyInfo();
+    }
+}
@@ -13,15 +13,22 @@ import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.session.ClipboardHolder;
 
 
+import io.mewb.bossEventManager.arena.ArenaScheduler;
 import io.mewb.bossEventManager.commands.BossEventCommand;
+import io.mewb.bossEventManager.economy.EconomyEscrow;
+import io.mewb.bossEventManager.listeners.ArenaActivityListener;
+import io.mewb.bossEventManager.listeners.ArenaBlockChangeListener;
+import io.mewb.bossEventManager.listeners.ArenaMobSpawnListener;
 import io.mewb.bossEventManager.listeners.BossDeathListener;
 import io.mewb.bossEventManager.listeners.PlayerArenaDeathListener;
+import io.mewb.bossEventManager.listeners.RewardJoinListener;
 import io.mewb.bossEventManager.listeners.SpigotPluginMessageListener;
 import io.mewb.bossEventManager.managers.ArenaManager;
 import io.mewb.bossEventManager.managers.BossManager;
 import io.mewb.bossEventManager.managers.ConfigManager;
 import io.mewb.bossEventManager.managers.GuiManager;
 import io.mewb.bossEventManager.party.PartyInfoManager;
+import io.mewb.bossEventManager.rewards.RewardEngine;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
@@ -58,6 +65,9 @@ public class BossEventManagerPlugin extends JavaPlugin {
     private GuiManager guiManager;
     private ArenaManager arenaManager;
     private PartyInfoManager partyInfoManager;
+    private RewardEngine rewardEngine;
+    private EconomyEscrow economyEscrow;
+    private ArenaScheduler arenaScheduler;
 
 
     @Override
@@ -73,12 +83,18 @@ public class BossEventManagerPlugin extends JavaPlugin {
 
         if (!setupEconomy()) { log.severe("Vault/Economy setup failed! Disabling BossEventManager."); getServer().getPluginManager().disablePlugin(this); return; }
         // Success message is now inside setupEconomy
+        economyEscrow = new EconomyEscrow(vaultEconomy, getLogger());
         if (!setupMythicMobs()) { log.severe("MythicMobs not found! Boss functionality will be severely limited."); } else { log.info("Successfully hooked into MythicMobs!"); }
         if (!setupModelEngine()) { log.severe("ModelEngine not found or API could not be hooked! Custom models will not work."); } else { log.info("Successfully hooked into ModelEngine!"); }
         if (!setupFAWE()) { log.severe("FastAsyncWorldEdit (FAWE) not found or API could not be hooked! Arena creation will fail."); } else { log.info("Successfully hooked into FastAsyncWorldEdit (FAWE)!"); }
         setupPartyAndFriends(); // Placeholder, real check is Bungee-side
 
         bossManager = new BossManager(this);
+        rewardEngine = new RewardEngine(this);
+        rewardEngine.replayJournal(bossManager.getCatalog());
+        getServer().getPluginManager().registerEvents(new RewardJoinListener(this), this); // Before any replayed reward runs
+        arenaScheduler = new ArenaScheduler(this);
+        arenaScheduler.start();
         partyInfoManager = new PartyInfoManager(this);
         guiManager = new GuiManager(this);
 
@@ -90,6 +106,10 @@ public class BossEventManagerPlugin extends JavaPlugin {
                 arenaManager = new ArenaManager(this);
                 log.info("ArenaManager initialized successfully!");
                 registerListeners();
+                // Themes are decoded off the main thread, menus are rebuilt once they are published
+                arenaManager.loadArenaThemesAsync().thenRun(() -> {
+                    if (guiManager != null) guiManager.reloadMenus();
+                });
             } else {
                 log.severe("ArenaManager could NOT be initialized (FAWE Hook: " + (faweApi != null) + ", World '" + worldName + "' Loaded: " + (Bukkit.getWorld(worldName) != null) + "). Arena features disabled.");
             }
@@ -118,14 +138,24 @@ public class BossEventManagerPlugin extends JavaPlugin {
     }
 
     private void registerListeners() {
-        if (mythicMobsApi != null) { // BossDeathListener only needs MythicMobs
+        if (mythicMobsApi != null) { // BossDeathListener and ArenaMobSpawnListener only need MythicMobs
             getServer().getPluginManager().registerEvents(new BossDeathListener(this), this);
             log.info("BossDeathListener registered.");
+            getServer().getPluginManager().registerEvents(new ArenaMobSpawnListener(this), this);
+            log.info("ArenaMobSpawnListener registered.");
         } else {
             log.warning("BossDeathListener registration skipped (MythicMobs API missing).");
         }
         getServer().getPluginManager().registerEvents(new PlayerArenaDeathListener(this), this);
         log.info("PlayerArenaDeathListener registered.");
+        if (arenaManager.isDifferentialResetEnabled()) {
+            getServer().getPluginManager().registerEvents(new ArenaBlockChangeListener(this), this);
+            log.info("ArenaBlockChangeListener registered.");
+        }
+        if (arenaManager.isIdleReapingEnabled()) {
+            getServer().getPluginManager().registerEvents(new ArenaActivityListener(this), this);
+            log.info("ArenaActivityListener registered.");
+        }
     }
 
 
@@ -135,15 +165,24 @@ public class BossEventManagerPlugin extends JavaPlugin {
         log.info(this.getDescription().getName() + " is disabling...");
         this.getServer().getMessenger().unregisterOutgoingPluginChannel(this, BUNGEE_CHANNEL);
         this.getServer().getMessenger().unregisterIncomingPluginChannel(this, BUNGEE_CHANNEL);
+        if (rewardEngine != null) {
+            rewardEngine.shutdown(); // Grant rewards still spread over upcoming ticks and commit the journal
+        }
         if (arenaManager != null) {
             arenaManager.shutdown();
         }
+        if (arenaScheduler != null) {
+            arenaScheduler.shutdown();
+        }
+        if (economyEscrow != null) {
+            economyEscrow.shutdown(); // Refund costs still held for events that never started
+        }
         Bukkit.getScheduler().cancelTasks(this);
         log.info(this.getDescription().getName() + " has been disabled.");
         log.info("--------------------------------------");
         instance = null; vaultEconomy = null; mythicMobsApi = null; modelEngineApi = null;
         faweApi = null; configManager = null; bossManager = null; guiManager = null;
-        arenaManager = null; partyInfoManager = null;
+        arenaManager = null; partyInfoManager = null; rewardEngine = null; economyEscrow = null; arenaScheduler = null;
     }
 
     private boolean setupEconomy() {
@@ -209,5 +248,8 @@ public class BossEventManagerPlugin extends JavaPlugin {
     public GuiManager getGuiManager() { return guiManager; }
     public ArenaManager getArenaManager() { return arenaManager; }
     public PartyInfoManager getPartyInfoManager() { return partyInfoManager; }
+    public RewardEngine getRewardEngine() { return rewardEngine; }
+    public EconomyEscrow getEconomyEscrow() { return economyEscrow; }
+    public ArenaScheduler getArenaScheduler() { return arenaScheduler; }
 
 }
\ No newline at end of file
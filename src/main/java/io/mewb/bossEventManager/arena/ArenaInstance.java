@@ -1,24 +1,60 @@
 package io.mewb.bossEventManager.arena;
 
 
+import com.sk89q.worldedit.math.BlockVector3;
 import io.mewb.bossEventManager.bosses.BossDefinition;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.ArrayList; // Ensure ArrayList is imported
 
 public class ArenaInstance {
 
+    /**
+     * Lifecycle: AVAILABLE -> PREPARING -> IN_USE -> CLEANING_UP -> AVAILABLE.
+     * A failed start goes PREPARING -> CLEANING_UP, and idle pooled arenas are cleared with AVAILABLE -> CLEANING_UP.
+     */
     public enum ArenaState {
-        AVAILABLE, PREPARING, IN_USE, CLEANING_UP, UNLOADING
+        AVAILABLE, PREPARING, IN_USE, CLEANING_UP, UNLOADING;
+
+        public boolean canTransitionTo(ArenaState next) {
+            switch (this) {
+                case AVAILABLE: return next == PREPARING || next == CLEANING_UP || next == UNLOADING;
+                case PREPARING: return next == IN_USE || next == CLEANING_UP;
+                case IN_USE: return next == CLEANING_UP;
+                case CLEANING_UP: return next == AVAILABLE || next == UNLOADING;
+                default: return false; // UNLOADING is final
+            }
+        }
+    }
+
+    /**
+     * Notified after every successful state transition, on the thread that made it.
+     */
+    public interface TransitionListener {
+        void onTransition(ArenaInstance instance, ArenaState from, ArenaState to, long millisInPreviousState);
+    }
+
+    // State and the time it was entered, swapped together so transitions are atomic
+    private static final class StateStamp {
+        private final ArenaState state;
+        private final long enteredNanos;
+
+        private StateStamp(ArenaState state, long enteredNanos) {
+            this.state = state;
+            this.enteredNanos = enteredNanos;
+        }
     }
 
     private static final Logger log = Bukkit.getLogger();
@@ -28,25 +64,55 @@ public class ArenaInstance {
     private final Location plotOrigin; // The actual world location where the schematic was pasted
     private int plotId = -1; // The logical ID of the plot this instance occupies, -1 if not set
     private List<UUID> partyMemberUUIDs;
+    private CombatState combatState; // Set together with the party
     private BossDefinition currentBoss;
     private UUID bossEntityUUID;
     private String activeMusicTrack;
-    private ArenaState state;
+    private final AtomicReference<StateStamp> state;
+    private final TransitionListener transitionListener; // May be null
     private long creationTime;
-    private long lastActivityTime;
+    private volatile long lastActivityTime;
     private Map<UUID, Location> originalPlayerLocations;
+    private BlockChangeTracker blockChangeTracker; // Only set when differential reset is enabled
+    private int differentialResets; // Fights the plot was reset from without a re-paste
+    private volatile ArenaRegistry registry; // Set while registered as active, kept in sync on boss/party changes
+    private final Map<UUID, TrackedMob> trackedMobs = new ConcurrentHashMap<>(); // Boss phases and adds spawned in this plot
+    private final List<TrackedMob.PhaseTiming> phaseTimings = Collections.synchronizedList(new ArrayList<>());
+
+    // Block bounds of the pasted schematic, inclusive
+    private final int minBlockX, minBlockY, minBlockZ;
+    private final int maxBlockX, maxBlockY, maxBlockZ;
 
     public ArenaInstance(ArenaTheme arenaTheme, Location plotOrigin, int plotId) { // Added plotId to constructor
+        this(arenaTheme, plotOrigin, plotId, null);
+    }
+
+    public ArenaInstance(ArenaTheme arenaTheme, Location plotOrigin, int plotId, TransitionListener transitionListener) {
         this.instanceId = UUID.randomUUID();
         this.arenaTheme = arenaTheme;
         this.plotOrigin = plotOrigin;
         this.plotId = plotId; // Set plotId
-        this.state = ArenaState.AVAILABLE;
+        this.state = new AtomicReference<>(new StateStamp(ArenaState.AVAILABLE, System.nanoTime()));
+        this.transitionListener = transitionListener;
         this.creationTime = System.currentTimeMillis();
         this.lastActivityTime = this.creationTime;
         this.bossEntityUUID = null;
         this.originalPlayerLocations = new HashMap<>();
         this.activeMusicTrack = null;
+
+        BlockVector3 dimensions = arenaTheme != null ? arenaTheme.getSchematicDimensions() : null;
+        BlockVector3 originOffset = arenaTheme != null ? arenaTheme.getSchematicOriginOffset() : null;
+        if (plotOrigin != null && dimensions != null && originOffset != null) {
+            this.minBlockX = plotOrigin.getBlockX() + originOffset.getBlockX();
+            this.minBlockY = plotOrigin.getBlockY() + originOffset.getBlockY();
+            this.minBlockZ = plotOrigin.getBlockZ() + originOffset.getBlockZ();
+            this.maxBlockX = minBlockX + dimensions.getBlockX() - 1;
+            this.maxBlockY = minBlockY + dimensions.getBlockY() - 1;
+            this.maxBlockZ = minBlockZ + dimensions.getBlockZ() - 1;
+        } else {
+            this.minBlockX = this.minBlockY = this.minBlockZ = 0;
+            this.maxBlockX = this.maxBlockY = this.maxBlockZ = -1; // Empty bounds
+        }
     }
 
     // --- Getters ---
@@ -60,13 +126,22 @@ public class ArenaInstance {
      */
     public int getPlotId() { return plotId; }
 
+    /**
+     * @return How many fights this plot was reset from by restoring only changed blocks since it was last pasted.
+     */
+    public int getDifferentialResets() { return differentialResets; }
+
     public List<UUID> getPartyMemberUUIDs() {
         return partyMemberUUIDs == null ? Collections.emptyList() : new ArrayList<>(partyMemberUUIDs);
     }
+    /**
+     * @return Who is still fighting, or null if no party is set.
+     */
+    public CombatState getCombatState() { return combatState; }
     public BossDefinition getCurrentBoss() { return currentBoss; }
     public UUID getBossEntityUUID() { return bossEntityUUID; }
     public String getActiveMusicTrack() { return activeMusicTrack; }
-    public ArenaState getState() { return state; }
+    public ArenaState getState() { return state.get().state; }
     public long getCreationTime() { return creationTime; }
     public long getLastActivityTime() { return lastActivityTime; }
 
@@ -78,20 +153,104 @@ public class ArenaInstance {
         return new HashMap<>(originalPlayerLocations);
     }
 
+    public BlockChangeTracker getBlockChangeTracker() { return blockChangeTracker; }
+
+    // --- Tracked mobs (boss phases and adds) ---
+
+    /**
+     * Registers a MythicMob that spawned inside this arena.
+     */
+    public void trackMob(UUID entityUUID, String mobType, boolean bossPhase) {
+        trackedMobs.put(entityUUID, new TrackedMob(entityUUID, mobType, bossPhase));
+        updateLastActivity();
+        ArenaRegistry currentRegistry = registry;
+        if (currentRegistry != null) currentRegistry.mobTracked(this, entityUUID);
+    }
+
+    /**
+     * Stops tracking a mob, e.g. when it died.
+     * @return The tracked mob, or null if it was not tracked by this arena.
+     */
+    public TrackedMob untrackMob(UUID entityUUID) {
+        TrackedMob removed = trackedMobs.remove(entityUUID);
+        ArenaRegistry currentRegistry = registry;
+        if (removed != null && currentRegistry != null) currentRegistry.mobUntracked(this, entityUUID);
+        if (removed != null) updateLastActivity();
+        return removed;
+    }
+
+    public TrackedMob getTrackedMob(UUID entityUUID) { return trackedMobs.get(entityUUID); }
+    public List<TrackedMob> getTrackedMobs() { return new ArrayList<>(trackedMobs.values()); }
+    Collection<UUID> getTrackedMobUUIDs() { return trackedMobs.keySet(); }
+
+    private void clearTrackedMobs() {
+        ArenaRegistry currentRegistry = registry;
+        if (currentRegistry != null) {
+            for (UUID entityUUID : trackedMobs.keySet()) currentRegistry.mobUntracked(this, entityUUID);
+        }
+        trackedMobs.clear();
+    }
+
+    /**
+     * Records how long a defeated boss phase took, from its spawn to now.
+     */
+    public TrackedMob.PhaseTiming recordPhaseDefeated(TrackedMob phase) {
+        TrackedMob.PhaseTiming timing = new TrackedMob.PhaseTiming(phase.getMobType(), System.currentTimeMillis() - phase.getSpawnTime());
+        phaseTimings.add(timing);
+        return timing;
+    }
+
+    public List<TrackedMob.PhaseTiming> getPhaseTimings() {
+        synchronized (phaseTimings) {
+            return new ArrayList<>(phaseTimings);
+        }
+    }
+
+    /**
+     * Checks whether a block position lies inside the pasted schematic of this arena.
+     * Does not check the world.
+     */
+    public boolean containsBlock(int x, int y, int z) {
+        return x >= minBlockX && x <= maxBlockX && y >= minBlockY && y <= maxBlockY && z >= minBlockZ && z <= maxBlockZ;
+    }
+    public int getMinBlockX() { return minBlockX; }
+    public int getMinBlockY() { return minBlockY; }
+    public int getMinBlockZ() { return minBlockZ; }
+    public int getMaxBlockX() { return maxBlockX; }
+    public int getMaxBlockY() { return maxBlockY; }
+    public int getMaxBlockZ() { return maxBlockZ; }
+
 
     // --- Setters / Modifiers ---
     public void setPlotId(int plotId) { this.plotId = plotId; }
+    public void setBlockChangeTracker(BlockChangeTracker blockChangeTracker) { this.blockChangeTracker = blockChangeTracker; }
+    public void setDifferentialResets(int differentialResets) { this.differentialResets = differentialResets; }
+    void setRegistry(ArenaRegistry registry) { this.registry = registry; }
+
     public void setParty(List<Player> players) {
+        List<UUID> oldMembers = this.partyMemberUUIDs;
         if (players != null) {
             this.partyMemberUUIDs = players.stream().map(Player::getUniqueId).collect(Collectors.toList());
             // there's probably a better way to do this. but this works.
+            this.combatState = new CombatState(this.partyMemberUUIDs);
         } else {
             this.partyMemberUUIDs = null;
+            this.combatState = null;
             this.originalPlayerLocations.clear();
         }
+        ArenaRegistry currentRegistry = registry;
+        if (currentRegistry != null) currentRegistry.partyChanged(this, oldMembers, this.partyMemberUUIDs);
         updateLastActivity();
     }
 
+    /**
+     * Checks party membership without copying the member list.
+     */
+    public boolean isPartyMember(UUID playerUUID) {
+        List<UUID> members = partyMemberUUIDs;
+        return members != null && members.contains(playerUUID);
+    }
+
     public void storePartyOriginalLocations(List<Player> players) {
         originalPlayerLocations.clear();
         if (players != null) {
@@ -104,17 +263,70 @@ public class ArenaInstance {
     }
 
     public void setCurrentBoss(BossDefinition bossDefinition) { this.currentBoss = bossDefinition; updateLastActivity(); }
-    public void setBossEntityUUID(UUID bossEntityUUID) { this.bossEntityUUID = bossEntityUUID; }
+    public void setBossEntityUUID(UUID bossEntityUUID) {
+        UUID oldBossUUID = this.bossEntityUUID;
+        this.bossEntityUUID = bossEntityUUID;
+        ArenaRegistry currentRegistry = registry;
+        if (currentRegistry != null) currentRegistry.bossEntityChanged(this, oldBossUUID, bossEntityUUID);
+    }
     public void setActiveMusicTrack(String musicTrack) { this.activeMusicTrack = musicTrack; }
-    public void setState(ArenaState state) {
-        this.state = state;
+
+    /**
+     * Atomically moves to the next state if the arena is currently in the expected one.
+     * @return true if this call made the transition, false if the arena was not in the expected state.
+     * @throws IllegalArgumentException If the lifecycle does not allow expected -> next.
+     */
+    public boolean transition(ArenaState expected, ArenaState next) {
+        if (!expected.canTransitionTo(next)) {
+            throw new IllegalArgumentException("Illegal arena state transition " + expected + " -> " + next);
+        }
+        StateStamp current = state.get();
+        if (current.state != expected) return false;
+        long now = System.nanoTime();
+        if (!state.compareAndSet(current, new StateStamp(next, now))) return false;
+        onEntered(current.state, next, now - current.enteredNanos);
+        return true;
+    }
+
+    /**
+     * Atomically moves to the next state from whatever state the arena is in, if the lifecycle allows it.
+     * @return The state the arena left, or null if the transition is not allowed from the current state.
+     */
+    public ArenaState transitionTo(ArenaState next) {
+        while (true) {
+            StateStamp current = state.get();
+            if (!current.state.canTransitionTo(next)) return null;
+            long now = System.nanoTime();
+            if (state.compareAndSet(current, new StateStamp(next, now))) {
+                onEntered(current.state, next, now - current.enteredNanos);
+                return current.state;
+            }
+        }
+    }
+
+    private void onEntered(ArenaState from, ArenaState next, long nanosInPreviousState) {
         updateLastActivity();
-        if (state == ArenaState.CLEANING_UP || state == ArenaState.UNLOADING || state == ArenaState.AVAILABLE) {
+        if (next == ArenaState.CLEANING_UP || next == ArenaState.UNLOADING || next == ArenaState.AVAILABLE) {
+            ArenaRegistry currentRegistry = registry;
+            if (currentRegistry != null) {
+                currentRegistry.bossEntityChanged(this, this.bossEntityUUID, null);
+                currentRegistry.partyChanged(this, this.partyMemberUUIDs, null);
+            }
+            clearTrackedMobs();
             this.bossEntityUUID = null;
             this.partyMemberUUIDs = null;
+            this.combatState = null;
             this.originalPlayerLocations.clear();
             this.activeMusicTrack = null;
         }
+        if (transitionListener != null) transitionListener.onTransition(this, from, next, nanosInPreviousState / 1_000_000L);
+    }
+
+    /**
+     * @return How long the arena has been in its current state, in milliseconds.
+     */
+    public long getMillisInState() {
+        return (System.nanoTime() - state.get().enteredNanos) / 1_000_000L;
     }
     public void updateLastActivity() { this.lastActivityTime = System.currentTimeMillis(); }
 
@@ -133,5 +345,5 @@ public class ArenaInstance {
     private String locationToString(Location loc) { if (loc == null) return "null"; return String.format("World: %s, X: %.2f, Y: %.2f, Z: %.2f, Yaw: %.1f, Pitch: %.1f", loc.getWorld() != null ? loc.getWorld().getName() : "null", loc.getX(), loc.getY(), loc.getZ(), loc.getYaw(), loc.getPitch()); }
     @Override public boolean equals(Object o) { if (this == o) return true; if (o == null || getClass() != o.getClass()) return false; ArenaInstance that = (ArenaInstance) o; return instanceId.equals(that.instanceId); }
     @Override public int hashCode() { return instanceId.hashCode(); }
-    @Override public String toString() { return "ArenaInstance{instanceId=" + instanceId + ", plotId=" + plotId + ", theme=" + (arenaTheme != null ? arenaTheme.getId() : "null") + ", origin=" + locationToString(plotOrigin) + ", state=" + state + ", partySize=" + (partyMemberUUIDs != null ? partyMemberUUIDs.size() : 0) + ", bossUUID=" + bossEntityUUID + ", music=" + activeMusicTrack + '}'; }
+    @Override public String toString() { return "ArenaInstance{instanceId=" + instanceId + ", plotId=" + plotId + ", theme=" + (arenaTheme != null ? arenaTheme.getId() : "null") + ", origin=" + locationToString(plotOrigin) + ", state=" + getState() + ", partySize=" + (partyMemberUUIDs != null ? partyMemberUUIDs.size() : 0) + ", bossUUID=" + bossEntityUUID + ", music=" + activeMusicTrack + '}'; }
 }
\ No newline at end of file
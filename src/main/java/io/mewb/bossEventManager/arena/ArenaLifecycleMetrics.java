@@ -0,0 +1,92 @@
+package io.mewb.bossEventManager.arena;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-theme latency of the arena lifecycle, fed by every successful state transition.
+ * Time spent in PREPARING is the event start, IN_USE the fight and CLEANING_UP the cleanup.
+ * Schematic pastes happen before an instance exists and are recorded separately.
+ */
+public class ArenaLifecycleMetrics implements ArenaInstance.TransitionListener {
+
+    private final Map<String, ThemeMetrics> byTheme = new ConcurrentHashMap<>(); // Lowercase theme ID -> metrics
+    private final AtomicLong rejectedTransitions = new AtomicLong();
+
+    @Override
+    public void onTransition(ArenaInstance instance, ArenaInstance.ArenaState from, ArenaInstance.ArenaState to, long millisInPreviousState) {
+        ArenaTheme theme = instance.getArenaTheme();
+        if (theme == null) return;
+        getOrCreate(theme.getId()).timeInState.get(from).record(millisInPreviousState);
+    }
+
+    public void recordPaste(ArenaTheme theme, long durationMillis) {
+        if (theme == null) return;
+        getOrCreate(theme.getId()).paste.record(durationMillis);
+    }
+
+    public void recordRejectedTransition() {
+        rejectedTransitions.incrementAndGet();
+    }
+
+    private ThemeMetrics getOrCreate(String themeId) {
+        return byTheme.computeIfAbsent(themeId.toLowerCase(), k -> new ThemeMetrics());
+    }
+
+    public long getRejectedTransitions() {
+        return rejectedTransitions.get();
+    }
+
+    /**
+     * @return Mean time arenas of all themes spent in a state, or the fallback if none was recorded yet.
+     */
+    public long getMeanMillisInState(ArenaInstance.ArenaState state, long fallbackMillis) {
+        long count = 0;
+        double total = 0;
+        for (ThemeMetrics metrics : byTheme.values()) {
+            LatencyHistogram histogram = metrics.timeInState.get(state);
+            count += histogram.getCount();
+            total += histogram.getMeanMillis() * histogram.getCount();
+        }
+        return count == 0 ? fallbackMillis : Math.round(total / count);
+    }
+
+    /**
+     * @return Mean schematic paste time across all themes, or the fallback if none was recorded yet.
+     */
+    public long getMeanPasteMillis(long fallbackMillis) {
+        long count = 0;
+        double total = 0;
+        for (ThemeMetrics metrics : byTheme.values()) {
+            count += metrics.paste.getCount();
+            total += metrics.paste.getMeanMillis() * metrics.paste.getCount();
+        }
+        return count == 0 ? fallbackMillis : Math.round(total / count);
+    }
+
+    /**
+     * @return Metrics of every theme that recorded anything, sorted by theme ID.
+     */
+    public Map<String, ThemeMetrics> getThemeMetrics() {
+        return Collections.unmodifiableMap(new TreeMap<>(byTheme));
+    }
+
+    public static final class ThemeMetrics {
+        private final LatencyHistogram paste = new LatencyHistogram();
+        private final Map<ArenaInstance.ArenaState, LatencyHistogram> timeInState = new EnumMap<>(ArenaInstance.ArenaState.class);
+
+        private ThemeMetrics() {
+            for (ArenaInstance.ArenaState state : ArenaInstance.ArenaState.values()) timeInState.put(state, new LatencyHistogram());
+        }
+
+        public LatencyHistogram getPaste() { return paste; }
+        public LatencyHistogram getStart() { return timeInState.get(ArenaInstance.ArenaState.PREPARING); }
+        public LatencyHistogram getFight() { return timeInState.get(ArenaInstance.ArenaState.IN_USE); }
+        public LatencyHistogram getCleanup() { return timeInState.get(ArenaInstance.ArenaState.CLEANING_UP); }
+        public LatencyHistogram getTimeIn(ArenaInstance.ArenaState state) { return timeInState.get(state); }
+    }
+}
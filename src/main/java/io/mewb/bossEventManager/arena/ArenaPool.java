@@ -0,0 +1,133 @@
+package io.mewb.bossEventManager.arena;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A per-theme pool of already-pasted arena instances waiting in the AVAILABLE state.
+ * The target size follows recent demand (an exponentially decayed request rate),
+ * clamped between the configured min and max sizes.
+ */
+public class ArenaPool {
+
+    private final ArenaTheme theme;
+    private final int minSize;
+    private final int maxSize;
+    private final double demandWindowSeconds;
+    private final double refillLeadSeconds;
+
+    private final ConcurrentLinkedQueue<ArenaInstance> idleInstances = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger(); // ConcurrentLinkedQueue.size() is O(n)
+    private final AtomicInteger refillsInFlight = new AtomicInteger();
+    private volatile boolean closed = false;
+
+    // Demand tracking, guarded by 'this'
+    private double decayedRequestCount = 0.0;
+    private long lastDecayNanos = System.nanoTime();
+
+    /**
+     * @param theme The theme whose arenas this pool holds.
+     * @param minSize Minimum number of arenas to keep pasted.
+     * @param maxSize Maximum number of arenas to keep pasted.
+     * @param demandWindowSeconds Time constant of the request rate average.
+     * @param refillLeadSeconds How many seconds of expected demand the pool should cover.
+     */
+    public ArenaPool(ArenaTheme theme, int minSize, int maxSize, double demandWindowSeconds, double refillLeadSeconds) {
+        this.theme = theme;
+        this.minSize = Math.max(0, minSize);
+        this.maxSize = Math.max(this.minSize, maxSize);
+        this.demandWindowSeconds = Math.max(1.0, demandWindowSeconds);
+        this.refillLeadSeconds = Math.max(0.0, refillLeadSeconds);
+    }
+
+    public ArenaTheme getTheme() { return theme; }
+    public int getMinSize() { return minSize; }
+    public int getMaxSize() { return maxSize; }
+    public int getIdleCount() { return idleCount.get(); }
+    public int getRefillsInFlight() { return refillsInFlight.get(); }
+    public boolean isClosed() { return closed; }
+
+    /**
+     * Takes a ready arena from the pool.
+     * @return A pasted arena instance in the AVAILABLE state, or null if the pool is empty.
+     */
+    public ArenaInstance poll() {
+        ArenaInstance instance = idleInstances.poll();
+        if (instance != null) idleCount.decrementAndGet();
+        return instance;
+    }
+
+    /**
+     * Returns a pasted arena to the pool.
+     * @return false if the pool is closed or already full, in which case the caller must dispose of the arena.
+     */
+    public boolean offer(ArenaInstance instance) {
+        if (closed || instance == null) return false;
+        if (idleCount.incrementAndGet() > maxSize) {
+            idleCount.decrementAndGet();
+            return false;
+        }
+        idleInstances.offer(instance);
+        return true;
+    }
+
+    /**
+     * Closes the pool and removes all idle arenas so they can be cleaned up.
+     * Arenas finishing a refill after this point are rejected by {@link #offer(ArenaInstance)}.
+     */
+    public List<ArenaInstance> close() {
+        closed = true;
+        List<ArenaInstance> drained = new ArrayList<>();
+        ArenaInstance instance;
+        while ((instance = poll()) != null) {
+            drained.add(instance);
+        }
+        return drained;
+    }
+
+    public void refillStarted() { refillsInFlight.incrementAndGet(); }
+    public void refillFinished() { refillsInFlight.decrementAndGet(); }
+
+    // --- Demand based sizing ---
+
+    public synchronized void recordRequest() {
+        decay();
+        decayedRequestCount += 1.0;
+    }
+
+    /**
+     * @return Recent requests per minute for this theme.
+     */
+    public synchronized double getRequestRatePerMinute() {
+        decay();
+        return (decayedRequestCount / demandWindowSeconds) * 60.0;
+    }
+
+    /**
+     * @return How many idle arenas the pool should hold right now.
+     */
+    public int getTargetSize() {
+        double expectedRequests = (getRequestRatePerMinute() / 60.0) * refillLeadSeconds;
+        int target = (int) Math.ceil(expectedRequests);
+        return Math.max(minSize, Math.min(maxSize, target));
+    }
+
+    /**
+     * @return How many more arenas need to be pasted to reach the target size, counting refills in flight.
+     */
+    public int getDeficit() {
+        if (closed) return 0;
+        return getTargetSize() - idleCount.get() - refillsInFlight.get();
+    }
+
+    private void decay() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastDecayNanos) / 1_000_000_000.0;
+        if (elapsedSeconds > 0) {
+            decayedRequestCount *= Math.exp(-elapsedSeconds / demandWindowSeconds);
+            lastDecayNanos = now;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.mewb.bossEventManager.arena;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent registry of active arena instances, indexed by instance ID,
+ * boss entity UUID, tracked mob UUID and party member UUID.
+ * <p>
+ * Registered instances report their own boss and party changes back to the registry
+ * (see {@link ArenaInstance#setBossEntityUUID(UUID)} and {@link ArenaInstance#setParty(List)}),
+ * so the indexes stay consistent across every state transition and lookups never scan or copy.
+ */
+public class ArenaRegistry {
+
+    private final ConcurrentHashMap<UUID, ArenaInstance> byInstanceId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, ArenaInstance> byBossEntity = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, ArenaInstance> byPartyMember = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, ArenaInstance> byTrackedMob = new ConcurrentHashMap<>();
+
+    public void register(ArenaInstance instance) {
+        byInstanceId.put(instance.getInstanceId(), instance);
+        instance.setRegistry(this);
+        UUID bossUUID = instance.getBossEntityUUID();
+        if (bossUUID != null) byBossEntity.put(bossUUID, instance);
+        for (UUID member : instance.getPartyMemberUUIDs()) {
+            byPartyMember.put(member, instance);
+        }
+        for (UUID mob : instance.getTrackedMobUUIDs()) {
+            byTrackedMob.put(mob, instance);
+        }
+    }
+
+    public void unregister(ArenaInstance instance) {
+        if (!byInstanceId.remove(instance.getInstanceId(), instance)) return;
+        instance.setRegistry(null);
+        UUID bossUUID = instance.getBossEntityUUID();
+        if (bossUUID != null) byBossEntity.remove(bossUUID, instance);
+        for (UUID member : instance.getPartyMemberUUIDs()) {
+            byPartyMember.remove(member, instance);
+        }
+        for (UUID mob : instance.getTrackedMobUUIDs()) {
+            byTrackedMob.remove(mob, instance);
+        }
+    }
+
+    public void clear() {
+        for (ArenaInstance instance : byInstanceId.values()) {
+            instance.setRegistry(null);
+        }
+        byInstanceId.clear();
+        byBossEntity.clear();
+        byPartyMember.clear();
+        byTrackedMob.clear();
+    }
+
+    // --- Index maintenance, called by ArenaInstance ---
+
+    void bossEntityChanged(ArenaInstance instance, UUID oldBossUUID, UUID newBossUUID) {
+        if (oldBossUUID != null) byBossEntity.remove(oldBossUUID, instance);
+        if (newBossUUID != null) byBossEntity.put(newBossUUID, instance);
+    }
+
+    void partyChanged(ArenaInstance instance, List<UUID> oldMembers, List<UUID> newMembers) {
+        if (oldMembers != null) {
+            for (UUID member : oldMembers) byPartyMember.remove(member, instance);
+        }
+        if (newMembers != null) {
+            for (UUID member : newMembers) byPartyMember.put(member, instance);
+        }
+    }
+
+    void mobTracked(ArenaInstance instance, UUID entityUUID) {
+        byTrackedMob.put(entityUUID, instance);
+    }
+
+    void mobUntracked(ArenaInstance instance, UUID entityUUID) {
+        byTrackedMob.remove(entityUUID, instance);
+    }
+
+    // --- Lookups ---
+
+    public ArenaInstance getByInstanceId(UUID instanceId) {
+        return instanceId == null ? null : byInstanceId.get(instanceId);
+    }
+
+    public ArenaInstance getByBossEntity(UUID bossEntityUUID) {
+        return bossEntityUUID == null ? null : byBossEntity.get(bossEntityUUID);
+    }
+
+    public ArenaInstance getByTrackedMob(UUID entityUUID) {
+        return entityUUID == null ? null : byTrackedMob.get(entityUUID);
+    }
+
+    public ArenaInstance getByPartyMember(UUID playerUUID) {
+        return playerUUID == null ? null : byPartyMember.get(playerUUID);
+    }
+
+    /**
+     * @return A live, unmodifiable view of all registered instances. Safe to iterate concurrently.
+     */
+    public Collection<ArenaInstance> getAll() {
+        return Collections.unmodifiableCollection(byInstanceId.values());
+    }
+
+    public int size() {
+        return byInstanceId.size();
+    }
+}
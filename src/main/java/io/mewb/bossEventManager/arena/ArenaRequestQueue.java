@@ -0,0 +1,155 @@
+package io.mewb.bossEventManager.arena;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Admission queue for arena requests made while every plot is in use.
+ * In FIFO mode requests are served in arrival order. In priority mode higher priorities go first,
+ * and requests of equal priority keep arrival order.
+ */
+public class ArenaRequestQueue {
+
+    public enum Mode { FIFO, PRIORITY }
+
+    /**
+     * Why a queued request failed. Carried by {@link QueueException}.
+     */
+    public enum FailureReason { FULL, TIMED_OUT, CANCELLED }
+
+    /**
+     * Receives queue updates for one request. Called on the main thread.
+     */
+    public interface Listener {
+        default void onQueued(int position, long etaMillis) {}
+        default void onPositionUpdate(int position, long etaMillis) {}
+    }
+
+    private final Mode mode;
+    private final int maxSize;
+    private final long timeoutMillis;
+    private final List<QueuedRequest> entries = new ArrayList<>(); // Kept in serving order
+
+    /**
+     * @param maxSize Maximum number of waiting requests. 0 or less disables queueing.
+     * @param timeoutMillis How long a request may wait before failing with TIMED_OUT. 0 or less waits forever.
+     *                      Enforced by ArenaManager with one timer per request.
+     */
+    public ArenaRequestQueue(Mode mode, int maxSize, long timeoutMillis) {
+        this.mode = mode;
+        this.maxSize = maxSize;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Adds a request behind all requests it may not overtake.
+     * @return The request's 1-based position, or -1 if the queue is full or disabled.
+     */
+    public synchronized int offer(QueuedRequest request) {
+        if (entries.size() >= maxSize) return -1;
+        int index = entries.size();
+        if (mode == Mode.PRIORITY) {
+            while (index > 0 && entries.get(index - 1).priority < request.priority) index--;
+        }
+        entries.add(index, request);
+        return index + 1;
+    }
+
+    public synchronized QueuedRequest peek() {
+        return entries.isEmpty() ? null : entries.get(0);
+    }
+
+    public synchronized boolean remove(QueuedRequest request) {
+        return entries.remove(request);
+    }
+
+    /**
+     * Removes the waiting request of a player, if any.
+     * @return The removed request, or null.
+     */
+    public synchronized QueuedRequest removeByRequester(UUID requesterUUID) {
+        Iterator<QueuedRequest> it = entries.iterator();
+        while (it.hasNext()) {
+            QueuedRequest request = it.next();
+            if (request.requesterUUID.equals(requesterUUID)) {
+                it.remove();
+                return request;
+            }
+        }
+        return null;
+    }
+
+    public synchronized boolean contains(UUID requesterUUID) {
+        for (QueuedRequest request : entries) {
+            if (request.requesterUUID.equals(requesterUUID)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return The waiting requests in serving order.
+     */
+    public synchronized List<QueuedRequest> snapshot() {
+        return new ArrayList<>(entries);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public Mode getMode() { return mode; }
+    public int getMaxSize() { return maxSize; }
+    public long getTimeoutMillis() { return timeoutMillis; }
+
+    /**
+     * One waiting arena request.
+     */
+    public static final class QueuedRequest {
+        private final String themeId;
+        private final UUID requesterUUID;
+        private final int priority;
+        private final long enqueuedAt = System.currentTimeMillis();
+        private final CompletableFuture<ArenaInstance> future;
+        private final Listener listener;
+
+        public QueuedRequest(String themeId, UUID requesterUUID, int priority, CompletableFuture<ArenaInstance> future, Listener listener) {
+            this.themeId = themeId;
+            this.requesterUUID = requesterUUID;
+            this.priority = priority;
+            this.future = future;
+            this.listener = listener != null ? listener : new Listener() {};
+        }
+
+        public String getThemeId() { return themeId; }
+        public UUID getRequesterUUID() { return requesterUUID; }
+        public int getPriority() { return priority; }
+        public long getEnqueuedAt() { return enqueuedAt; }
+        public CompletableFuture<ArenaInstance> getFuture() { return future; }
+        public Listener getListener() { return listener; }
+    }
+
+    /**
+     * Completes the future of a request that left the queue without an arena.
+     */
+    public static class QueueException extends RuntimeException {
+        private final FailureReason reason;
+
+        public QueueException(FailureReason reason) {
+            super("Arena request failed: " + reason);
+            this.reason = reason;
+        }
+
+        public FailureReason getReason() { return reason; }
+    }
+}
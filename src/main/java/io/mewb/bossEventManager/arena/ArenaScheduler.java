@@ -0,0 +1,288 @@
+package io.mewb.bossEventManager.arena;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * One tick-driven scheduler for all arena timers (delayed ends, fight time limits, idle checks, request timeouts
+ * and the periodic queue and pool tasks), backed by a hierarchical timing wheel and driven by a single repeating task.
+ * <p>
+ * The first wheel has one slot per tick for the next 256 ticks. Each further wheel has 64 slots, each covering a
+ * whole turn of the wheel below it. Every tick only the current slot of the first wheel runs. When that wheel
+ * completes a turn, the next slot of the wheel above is cascaded down. Scheduling and cancelling are O(1),
+ * and the cost per tick does not depend on how many timers are pending. Must only be used from the main thread;
+ * async continuations hop back with the Bukkit scheduler first, and calls from other threads are rejected.
+ */
+public class ArenaScheduler {
+
+    private static final int FIRST_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVELS = 4; // 256 * 64^3 ticks, about 38 days
+    private static final long MAX_DELAY = (1L << (FIRST_BITS + LEVEL_BITS * (LEVELS - 1))) - 1;
+
+    private final Plugin plugin;
+    private final Slot[][] wheels = new Slot[LEVELS][];
+    private final Map<Object, Timer> ownedTimers = new HashMap<>(); // Owner -> head of its timer chain
+    private long currentTick = 0;
+    private BukkitTask tickTask;
+
+    // --- Metrics ---
+    private int pending = 0;
+    private long fired = 0;
+    private long cascaded = 0;
+
+    public ArenaScheduler(Plugin plugin) {
+        this.plugin = plugin;
+        for (int level = 0; level < LEVELS; level++) {
+            Slot[] wheel = new Slot[level == 0 ? 1 << FIRST_BITS : 1 << LEVEL_BITS];
+            for (int i = 0; i < wheel.length; i++) wheel[i] = new Slot();
+            wheels[level] = wheel;
+        }
+    }
+
+    /**
+     * Starts the repeating task that advances the wheel by one slot per tick.
+     */
+    public void start() {
+        if (tickTask == null) tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Runs a task once after a delay.
+     * @param owner Timers can be cancelled together by owner, e.g. an arena's instance ID. May be null.
+     * @param delayTicks At least 1; longer delays than about 38 days are capped.
+     */
+    public Timer schedule(Object owner, long delayTicks, Runnable task) {
+        checkMainThread();
+        Timer timer = new Timer(owner, task, 0);
+        insert(timer, currentTick + clampDelay(delayTicks));
+        link(timer);
+        return timer;
+    }
+
+    /**
+     * Runs a task every period, starting after one period.
+     */
+    public Timer scheduleRepeating(Object owner, long periodTicks, Runnable task) {
+        checkMainThread();
+        long period = clampDelay(periodTicks);
+        Timer timer = new Timer(owner, task, period);
+        insert(timer, currentTick + period);
+        link(timer);
+        return timer;
+    }
+
+    /**
+     * Cancels every pending timer of an owner.
+     */
+    public void cancelAll(Object owner) {
+        if (owner == null) return;
+        checkMainThread();
+        Timer timer = ownedTimers.remove(owner);
+        while (timer != null) {
+            Timer next = timer.nextOwned;
+            timer.prevOwned = timer.nextOwned = null;
+            timer.ownerLinked = false;
+            timer.cancel();
+            timer = next;
+        }
+    }
+
+    private static void checkMainThread() {
+        if (!Bukkit.isPrimaryThread()) throw new IllegalStateException("Arena timers can only be scheduled or cancelled on the main thread.");
+    }
+
+    private static long clampDelay(long delayTicks) {
+        return Math.max(1L, Math.min(MAX_DELAY, delayTicks));
+    }
+
+    private void insert(Timer timer, long expiresAt) {
+        timer.expiresAt = expiresAt;
+        long delay = expiresAt - currentTick;
+        Slot slot;
+        if (delay < (1L << FIRST_BITS)) {
+            slot = wheels[0][(int) (expiresAt & ((1 << FIRST_BITS) - 1))];
+        } else {
+            int level = 1;
+            while (level < LEVELS - 1 && delay >= (1L << (FIRST_BITS + LEVEL_BITS * level))) level++;
+            int shift = FIRST_BITS + LEVEL_BITS * (level - 1);
+            slot = wheels[level][(int) ((expiresAt >>> shift) & ((1 << LEVEL_BITS) - 1))];
+        }
+        slot.add(timer);
+        pending++;
+    }
+
+    private void tick() {
+        currentTick++;
+        int index = (int) (currentTick & ((1 << FIRST_BITS) - 1));
+        if (index == 0) {
+            // The first wheel completed a turn: pull the next slot of each wheel above down, as far as they wrapped too
+            int level = 1;
+            while (level < LEVELS && cascade(level) == 0) level++;
+        }
+        // Taken one at a time, since a task may cancel other timers due in the same slot
+        Slot due = wheels[0][index];
+        Timer timer;
+        while ((timer = due.head) != null) {
+            due.remove(timer);
+            pending--;
+            run(timer);
+        }
+    }
+
+    /**
+     * Moves every timer of the current slot of a wheel to the wheels below.
+     * @return The slot index, 0 when this wheel wrapped as well.
+     */
+    private int cascade(int level) {
+        int shift = FIRST_BITS + LEVEL_BITS * (level - 1);
+        int index = (int) ((currentTick >>> shift) & ((1 << LEVEL_BITS) - 1));
+        Timer timer = wheels[level][index].detachAll();
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.next = timer.prev = null;
+            timer.slot = null;
+            pending--;
+            cascaded++;
+            insert(timer, Math.max(timer.expiresAt, currentTick)); // Overdue timers land in the current slot
+            timer = next;
+        }
+        return index;
+    }
+
+    private void run(Timer timer) {
+        fired++;
+        if (timer.period > 0) {
+            insert(timer, currentTick + timer.period); // Before running, so the task may cancel it
+        } else {
+            unlink(timer);
+        }
+        try {
+            timer.task.run();
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.SEVERE, "Error running an arena timer.", e);
+        }
+    }
+
+    private void link(Timer timer) {
+        if (timer.owner == null) return;
+        Timer head = ownedTimers.put(timer.owner, timer);
+        timer.nextOwned = head;
+        if (head != null) head.prevOwned = timer;
+        timer.ownerLinked = true;
+    }
+
+    private void unlink(Timer timer) {
+        if (!timer.ownerLinked) return;
+        timer.ownerLinked = false;
+        if (timer.prevOwned != null) timer.prevOwned.nextOwned = timer.nextOwned;
+        else if (timer.nextOwned != null) ownedTimers.put(timer.owner, timer.nextOwned);
+        else ownedTimers.remove(timer.owner);
+        if (timer.nextOwned != null) timer.nextOwned.prevOwned = timer.prevOwned;
+        timer.prevOwned = timer.nextOwned = null;
+    }
+
+    /**
+     * Stops the tick task and drops every pending timer without running it. Called on disable.
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        for (Slot[] wheel : wheels) {
+            for (Slot slot : wheel) {
+                Timer timer = slot.detachAll();
+                while (timer != null) {
+                    Timer next = timer.next;
+                    timer.next = timer.prev = null;
+                    timer.slot = null;
+                    timer = next;
+                }
+            }
+        }
+        ownedTimers.clear();
+        pending = 0;
+    }
+
+    public int getPendingTimers() { return pending; }
+    public int getOwners() { return ownedTimers.size(); }
+    public long getFiredTimers() { return fired; }
+    public long getCascadedTimers() { return cascaded; }
+    public long getCurrentTick() { return currentTick; }
+
+    /**
+     * Doubly linked list of the timers in one wheel slot.
+     */
+    private static final class Slot {
+        private Timer head;
+
+        private void add(Timer timer) {
+            timer.slot = this;
+            timer.prev = null;
+            timer.next = head;
+            if (head != null) head.prev = timer;
+            head = timer;
+        }
+
+        private void remove(Timer timer) {
+            if (timer.prev != null) timer.prev.next = timer.next;
+            else head = timer.next;
+            if (timer.next != null) timer.next.prev = timer.prev;
+            timer.next = timer.prev = null;
+            timer.slot = null;
+        }
+
+        private Timer detachAll() {
+            Timer first = head;
+            head = null;
+            return first;
+        }
+    }
+
+    /**
+     * A pending timer. Cancelling is O(1) and safe to repeat.
+     */
+    public final class Timer {
+        private final Object owner;
+        private final Runnable task;
+        private final long period; // 0 for one-shot timers
+        private long expiresAt;
+        private Slot slot;
+        private Timer prev, next; // Within the slot
+        private Timer prevOwned, nextOwned; // Within the owner's chain
+        private boolean ownerLinked;
+        private boolean cancelled;
+
+        private Timer(Object owner, Runnable task, long period) {
+            this.owner = owner;
+            this.task = task;
+            this.period = period;
+        }
+
+        public void cancel() {
+            if (cancelled) return;
+            checkMainThread();
+            cancelled = true;
+            if (slot != null) {
+                slot.remove(this);
+                pending--;
+            }
+            unlink(this);
+        }
+
+        public boolean isCancelled() { return cancelled; }
+
+        /**
+         * @return Ticks until the timer fires, 0 if it is due this tick or no longer pending.
+         */
+        public long getRemainingTicks() {
+            return slot == null ? 0 : Math.max(0, expiresAt - currentTick);
+        }
+    }
+}
@@ -18,11 +18,21 @@ public class ArenaTheme {
     private final ArenaLocation bossSpawnPoint;
     private final BlockVector3 schematicDimensions;
     private final BlockVector3 schematicOriginOffset;
+    private final String cacheKey; // Unique per load, so arenas of a reloaded theme keep restoring from their own schematic
     // private final String backgroundMusic; // REMOVED field for music
 
     public ArenaTheme(String id, String displayName, String schematicFile,
                       List<String> playerSpawnStrings, String bossSpawnString,
                       BlockVector3 schematicDimensions, BlockVector3 schematicOriginOffset) { // REMOVED backgroundMusic from constructor
+        this(id, displayName, schematicFile, playerSpawnStrings, bossSpawnString, schematicDimensions, schematicOriginOffset, 0);
+    }
+
+    /**
+     * @param generation Theme load generation, used to tell apart schematics of the same theme across reloads.
+     */
+    public ArenaTheme(String id, String displayName, String schematicFile,
+                      List<String> playerSpawnStrings, String bossSpawnString,
+                      BlockVector3 schematicDimensions, BlockVector3 schematicOriginOffset, int generation) {
         this.id = id;
         this.displayName = ChatColor.translateAlternateColorCodes('&', displayName);
         this.schematicFile = schematicFile;
@@ -30,6 +40,7 @@ public class ArenaTheme {
         this.bossSpawnPoint = ArenaLocation.parseRelative(bossSpawnString);
         this.schematicDimensions = schematicDimensions;
         this.schematicOriginOffset = schematicOriginOffset;
+        this.cacheKey = id.toLowerCase() + "#" + generation;
         // this.backgroundMusic = backgroundMusic; // REMOVED music assignment
 
         if (this.playerSpawnPoints.isEmpty()) Bukkit.getLogger().warning("[BossEventManager] ArenaTheme '" + id + "' has no valid player spawn points!");
@@ -44,6 +55,7 @@ public class ArenaTheme {
     public ArenaLocation getBossSpawnPoint() { return bossSpawnPoint; }
     public BlockVector3 getSchematicDimensions() { return schematicDimensions; }
     public BlockVector3 getSchematicOriginOffset() { return schematicOriginOffset; }
+    public String getCacheKey() { return cacheKey; }
     // public String getBackgroundMusic() { return backgroundMusic; } // REMOVED getter for music
 
     public ArenaLocation getPlayerSpawnPoint(int partyMemberIndex, int partySize) {
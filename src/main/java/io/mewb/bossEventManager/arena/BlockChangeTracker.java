@@ -0,0 +1,66 @@
+package io.mewb.bossEventManager.arena;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Records which block positions inside an arena plot were changed during a fight,
+ * so the plot can be reset by restoring only those blocks.
+ * Positions are packed into a single long (26 bits X, 26 bits Z, 12 bits Y).
+ */
+public class BlockChangeTracker {
+
+    private final int maxTrackedBlocks;
+    private final Set<Long> changedBlocks = new HashSet<>();
+    private boolean overflowed = false;
+
+    /**
+     * @param maxTrackedBlocks Once more blocks than this have changed, tracking stops and the
+     *                         plot should be fully reset instead.
+     */
+    public BlockChangeTracker(int maxTrackedBlocks) {
+        this.maxTrackedBlocks = maxTrackedBlocks;
+    }
+
+    public synchronized void markChanged(int x, int y, int z) {
+        if (overflowed) return;
+        changedBlocks.add(pack(x, y, z));
+        if (changedBlocks.size() > maxTrackedBlocks) {
+            overflowed = true;
+            changedBlocks.clear();
+        }
+    }
+
+    /**
+     * @return true if too many blocks changed to be worth a differential reset.
+     */
+    public synchronized boolean isOverflowed() {
+        return overflowed;
+    }
+
+    public synchronized int getChangedCount() {
+        return changedBlocks.size();
+    }
+
+    /**
+     * Returns all recorded positions and clears the tracker.
+     * @return Packed positions, decode with {@link #unpackX(long)}, {@link #unpackY(long)}, {@link #unpackZ(long)}.
+     */
+    public synchronized long[] drain() {
+        long[] positions = new long[changedBlocks.size()];
+        int i = 0;
+        for (Long packed : changedBlocks) {
+            positions[i++] = packed;
+        }
+        changedBlocks.clear();
+        overflowed = false;
+        return positions;
+    }
+
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+    public static int unpackX(long packed) { return (int) (packed >> 38); }
+    public static int unpackY(long packed) { return (int) (packed << 52 >> 52); }
+    public static int unpackZ(long packed) { return (int) (packed << 26 >> 38); }
+}
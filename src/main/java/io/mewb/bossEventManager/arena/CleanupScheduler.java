@@ -0,0 +1,277 @@
+package io.mewb.bossEventManager.arena;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+
+/**
+ * Throttles arena plot clears. Each cleanup is cut into cuboid slices of at most about blocksPerTick blocks.
+ * Every tick, slices are handed to async workers until the tick's block budget is spent, with at most
+ * maxConcurrentJobs arenas being cleared at once. Normally jobs start in submission order. While arena
+ * requests are waiting for a plot, the job with the fewest blocks left starts first, so a plot frees up soonest.
+ * All scheduling happens on the main thread; only slice clears run async.
+ */
+public class CleanupScheduler {
+
+    /**
+     * Clears one slice. Called off the main thread.
+     * @return true if the slice was cleared.
+     */
+    public interface SliceClearer {
+        boolean clear(Slice slice);
+    }
+
+    private final Plugin plugin;
+    private final SliceClearer clearer;
+    private final BooleanSupplier requestsWaiting;
+    private final long blocksPerTick;
+    private final int maxConcurrentJobs;
+    private final List<Job> pending = new ArrayList<>(); // Submission order
+    private final List<Job> running = new ArrayList<>();
+    private BukkitTask tickTask;
+
+    // --- Metrics ---
+    private final AtomicLong completedJobs = new AtomicLong();
+    private final AtomicLong failedJobs = new AtomicLong();
+    private final AtomicLong clearedBlocks = new AtomicLong();
+    private int peakBacklog = 0;
+    private final LatencyHistogram queueWait = new LatencyHistogram(); // Submission to first slice
+    private final LatencyHistogram jobDuration = new LatencyHistogram(); // Submission to completion
+
+    /**
+     * @param requestsWaiting Whether arena requests are waiting for a plot, which switches job order to fewest blocks left first.
+     */
+    public CleanupScheduler(Plugin plugin, SliceClearer clearer, BooleanSupplier requestsWaiting, long blocksPerTick, int maxConcurrentJobs) {
+        this.plugin = plugin;
+        this.clearer = clearer;
+        this.requestsWaiting = requestsWaiting;
+        this.blocksPerTick = Math.max(1, blocksPerTick);
+        this.maxConcurrentJobs = Math.max(1, maxConcurrentJobs);
+    }
+
+    /**
+     * Queues the clear of an inclusive block cuboid. Must be called on the main thread.
+     * @return A future completing with true once every slice was cleared, false if one failed.
+     */
+    public CompletableFuture<Boolean> submit(String description, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        Job job = new Job(description, minX, minY, minZ, maxX, maxY, maxZ);
+        pending.add(job);
+        peakBacklog = Math.max(peakBacklog, pending.size());
+        if (tickTask == null) tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        return job.future;
+    }
+
+    private void tick() {
+        // Finished jobs leave first so their slots can be reused this tick
+        Iterator<Job> it = running.iterator();
+        while (it.hasNext()) {
+            Job job = it.next();
+            if (job.sliceInFlight) continue;
+            if (job.failed || !job.hasNextSlice()) {
+                it.remove();
+                finish(job);
+            }
+        }
+        while (running.size() < maxConcurrentJobs && !pending.isEmpty()) {
+            Job next = pickNextPending();
+            pending.remove(next);
+            next.startedAt = System.currentTimeMillis();
+            queueWait.record(next.startedAt - next.submittedAt);
+            running.add(next);
+        }
+
+        long budget = blocksPerTick;
+        boolean dispatched = false;
+        for (Job job : running) {
+            if (job.sliceInFlight || job.failed || !job.hasNextSlice()) continue;
+            long volume = job.peekSliceVolume(blocksPerTick);
+            if (dispatched && volume > budget) break; // The first slice of a tick always goes, so oversized slices cannot stall
+            Slice slice = job.nextSlice(blocksPerTick);
+            budget -= slice.getVolume();
+            dispatched = true;
+            job.sliceInFlight = true;
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> runSlice(job, slice));
+        }
+
+        if (running.isEmpty() && pending.isEmpty() && tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+    }
+
+    private void runSlice(Job job, Slice slice) {
+        boolean success;
+        try {
+            success = clearer.clear(slice);
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to clear a slice of " + job.description, e);
+            success = false;
+        }
+        if (success) clearedBlocks.addAndGet(slice.getVolume());
+        final boolean sliceSucceeded = success;
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            if (!sliceSucceeded) job.failed = true;
+            job.sliceInFlight = false;
+        });
+    }
+
+    private void finish(Job job) {
+        jobDuration.record(System.currentTimeMillis() - job.submittedAt);
+        if (job.failed) failedJobs.incrementAndGet();
+        else completedJobs.incrementAndGet();
+        job.future.complete(!job.failed);
+    }
+
+    private Job pickNextPending() {
+        if (!requestsWaiting.getAsBoolean()) return pending.get(0);
+        Job best = pending.get(0);
+        for (Job job : pending) {
+            if (job.remainingBlocks() < best.remainingBlocks()) best = job;
+        }
+        return best;
+    }
+
+    /**
+     * Stops ticking and drops all unfinished jobs, e.g. on shutdown. Their futures are left incomplete.
+     * @return The part of each dropped job not dispatched yet, for the caller to clear another way.
+     */
+    public List<Slice> cancelAll() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        List<Slice> remaining = new ArrayList<>();
+        for (Job job : pending) {
+            if (job.hasNextSlice()) remaining.add(job.remainingRegion());
+        }
+        for (Job job : running) {
+            if (job.hasNextSlice()) remaining.add(job.remainingRegion());
+        }
+        pending.clear();
+        running.clear();
+        return remaining;
+    }
+
+    // --- Stats ---
+    public int getPendingJobs() { return pending.size(); }
+    public int getRunningJobs() { return running.size(); }
+    public int getPeakBacklog() { return peakBacklog; }
+    public long getCompletedJobs() { return completedJobs.get(); }
+    public long getFailedJobs() { return failedJobs.get(); }
+    public long getClearedBlocks() { return clearedBlocks.get(); }
+    public long getBlocksPerTick() { return blocksPerTick; }
+    public int getMaxConcurrentJobs() { return maxConcurrentJobs; }
+    public LatencyHistogram getQueueWait() { return queueWait; }
+    public LatencyHistogram getJobDuration() { return jobDuration; }
+
+    public long getBacklogBlocks() {
+        long total = 0;
+        for (Job job : pending) total += job.remainingBlocks();
+        for (Job job : running) total += job.remainingBlocks();
+        return total;
+    }
+
+    /**
+     * An inclusive block cuboid.
+     */
+    public static final class Slice {
+        private final int minX, minY, minZ, maxX, maxY, maxZ;
+
+        private Slice(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+            this.minX = minX; this.minY = minY; this.minZ = minZ;
+            this.maxX = maxX; this.maxY = maxY; this.maxZ = maxZ;
+        }
+
+        public int getMinX() { return minX; }
+        public int getMinY() { return minY; }
+        public int getMinZ() { return minZ; }
+        public int getMaxX() { return maxX; }
+        public int getMaxY() { return maxY; }
+        public int getMaxZ() { return maxZ; }
+
+        public long getVolume() {
+            return (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        }
+    }
+
+    /**
+     * One cuboid being cleared bottom-up: whole layers when a layer fits the budget, X strips of a single layer otherwise.
+     */
+    private static final class Job {
+        private final String description;
+        private final int minX, minZ, maxX, maxY, maxZ;
+        private final long submittedAt = System.currentTimeMillis();
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        private long startedAt;
+        private int nextY; // First layer not yet dispatched
+        private int nextX; // First X of the current layer not yet dispatched, when clearing in strips
+        private boolean sliceInFlight = false;
+        private boolean failed = false;
+
+        private Job(String description, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+            this.description = description;
+            this.minX = minX; this.minZ = minZ;
+            this.maxX = maxX; this.maxY = maxY; this.maxZ = maxZ;
+            this.nextY = minY;
+            this.nextX = minX;
+        }
+
+        private boolean hasNextSlice() {
+            return nextY <= maxY && minX <= maxX && minZ <= maxZ;
+        }
+
+        private long layerArea() {
+            return (long) (maxX - minX + 1) * (maxZ - minZ + 1);
+        }
+
+        private long remainingBlocks() {
+            if (!hasNextSlice()) return 0;
+            return (long) (maxY - nextY) * layerArea() + (long) (maxX - nextX + 1) * (maxZ - minZ + 1);
+        }
+
+        /**
+         * @return Every layer from the first one not fully dispatched up to the top.
+         */
+        private Slice remainingRegion() {
+            return new Slice(minX, nextY, minZ, maxX, maxY, maxZ);
+        }
+
+        private long peekSliceVolume(long budget) {
+            long area = layerArea();
+            if (area <= budget && nextX == minX) {
+                long layers = Math.min(budget / area, maxY - nextY + 1);
+                return layers * area;
+            }
+            long depth = maxZ - minZ + 1;
+            long width = Math.min(Math.max(1, budget / depth), maxX - nextX + 1);
+            return width * depth;
+        }
+
+        private Slice nextSlice(long budget) {
+            long area = layerArea();
+            if (area <= budget && nextX == minX) {
+                int layers = (int) Math.min(budget / area, maxY - nextY + 1);
+                Slice slice = new Slice(minX, nextY, minZ, maxX, nextY + layers - 1, maxZ);
+                nextY += layers;
+                return slice;
+            }
+            long depth = maxZ - minZ + 1;
+            int width = (int) Math.min(Math.max(1, budget / depth), maxX - nextX + 1);
+            Slice slice = new Slice(nextX, nextY, minZ, nextX + width - 1, nextY, maxZ);
+            nextX += width;
+            if (nextX > maxX) {
+                nextX = minX;
+                nextY++;
+            }
+            return slice;
+        }
+    }
+}
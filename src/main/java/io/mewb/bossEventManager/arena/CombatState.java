@@ -0,0 +1,124 @@
+package io.mewb.bossEventManager.arena;
+
+import org.bukkit.Location;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Who is still fighting in an arena. Each party member has a status byte, and the number of members
+ * alive or waiting to respawn is kept as counters, so a party wipe is detected in O(1) instead of
+ * re-checking every member. Updated from the death, respawn, quit and gamemode listeners; main thread only.
+ */
+public class CombatState {
+
+    public static final byte ALIVE = 0;
+    public static final byte DOWNED = 1; // Died, not respawned yet
+    public static final byte SPECTATING = 2;
+    public static final byte OFFLINE = 3;
+
+    private final UUID[] members;
+    private final byte[] statuses;
+    private final Location[] deathLocations;
+    private final int[] slots; // Open-addressed member index + 1 by UUID hash, 0 for empty
+    private int alive;
+    private int downed;
+
+    /**
+     * @param members Party members, all alive when the fight starts.
+     */
+    public CombatState(List<UUID> members) {
+        this.members = members.toArray(new UUID[0]);
+        this.statuses = new byte[this.members.length];
+        this.deathLocations = new Location[this.members.length];
+        this.slots = new int[Integer.highestOneBit(Math.max(1, this.members.length) * 2) << 1]; // Under half full
+        for (int i = 0; i < this.members.length; i++) {
+            if (indexOf(this.members[i]) >= 0) continue;
+            int slot = firstSlot(this.members[i]);
+            while (slots[slot] != 0) slot = (slot + 1) & (slots.length - 1);
+            slots[slot] = i + 1;
+        }
+        this.alive = this.members.length;
+    }
+
+    private int firstSlot(UUID playerUUID) {
+        int hash = playerUUID.hashCode() * 0x9E3779B9; // Spreads the low bits the mask keeps
+        return (hash ^ (hash >>> 16)) & (slots.length - 1);
+    }
+
+    /**
+     * @return The member's index, or -1 if the player is not in this party.
+     */
+    private int indexOf(UUID playerUUID) {
+        int slot = firstSlot(playerUUID);
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            if (members[entry - 1].equals(playerUUID)) return entry - 1;
+            slot = (slot + 1) & (slots.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * @return The member's status, or -1 if the player is not in this party.
+     */
+    public byte getStatus(UUID playerUUID) {
+        int index = indexOf(playerUUID);
+        return index < 0 ? -1 : statuses[index];
+    }
+
+    /**
+     * Moves a member to a new status, keeping the counters in sync.
+     * @return The previous status, or -1 if the player is not in this party.
+     */
+    public byte setStatus(UUID playerUUID, byte status) {
+        int index = indexOf(playerUUID);
+        if (index < 0) return -1;
+        byte previous = statuses[index];
+        if (previous == status) return previous;
+        if (previous == ALIVE) alive--;
+        else if (previous == DOWNED) downed--;
+        if (status == ALIVE) alive++;
+        else if (status == DOWNED) downed++;
+        statuses[index] = status;
+        if (status != DOWNED) deathLocations[index] = null;
+        return previous;
+    }
+
+    /**
+     * Marks an alive member as downed and remembers where they died.
+     * @return false if the player is not an alive member of this party.
+     */
+    public boolean markDowned(UUID playerUUID, Location deathLocation) {
+        int index = indexOf(playerUUID);
+        if (index < 0 || statuses[index] != ALIVE) return false;
+        setStatus(playerUUID, DOWNED);
+        deathLocations[index] = deathLocation;
+        return true;
+    }
+
+    /**
+     * @return Where a downed member died, or null.
+     */
+    public Location getDeathLocation(UUID playerUUID) {
+        int index = indexOf(playerUUID);
+        return index < 0 ? null : deathLocations[index];
+    }
+
+    /**
+     * @return true once no member is alive or waiting to respawn.
+     */
+    public boolean isWiped() {
+        return alive == 0 && downed == 0;
+    }
+
+    public int getAliveCount() { return alive; }
+    public int getDownedCount() { return downed; }
+    public int getMemberCount() { return members.length; }
+
+    /**
+     * @return Member UUID at an index, for iterating together with {@link #getStatusAt(int)}.
+     */
+    public UUID getMemberAt(int index) { return members[index]; }
+    public byte getStatusAt(int index) { return statuses[index]; }
+}
@@ -0,0 +1,52 @@
+package io.mewb.bossEventManager.arena;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with power-of-two millisecond buckets.
+ * Bucket 0 holds durations under 1 ms, bucket i holds [2^(i-1), 2^i) ms. Percentiles are
+ * reported as the upper bound of the bucket they fall in, so they are accurate to within 2x.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 40; // Up to 2^39 ms, far beyond any arena phase
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMillis = new AtomicLong();
+    private final AtomicLong maxMillis = new AtomicLong();
+
+    public void record(long durationMillis) {
+        long millis = Math.max(0, durationMillis);
+        int bucket = millis == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(millis));
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        totalMillis.addAndGet(millis);
+        maxMillis.accumulateAndGet(millis, Math::max);
+    }
+
+    public long getCount() { return count.get(); }
+    public long getMaxMillis() { return maxMillis.get(); }
+
+    public double getMeanMillis() {
+        long n = count.get();
+        return n == 0 ? 0.0 : (double) totalMillis.get() / n;
+    }
+
+    /**
+     * @param quantile Between 0 and 1, e.g. 0.95.
+     * @return The upper bound in milliseconds of the bucket holding the quantile, or 0 if nothing was recorded.
+     */
+    public long getPercentileMillis(double quantile) {
+        long n = count.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(quantile * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) return Math.min(i == 0 ? 1 : 1L << i, Math.max(1, maxMillis.get()));
+        }
+        return maxMillis.get();
+    }
+}
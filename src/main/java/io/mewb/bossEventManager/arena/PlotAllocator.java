@@ -0,0 +1,162 @@
+package io.mewb.bossEventManager.arena;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free allocator for arena plot IDs, plus a reverse index from plot grid
+ * coordinates to the arena instance occupying that plot.
+ * <p>
+ * Used plot IDs are tracked in a bitset of atomic longs. Reservations claim the lowest free bit
+ * with a CAS, starting from a hint that points at the lowest word known to have free bits,
+ * so neither reservation nor release takes a lock or boxes the plot ID.
+ */
+public class PlotAllocator {
+
+    private final int capacity;
+    private final int maxReserved;
+    private final AtomicLongArray usedBits;
+    private final AtomicInteger reservedCount = new AtomicInteger();
+    private final AtomicInteger firstFreeWordHint = new AtomicInteger();
+    private final AtomicReferenceArray<ArenaInstance> instancesByPlot;
+
+    // Plot grid
+    private final int startX, startZ;
+    private final int plotSeparationX, plotSeparationZ;
+    private final int plotsPerRow;
+
+    /**
+     * @param capacity Total number of plot IDs that can exist.
+     * @param maxReserved How many plots may be reserved at once, 0 or less for no limit beyond capacity.
+     */
+    public PlotAllocator(int capacity, int maxReserved, int startX, int startZ, int plotSeparationX, int plotSeparationZ, int plotsPerRow) {
+        this.capacity = Math.max(1, capacity);
+        this.maxReserved = maxReserved > 0 ? Math.min(maxReserved, this.capacity) : this.capacity;
+        this.usedBits = new AtomicLongArray((this.capacity + 63) >>> 6);
+        this.instancesByPlot = new AtomicReferenceArray<>(this.capacity);
+        this.startX = startX;
+        this.startZ = startZ;
+        this.plotSeparationX = Math.max(1, plotSeparationX);
+        this.plotSeparationZ = Math.max(1, plotSeparationZ);
+        this.plotsPerRow = Math.max(1, plotsPerRow);
+    }
+
+    /**
+     * Reserves the lowest free plot ID.
+     * @return The reserved plot ID, or -1 if the reservation limit is reached.
+     */
+    public int reserve() {
+        // Take a slot in the reservation count first, so the limit holds without a lock.
+        int current;
+        do {
+            current = reservedCount.get();
+            if (current >= maxReserved) return -1;
+        } while (!reservedCount.compareAndSet(current, current + 1));
+
+        int words = usedBits.length();
+        while (true) {
+            for (int w = firstFreeWordHint.get(); w < words; w++) {
+                long word = usedBits.get(w);
+                if (word == -1L) {
+                    firstFreeWordHint.compareAndSet(w, w + 1); // Word is full, later reservations can skip it
+                    continue;
+                }
+                while (word != -1L) {
+                    int bit = Long.numberOfTrailingZeros(~word);
+                    int plotId = (w << 6) + bit;
+                    if (plotId >= capacity) break;
+                    if (usedBits.compareAndSet(w, word, word | (1L << bit))) {
+                        return plotId;
+                    }
+                    word = usedBits.get(w); // Lost a race, re-read the word
+                }
+            }
+            // A slot is guaranteed by reservedCount, but the hint may have moved past a freshly released bit.
+            firstFreeWordHint.set(0);
+        }
+    }
+
+    /**
+     * Releases a plot ID so it can be reserved again.
+     * @return false if the plot ID was invalid or not reserved.
+     */
+    public boolean release(int plotId) {
+        if (plotId < 0 || plotId >= capacity) return false;
+        int w = plotId >>> 6;
+        long mask = 1L << (plotId & 63);
+        if ((usedBits.get(w) & mask) == 0) return false;
+        // Unbound while the bit is still set, so a reserve and bind racing in right after the clear is never wiped
+        instancesByPlot.set(plotId, null);
+        long word;
+        do {
+            word = usedBits.get(w);
+            if ((word & mask) == 0) return false;
+        } while (!usedBits.compareAndSet(w, word, word & ~mask));
+        firstFreeWordHint.accumulateAndGet(w, Math::min);
+        reservedCount.decrementAndGet();
+        return true;
+    }
+
+    public boolean isReserved(int plotId) {
+        if (plotId < 0 || plotId >= capacity) return false;
+        return (usedBits.get(plotId >>> 6) & (1L << (plotId & 63))) != 0;
+    }
+
+    public int getReservedCount() { return reservedCount.get(); }
+    public int getCapacity() { return capacity; }
+    public int getMaxReserved() { return maxReserved; }
+
+    public void clear() {
+        for (int w = 0; w < usedBits.length(); w++) usedBits.set(w, 0L);
+        for (int i = 0; i < capacity; i++) instancesByPlot.set(i, null);
+        reservedCount.set(0);
+        firstFreeWordHint.set(0);
+    }
+
+    // --- Reverse index ---
+
+    public void bind(int plotId, ArenaInstance instance) {
+        if (plotId >= 0 && plotId < capacity) instancesByPlot.set(plotId, instance);
+    }
+
+    public void unbind(int plotId, ArenaInstance instance) {
+        if (plotId >= 0 && plotId < capacity) instancesByPlot.compareAndSet(plotId, instance, null);
+    }
+
+    public ArenaInstance getInstance(int plotId) {
+        if (plotId < 0 || plotId >= capacity) return null;
+        return instancesByPlot.get(plotId);
+    }
+
+    /**
+     * Gets the arena instance bound to the plot whose grid cell contains the given block column.
+     * The caller still has to check the instance's exact bounds.
+     */
+    public ArenaInstance getInstanceAt(int blockX, int blockZ) {
+        return getInstance(getPlotIdAt(blockX, blockZ));
+    }
+
+    // --- Plot grid ---
+
+    /**
+     * Maps a block column to the plot whose origin is nearest, each plot owning the
+     * cell of one separation around its origin.
+     * @return The plot ID, or -1 if the position is outside the plot grid.
+     */
+    public int getPlotIdAt(int blockX, int blockZ) {
+        int plotXIndex = Math.floorDiv(blockX - startX + (plotSeparationX >> 1), plotSeparationX);
+        int plotZIndex = Math.floorDiv(blockZ - startZ + (plotSeparationZ >> 1), plotSeparationZ);
+        if (plotXIndex < 0 || plotXIndex >= plotsPerRow || plotZIndex < 0) return -1;
+        long plotId = (long) plotZIndex * plotsPerRow + plotXIndex;
+        return plotId < capacity ? (int) plotId : -1;
+    }
+
+    public int getPlotOriginX(int plotId) {
+        return startX + (plotId % plotsPerRow) * plotSeparationX;
+    }
+
+    public int getPlotOriginZ(int plotId) {
+        return startZ + (plotId / plotsPerRow) * plotSeparationZ;
+    }
+}
@@ -0,0 +1,132 @@
+package io.mewb.bossEventManager.arena;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads the chunks of arena plots asynchronously and keeps them loaded with plugin chunk tickets.
+ * Tickets are held per owner (an arena instance) and reference counted per chunk, so overlapping
+ * owners never unload each other's chunks. Methods may be called from any thread; world access
+ * is always moved to the main thread.
+ */
+public class PlotChunkTickets {
+
+    private final Plugin plugin;
+    private final Map<UUID, Hold> holds = new HashMap<>(); // Owner -> held chunks
+    private final Map<Long, Integer> refCounts = new HashMap<>(); // Packed chunk key -> owners holding it
+
+    public PlotChunkTickets(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Loads every chunk in the inclusive block range and adds a plugin ticket to each, unless the owner already holds them.
+     * @return A future completing once all chunks are loaded. Acquiring again returns the same future.
+     */
+    public synchronized CompletableFuture<Void> acquire(UUID owner, World world, int minBlockX, int minBlockZ, int maxBlockX, int maxBlockZ) {
+        Hold existing = holds.get(owner);
+        if (existing != null) return existing.loaded;
+        Hold hold = new Hold(world);
+        for (int chunkX = minBlockX >> 4; chunkX <= maxBlockX >> 4; chunkX++) {
+            for (int chunkZ = minBlockZ >> 4; chunkZ <= maxBlockZ >> 4; chunkZ++) {
+                long key = chunkKey(chunkX, chunkZ);
+                hold.chunks.add(key);
+                refCounts.merge(key, 1, Integer::sum);
+            }
+        }
+        holds.put(owner, hold);
+        runOnMainThread(() -> load(hold));
+        return hold.loaded;
+    }
+
+    private void load(Hold hold) {
+        List<CompletableFuture<?>> loads = new ArrayList<>(hold.chunks.size());
+        for (long key : hold.chunks) {
+            int chunkX = unpackX(key);
+            int chunkZ = unpackZ(key);
+            loads.add(hold.world.getChunkAtAsync(chunkX, chunkZ).thenAccept(chunk -> {
+                synchronized (this) {
+                    // Only ticket chunks still wanted; the hold may have been released while loading
+                    if (refCounts.containsKey(key)) chunk.addPluginChunkTicket(plugin);
+                }
+            }));
+        }
+        CompletableFuture.allOf(loads.toArray(new CompletableFuture[0])).whenComplete((ignored, error) -> {
+            if (error != null) hold.loaded.completeExceptionally(error);
+            else hold.loaded.complete(null);
+        });
+    }
+
+    /**
+     * Drops an owner's tickets. Chunks no other owner holds become unloadable again. Does nothing if the owner holds nothing.
+     */
+    public synchronized void release(UUID owner) {
+        Hold hold = holds.remove(owner);
+        if (hold == null) return;
+        List<Long> unticketed = new ArrayList<>();
+        for (long key : hold.chunks) {
+            Integer remaining = refCounts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+            if (remaining == null) unticketed.add(key);
+        }
+        if (unticketed.isEmpty()) return;
+        runOnMainThread(() -> {
+            synchronized (this) {
+                for (long key : unticketed) {
+                    if (!refCounts.containsKey(key)) hold.world.removePluginChunkTicket(unpackX(key), unpackZ(key), plugin);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops every ticket this plugin holds in the given world, e.g. on shutdown.
+     */
+    public synchronized void releaseAll(World world) {
+        holds.clear();
+        refCounts.clear();
+        if (world != null) world.removePluginChunkTickets(plugin);
+    }
+
+    public synchronized int getOwners() {
+        return holds.size();
+    }
+
+    public synchronized int getHeldChunks() {
+        return refCounts.size();
+    }
+
+    private void runOnMainThread(Runnable task) {
+        if (Bukkit.isPrimaryThread()) task.run();
+        else Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static int unpackX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int unpackZ(long key) {
+        return (int) key;
+    }
+
+    private static final class Hold {
+        private final World world;
+        private final List<Long> chunks = new ArrayList<>();
+        private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+
+        private Hold(World world) {
+            this.world = world;
+        }
+    }
+}
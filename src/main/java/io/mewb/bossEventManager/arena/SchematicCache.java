@@ -0,0 +1,122 @@
+package io.mewb.bossEventManager.arena;
+
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.math.BlockVector3;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of decoded schematic clipboards, keyed per loaded theme.
+ * Entries are evicted least-recently-used first once the estimated memory
+ * footprint of all cached clipboards exceeds the configured budget.
+ */
+public class SchematicCache {
+
+    private final long maxBytes;
+    private final int bytesPerBlock;
+    private final LinkedHashMap<String, CachedClipboard> entries = new LinkedHashMap<>(16, 0.75f, true); // Access order = LRU
+    private long currentBytes = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private static class CachedClipboard {
+        private final Clipboard clipboard;
+        private final long estimatedBytes;
+
+        private CachedClipboard(Clipboard clipboard, long estimatedBytes) {
+            this.clipboard = clipboard;
+            this.estimatedBytes = estimatedBytes;
+        }
+    }
+
+    /**
+     * @param maxBytes Memory budget for all cached clipboards. 0 or less disables caching.
+     * @param bytesPerBlock Estimated memory cost of a single clipboard block, used to size entries.
+     */
+    public SchematicCache(long maxBytes, int bytesPerBlock) {
+        this.maxBytes = maxBytes;
+        this.bytesPerBlock = Math.max(1, bytesPerBlock);
+    }
+
+    /**
+     * Gets the cached clipboard for a theme, counting the lookup as a hit or miss.
+     * @param cacheKey The theme cache key, see ArenaTheme#getCacheKey() (case-insensitive).
+     * @return The cached clipboard, or null if not cached.
+     */
+    public synchronized Clipboard get(String cacheKey) {
+        CachedClipboard cached = entries.get(cacheKey.toLowerCase());
+        if (cached == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cached.clipboard;
+    }
+
+    /**
+     * Caches a clipboard for a theme, evicting least-recently-used entries until it fits.
+     * @return true if the clipboard was cached, false if caching is disabled or it exceeds the whole budget.
+     */
+    public synchronized boolean put(String cacheKey, Clipboard clipboard) {
+        if (clipboard == null || maxBytes <= 0) return false;
+        long size = estimateBytes(clipboard);
+        if (size > maxBytes) return false;
+
+        CachedClipboard previous = entries.remove(cacheKey.toLowerCase());
+        if (previous != null) currentBytes -= previous.estimatedBytes;
+
+        Iterator<Map.Entry<String, CachedClipboard>> it = entries.entrySet().iterator();
+        while (currentBytes + size > maxBytes && it.hasNext()) {
+            // Evicted clipboards are not closed here, an in-flight paste may still be reading from them.
+            currentBytes -= it.next().getValue().estimatedBytes;
+            it.remove();
+            evictions.incrementAndGet();
+        }
+        entries.put(cacheKey.toLowerCase(), new CachedClipboard(clipboard, size));
+        currentBytes += size;
+        return true;
+    }
+
+    /**
+     * Caches the clipboard stored under one key under another key too, without counting a lookup.
+     * @return true if the source entry existed and was copied.
+     */
+    public synchronized boolean copy(String fromKey, String toKey) {
+        CachedClipboard cached = entries.get(fromKey.toLowerCase());
+        return cached != null && put(toKey, cached.clipboard);
+    }
+
+    public synchronized void invalidate(String cacheKey) {
+        CachedClipboard removed = entries.remove(cacheKey.toLowerCase());
+        if (removed != null) currentBytes -= removed.estimatedBytes;
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        currentBytes = 0;
+    }
+
+    private long estimateBytes(Clipboard clipboard) {
+        BlockVector3 dimensions = clipboard.getDimensions();
+        return (long) dimensions.getBlockX() * dimensions.getBlockY() * dimensions.getBlockZ() * bytesPerBlock;
+    }
+
+    // --- Stats ---
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getEvictions() { return evictions.get(); }
+    public synchronized int getSize() { return entries.size(); }
+    public synchronized long getEstimatedBytes() { return currentBytes; }
+    public long getMaxBytes() { return maxBytes; }
+
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+}
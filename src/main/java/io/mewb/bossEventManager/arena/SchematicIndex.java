@@ -0,0 +1,191 @@
+package io.mewb.bossEventManager.arena;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sidecar index of schematic metadata (dimensions and origin offset), so unchanged schematics do not
+ * have to be decoded just to read their bounds. Entries are keyed by file path and validated by size,
+ * modification time and SHA-256 hash. Lookups and records are thread-safe.
+ */
+public class SchematicIndex {
+
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private final File indexFile;
+    private final Logger logger;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>(); // Absolute schematic path -> entry
+    private volatile boolean dirty = false;
+
+    public SchematicIndex(File indexFile, Logger logger) {
+        this.indexFile = indexFile;
+        this.logger = logger;
+    }
+
+    /**
+     * Loads the index from disk, replacing any entries in memory. A missing or unreadable index starts empty.
+     */
+    public synchronized void load() {
+        entries.clear();
+        if (!indexFile.exists()) return;
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(indexFile);
+        for (Map<?, ?> map : yaml.getMapList("schematics")) {
+            try {
+                Entry entry = Entry.fromMap(map);
+                entries.put(entry.path, entry);
+            } catch (RuntimeException e) {
+                logger.warning("Ignoring invalid entry in " + indexFile.getName() + ": " + map);
+            }
+        }
+    }
+
+    /**
+     * Writes the index to disk if it changed since the last load or save.
+     */
+    public synchronized void save() {
+        if (!dirty) return;
+        YamlConfiguration yaml = new YamlConfiguration();
+        List<Map<String, Object>> list = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) list.add(entry.toMap());
+        yaml.set("schematics", list);
+        try {
+            yaml.save(indexFile);
+            dirty = false;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not save schematic index to " + indexFile, e);
+        }
+    }
+
+    /**
+     * Gets the indexed metadata of a schematic if the file has not changed since it was recorded.
+     * Size and modification time are checked first; the file is only hashed when the modification time differs.
+     * @return The entry, or null if the schematic is not indexed or has changed.
+     */
+    public Entry lookup(File schematicFile) {
+        String path = schematicFile.getAbsolutePath();
+        Entry entry = entries.get(path);
+        if (entry == null) return null;
+        long size = schematicFile.length();
+        if (size != entry.size) return null;
+        long lastModified = schematicFile.lastModified();
+        if (lastModified == entry.lastModified) return entry;
+        try {
+            // Touched but maybe not changed (e.g. copied back from a backup)
+            if (!entry.hash.equals(hash(schematicFile))) return null;
+        } catch (IOException e) {
+            return null;
+        }
+        Entry refreshed = new Entry(path, size, lastModified, entry.hash, entry.dimensions, entry.originOffset);
+        entries.put(path, refreshed);
+        dirty = true;
+        return refreshed;
+    }
+
+    /**
+     * Records the metadata of a freshly decoded schematic.
+     * @return The new entry, or null if the file could not be hashed.
+     */
+    public Entry record(File schematicFile, BlockVector3 dimensions, BlockVector3 originOffset) {
+        try {
+            String path = schematicFile.getAbsolutePath();
+            Entry entry = new Entry(path, schematicFile.length(), schematicFile.lastModified(), hash(schematicFile), dimensions, originOffset);
+            entries.put(path, entry);
+            dirty = true;
+            return entry;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not hash schematic " + schematicFile.getName() + " for the schematic index.", e);
+            return null;
+        }
+    }
+
+    private static String hash(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Indexed metadata of one schematic file.
+     */
+    public static final class Entry {
+        private final String path;
+        private final long size;
+        private final long lastModified;
+        private final String hash;
+        private final BlockVector3 dimensions;
+        private final BlockVector3 originOffset;
+
+        private Entry(String path, long size, long lastModified, String hash, BlockVector3 dimensions, BlockVector3 originOffset) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.dimensions = dimensions;
+            this.originOffset = originOffset;
+        }
+
+        public String getHash() { return hash; }
+        public BlockVector3 getDimensions() { return dimensions; }
+        public BlockVector3 getOriginOffset() { return originOffset; }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("path", path);
+            map.put("size", size);
+            map.put("last-modified", lastModified);
+            map.put("sha256", hash);
+            map.put("dimensions", dimensions.getBlockX() + "," + dimensions.getBlockY() + "," + dimensions.getBlockZ());
+            map.put("origin-offset", originOffset.getBlockX() + "," + originOffset.getBlockY() + "," + originOffset.getBlockZ());
+            return map;
+        }
+
+        private static Entry fromMap(Map<?, ?> map) {
+            return new Entry(
+                    String.valueOf(map.get("path")),
+                    ((Number) map.get("size")).longValue(),
+                    ((Number) map.get("last-modified")).longValue(),
+                    String.valueOf(map.get("sha256")),
+                    parseVector(String.valueOf(map.get("dimensions"))),
+                    parseVector(String.valueOf(map.get("origin-offset"))));
+        }
+
+        private static BlockVector3 parseVector(String value) {
+            String[] parts = value.split(",");
+            if (parts.length != 3) throw new IllegalArgumentException("Expected x,y,z but got " + value);
+            return BlockVector3.at(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()), Integer.parseInt(parts[2].trim()));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.mewb.bossEventManager.arena;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stage durations of the event start pipeline. The party lookup and the speculative arena reservation
+ * run in parallel, so the total time to teleport should track the slower of the two rather than their sum.
+ */
+public class StartPipelineMetrics {
+
+    public enum Stage {
+        PARTY_LOOKUP, // Party info round-trip over the proxy
+        ARENA_RESERVE, // Speculative reservation, including any schematic paste
+        ECONOMY_HOLD, // Withdrawing the cost into escrow on the economy thread
+        CHUNK_LOAD, // Waiting for the plot chunks before teleporting
+        TOTAL // Final selection to teleport and boss spawn
+    }
+
+    private final Map<Stage, LatencyHistogram> stages = new EnumMap<>(Stage.class);
+    private final AtomicLong speculativeHits = new AtomicLong(); // Reserved arena was used
+    private final AtomicLong rollbacks = new AtomicLong(); // Reserved arena was returned because a check failed
+    private final AtomicLong fallbacks = new AtomicLong(); // No arena could be reserved, went through the request queue
+
+    public StartPipelineMetrics() {
+        for (Stage stage : Stage.values()) stages.put(stage, new LatencyHistogram());
+    }
+
+    public void record(Stage stage, long durationMillis) {
+        stages.get(stage).record(durationMillis);
+    }
+
+    public void recordSpeculativeHit() { speculativeHits.incrementAndGet(); }
+    public void recordRollback() { rollbacks.incrementAndGet(); }
+    public void recordFallback() { fallbacks.incrementAndGet(); }
+
+    public LatencyHistogram getStage(Stage stage) { return stages.get(stage); }
+    public Map<Stage, LatencyHistogram> getStages() { return Collections.unmodifiableMap(stages); }
+    public long getSpeculativeHits() { return speculativeHits.get(); }
+    public long getRollbacks() { return rollbacks.get(); }
+    public long getFallbacks() { return fallbacks.get(); }
+}
@@ -0,0 +1,46 @@
+package io.mewb.bossEventManager.arena;
+
+import java.util.UUID;
+
+/**
+ * A MythicMob that spawned inside an arena plot while a fight was being prepared or running,
+ * either a boss phase or a summoned add.
+ */
+public class TrackedMob {
+
+    private final UUID entityUUID;
+    private final String mobType;
+    private final boolean bossPhase;
+    private final long spawnTime;
+
+    public TrackedMob(UUID entityUUID, String mobType, boolean bossPhase) {
+        this.entityUUID = entityUUID;
+        this.mobType = mobType;
+        this.bossPhase = bossPhase;
+        this.spawnTime = System.currentTimeMillis();
+    }
+
+    public UUID getEntityUUID() { return entityUUID; }
+    public String getMobType() { return mobType; }
+    /**
+     * @return true if this mob is the initial or final phase of the arena's boss, false for adds.
+     */
+    public boolean isBossPhase() { return bossPhase; }
+    public long getSpawnTime() { return spawnTime; }
+
+    /**
+     * Time a defeated boss phase took, from spawn to death.
+     */
+    public static class PhaseTiming {
+        private final String mobType;
+        private final long durationMillis;
+
+        public PhaseTiming(String mobType, long durationMillis) {
+            this.mobType = mobType;
+            this.durationMillis = durationMillis;
+        }
+
+        public String getMobType() { return mobType; }
+        public long getDurationMillis() { return durationMillis; }
+    }
+}
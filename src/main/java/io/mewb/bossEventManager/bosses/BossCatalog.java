@@ -0,0 +1,125 @@
+package io.mewb.bossEventManager.bosses;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable view of every loaded boss definition, published by BossManager on each (re)load.
+ * All lookups return precomputed, unmodifiable collections, so readers on any thread see a
+ * consistent view without locking or allocating.
+ */
+public final class BossCatalog {
+
+    public static final BossCatalog EMPTY = new BossCatalog(Collections.emptyList(), Collections.emptyList(), Collections.emptyMap());
+
+    private final Map<String, BossDefinition> bossesById; // Lowercase ID -> definition, in config order
+    private final List<String> difficulties; // Display casing, in display order
+    private final Map<String, List<BossDefinition>> bossesByDifficulty; // Lowercase difficulty -> bosses
+    private final Set<String> trackedMobNames; // Initial and final phase MythicMob IDs, case-insensitive
+    private final Map<String, GuiMetadata> guiMetadataById; // Lowercase ID -> GUI metadata
+
+    /**
+     * @param definitions Boss definitions in config order.
+     * @param difficultyOrder Preferred difficulty order (case-insensitive). Difficulties not listed follow in config order.
+     * @param guiIcons Lowercase boss ID -> configured GUI icon material name.
+     */
+    public BossCatalog(List<BossDefinition> definitions, List<String> difficultyOrder, Map<String, String> guiIcons) {
+        Map<String, BossDefinition> byId = new LinkedHashMap<>();
+        Map<String, List<BossDefinition>> grouped = new LinkedHashMap<>();
+        Map<String, String> difficultyDisplayNames = new HashMap<>();
+        Set<String> mobNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, GuiMetadata> guiMetadata = new HashMap<>();
+        for (BossDefinition definition : definitions) {
+            String idKey = definition.getId().toLowerCase();
+            byId.put(idKey, definition);
+            String difficultyKey = definition.getDifficulty().toLowerCase();
+            grouped.computeIfAbsent(difficultyKey, k -> new ArrayList<>()).add(definition);
+            difficultyDisplayNames.putIfAbsent(difficultyKey, definition.getDifficulty());
+            mobNames.add(definition.getMythicMobId());
+            mobNames.add(definition.getFinalPhaseMythicMobId());
+            guiMetadata.put(idKey, new GuiMetadata(definition, guiIcons.get(idKey)));
+        }
+
+        List<String> orderedKeys = new ArrayList<>();
+        for (String preferred : difficultyOrder) {
+            String key = preferred.toLowerCase();
+            if (grouped.containsKey(key) && !orderedKeys.contains(key)) orderedKeys.add(key);
+        }
+        for (String key : grouped.keySet()) {
+            if (!orderedKeys.contains(key)) orderedKeys.add(key);
+        }
+
+        Map<String, List<BossDefinition>> byDifficulty = new HashMap<>();
+        List<String> orderedDifficulties = new ArrayList<>(orderedKeys.size());
+        for (String key : orderedKeys) {
+            BossDefinition[] bosses = grouped.get(key).toArray(new BossDefinition[0]);
+            byDifficulty.put(key, Collections.unmodifiableList(Arrays.asList(bosses)));
+            orderedDifficulties.add(difficultyDisplayNames.get(key));
+        }
+
+        this.bossesById = Collections.unmodifiableMap(byId);
+        this.difficulties = Collections.unmodifiableList(orderedDifficulties);
+        this.bossesByDifficulty = Collections.unmodifiableMap(byDifficulty);
+        this.trackedMobNames = Collections.unmodifiableSet(mobNames);
+        this.guiMetadataById = Collections.unmodifiableMap(guiMetadata);
+    }
+
+    public BossDefinition getBoss(String id) {
+        return id == null ? null : bossesById.get(id.toLowerCase());
+    }
+
+    public Collection<BossDefinition> getAllBosses() {
+        return bossesById.values();
+    }
+
+    public List<String> getDifficulties() {
+        return difficulties;
+    }
+
+    public List<BossDefinition> getBossesByDifficulty(String difficulty) {
+        if (difficulty == null) return Collections.emptyList();
+        return bossesByDifficulty.getOrDefault(difficulty.toLowerCase(), Collections.emptyList());
+    }
+
+    public boolean isTrackedMob(String mythicMobInternalName) {
+        return mythicMobInternalName != null && trackedMobNames.contains(mythicMobInternalName);
+    }
+
+    public GuiMetadata getGuiMetadata(String id) {
+        return id == null ? null : guiMetadataById.get(id.toLowerCase());
+    }
+
+    public int size() {
+        return bossesById.size();
+    }
+
+    /**
+     * Boss values the selection GUI displays, computed once per load.
+     */
+    public static final class GuiMetadata {
+        private final String iconMaterialName;
+        private final String descriptionText;
+        private final String gemCostText;
+        private final String requiredLevelText;
+
+        private GuiMetadata(BossDefinition definition, String iconMaterialName) {
+            this.iconMaterialName = iconMaterialName;
+            this.descriptionText = String.join("\n", definition.getDescription());
+            this.gemCostText = String.valueOf(definition.getGemCost());
+            this.requiredLevelText = definition.getRequiredLevel() > 0 ? String.valueOf(definition.getRequiredLevel()) : "None";
+        }
+
+        public String getIconMaterialName() { return iconMaterialName; }
+        public String getDescriptionText() { return descriptionText; }
+        public String getGemCostText() { return gemCostText; }
+        public String getRequiredLevelText() { return requiredLevelText; }
+    }
+}
@@ -1,5 +1,6 @@
 package io.mewb.bossEventManager.bosses;
 
+import io.mewb.bossEventManager.rewards.RewardAction;
 import org.bukkit.ChatColor;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -10,14 +11,14 @@ import java.util.Objects;
 public class BossDefinition {
 
     public static class RewardItem {
-        private final String command;
+        private final RewardAction action;
         private final double chance;
 
-        public RewardItem(String command, double chance) {
-            this.command = command;
+        public RewardItem(RewardAction action, double chance) {
+            this.action = action;
             this.chance = Math.max(0.0, Math.min(1.0, chance));
         }
-        public String getCommand() { return command; }
+        public RewardAction getAction() { return action; }
         public double getChance() { return chance; }
     }
 
@@ -31,6 +32,7 @@ public class BossDefinition {
     private final int gemCost;
     private final int requiredLevel;
     private final List<RewardItem> rewards;
+    private final List<String> rewardErrors; // Why reward entries were skipped, logged by BossManager
     private final Map<String, Double> partySizeScaling;
 
     public BossDefinition(String id, String displayName, String difficulty, String mythicMobId,
@@ -50,17 +52,18 @@ public class BossDefinition {
         this.gemCost = gemCost;
         this.requiredLevel = requiredLevel;
         this.rewards = new ArrayList<>();
+        this.rewardErrors = new ArrayList<>();
         if (rewardConfigMaps != null) {
             for (Map<?, ?> rewardMap : rewardConfigMaps) {
-                Object commandObj = rewardMap.get("command");
                 Object chanceObj = rewardMap.get("chance");
-                if (commandObj instanceof String) {
-                    String command = (String) commandObj;
-                    double chance = 1.0;
-                    if (chanceObj instanceof Number) {
-                        chance = ((Number) chanceObj).doubleValue();
-                    }
-                    this.rewards.add(new RewardItem(command, chance));
+                double chance = 1.0;
+                if (chanceObj instanceof Number) {
+                    chance = ((Number) chanceObj).doubleValue();
+                }
+                try {
+                    this.rewards.add(new RewardItem(RewardAction.compile(rewardMap), chance));
+                } catch (IllegalArgumentException e) {
+                    this.rewardErrors.add(e.getMessage() + ": " + rewardMap);
                 }
             }
         }
@@ -77,6 +80,7 @@ public class BossDefinition {
     public int getGemCost() { return gemCost; }
     public int getRequiredLevel() { return requiredLevel; }
     public List<RewardItem> getRewards() { return Collections.unmodifiableList(rewards); }
+    public List<String> getRewardErrors() { return Collections.unmodifiableList(rewardErrors); }
     public Map<String, Double> getPartySizeScaling() { return partySizeScaling; }
 
     public double getScaledHealth(int partySize) {
@@ -3,12 +3,25 @@ package io.mewb.bossEventManager.commands;
 
 import io.mewb.bossEventManager.BossEventManagerPlugin;
 import io.mewb.bossEventManager.arena.ArenaInstance;
+import io.mewb.bossEventManager.arena.ArenaLifecycleMetrics;
+import io.mewb.bossEventManager.arena.ArenaPool;
+import io.mewb.bossEventManager.arena.ArenaRequestQueue;
+import io.mewb.bossEventManager.arena.ArenaScheduler;
 import io.mewb.bossEventManager.arena.ArenaTheme;
+import io.mewb.bossEventManager.arena.CleanupScheduler;
+import io.mewb.bossEventManager.arena.LatencyHistogram;
+import io.mewb.bossEventManager.arena.PlotChunkTickets;
+import io.mewb.bossEventManager.arena.SchematicCache;
+import io.mewb.bossEventManager.arena.StartPipelineMetrics;
+import io.mewb.bossEventManager.bosses.BossCatalog;
 import io.mewb.bossEventManager.bosses.BossDefinition;
+import io.mewb.bossEventManager.economy.EconomyEscrow;
 import io.mewb.bossEventManager.managers.ArenaManager;
+import io.mewb.bossEventManager.managers.BossManager;
 import io.mewb.bossEventManager.managers.ConfigManager;
 import io.mewb.bossEventManager.managers.GuiManager;
 import io.mewb.bossEventManager.party.PartyInfoManager;
+import io.mewb.bossEventManager.rewards.RewardEngine;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
@@ -24,7 +37,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
 import java.util.stream.Collectors;
 
 public class BossEventCommand implements CommandExecutor, TabCompleter {
@@ -35,6 +53,7 @@ public class BossEventCommand implements CommandExecutor, TabCompleter {
     private ArenaManager arenaManager;
     private PartyInfoManager partyInfoManager;
     private GuiManager guiManager;
+    private final AtomicBoolean reloadInProgress = new AtomicBoolean(false);
 
 
     public BossEventCommand(BossEventManagerPlugin plugin) {
@@ -157,7 +176,7 @@ public class BossEventCommand implements CommandExecutor, TabCompleter {
         }
         // args[0] is "admin", args[1] is "arena"
         if (args.length < 3) {
-            sender.sendMessage(configManager.getPrefix() + ChatColor.RED + "Usage: /" + label + " admin arena <listthemes|create|starttest|listinstances|cleanup> [args...]");
+            sender.sendMessage(configManager.getPrefix() + ChatColor.RED + "Usage: /" + label + " admin arena <listthemes|create|starttest|listinstances|cleanup|stats> [args...]");
             return;
         }
         String arenaAction = args[2].toLowerCase();
@@ -195,8 +214,10 @@ public class BossEventCommand implements CommandExecutor, TabCompleter {
                         Bukkit.getScheduler().runTask(plugin, () -> {
                             sender.sendMessage(configManager.getPrefix() + ChatColor.GREEN + "Arena " + instance.getInstanceId() + " created. Starting event...");
                             List<Player> testParty = new ArrayList<>(Collections.singletonList(finalTestPlayer));
-                            currentArenaManager.startEvent(instance, testParty, finalTestBossDef);
-                            sender.sendMessage(configManager.getPrefix() + ChatColor.AQUA + "Test event started with boss: " + finalTestBossDef.getDisplayName());
+                            currentArenaManager.startEvent(instance, testParty, finalTestBossDef).thenAccept(started -> {
+                                if (started) sender.sendMessage(configManager.getPrefix() + ChatColor.AQUA + "Test event started with boss: " + finalTestBossDef.getDisplayName());
+                                else sender.sendMessage(configManager.getPrefix() + ChatColor.RED + "Test event failed to start. Check the console.");
+                            });
                         });
                     } else { Bukkit.getScheduler().runTask(plugin, () -> sender.sendMessage(configManager.getPrefix() + ChatColor.RED + "Failed to create arena for test event.")); }
                 });
@@ -218,12 +239,78 @@ public class BossEventCommand implements CommandExecutor, TabCompleter {
                     sender.sendMessage(configManager.getPrefix() + ChatColor.GREEN + "Cleanup process started.");
                 } catch (IllegalArgumentException e) { sender.sendMessage(configManager.getPrefix() + ChatColor.RED + "Invalid Instance ID format."); }
                 break;
+            case "stats":
+                SchematicCache cache = currentArenaManager.getSchematicCache();
+                sender.sendMessage(configManager.getPrefix() + ChatColor.YELLOW + "Arena Manager Stats:");
+                sender.sendMessage(ChatColor.GRAY + " - Plots: " + ChatColor.WHITE + currentArenaManager.getPlotAllocator().getReservedCount() + "/" + currentArenaManager.getPlotAllocator().getMaxReserved() + ChatColor.GRAY + " reserved");
+                sender.sendMessage(ChatColor.GRAY + " - Schematic Cache: " + ChatColor.WHITE + cache.getSize() + " cached, " + (cache.getEstimatedBytes() / (1024 * 1024)) + "/" + (cache.getMaxBytes() / (1024 * 1024)) + " MB");
+                sender.sendMessage(ChatColor.GRAY + "   Hits: " + ChatColor.WHITE + cache.getHits() + ChatColor.GRAY + ", Misses: " + ChatColor.WHITE + cache.getMisses() + ChatColor.GRAY + ", Evictions: " + ChatColor.WHITE + cache.getEvictions() + ChatColor.GRAY + ", Hit Rate: " + ChatColor.WHITE + String.format("%.1f%%", cache.getHitRate() * 100));
+                if (currentArenaManager.getArenaPools().isEmpty()) { sender.sendMessage(ChatColor.GRAY + " - Warm Pool: " + ChatColor.WHITE + "disabled"); }
+                else {
+                    sender.sendMessage(ChatColor.GRAY + " - Warm Pool:");
+                    for (ArenaPool pool : currentArenaManager.getArenaPools()) { sender.sendMessage(ChatColor.GRAY + "   " + pool.getTheme().getId() + ": " + ChatColor.WHITE + pool.getIdleCount() + " ready" + ChatColor.GRAY + " (+" + pool.getRefillsInFlight() + " pasting), target " + ChatColor.WHITE + pool.getTargetSize() + ChatColor.GRAY + " [" + pool.getMinSize() + "-" + pool.getMaxSize() + "], " + String.format("%.2f", pool.getRequestRatePerMinute()) + " req/min"); }
+                }
+                ArenaRequestQueue queue = currentArenaManager.getRequestQueue();
+                if (!queue.isEnabled()) { sender.sendMessage(ChatColor.GRAY + " - Queue: " + ChatColor.WHITE + "disabled"); }
+                else { sender.sendMessage(ChatColor.GRAY + " - Queue: " + ChatColor.WHITE + queue.size() + "/" + queue.getMaxSize() + ChatColor.GRAY + " waiting (" + queue.getMode().name().toLowerCase() + "), next ETA " + ChatColor.WHITE + (currentArenaManager.estimateWaitMillis(1) / 1000) + "s"); }
+                StartPipelineMetrics startMetrics = currentArenaManager.getStartMetrics();
+                sender.sendMessage(ChatColor.GRAY + " - Start pipeline: party " + formatLatency(startMetrics.getStage(StartPipelineMetrics.Stage.PARTY_LOOKUP))
+                        + ChatColor.GRAY + ", reserve " + formatLatency(startMetrics.getStage(StartPipelineMetrics.Stage.ARENA_RESERVE))
+                        + ChatColor.GRAY + ", payment " + formatLatency(startMetrics.getStage(StartPipelineMetrics.Stage.ECONOMY_HOLD))
+                        + ChatColor.GRAY + ", chunks " + formatLatency(startMetrics.getStage(StartPipelineMetrics.Stage.CHUNK_LOAD))
+                        + ChatColor.GRAY + ", total " + formatLatency(startMetrics.getStage(StartPipelineMetrics.Stage.TOTAL)));
+                sender.sendMessage(ChatColor.GRAY + "   reserved " + ChatColor.WHITE + startMetrics.getSpeculativeHits() + ChatColor.GRAY + ", rolled back "
+                        + ChatColor.WHITE + startMetrics.getRollbacks() + ChatColor.GRAY + ", via queue " + ChatColor.WHITE + startMetrics.getFallbacks());
+                ArenaScheduler arenaScheduler = plugin.getArenaScheduler();
+                sender.sendMessage(ChatColor.GRAY + " - Timers: " + ChatColor.WHITE + arenaScheduler.getPendingTimers() + ChatColor.GRAY + " pending (" + arenaScheduler.getOwners() + " owners), "
+                        + ChatColor.WHITE + arenaScheduler.getFiredTimers() + ChatColor.GRAY + " fired, " + arenaScheduler.getCascadedTimers() + " cascaded");
+                EconomyEscrow escrow = plugin.getEconomyEscrow();
+                if (escrow != null) {
+                    sender.sendMessage(ChatColor.GRAY + " - Escrow: " + ChatColor.WHITE + escrow.getOpenEscrows() + ChatColor.GRAY + " held, " + ChatColor.WHITE + escrow.getSettled()
+                            + ChatColor.GRAY + " settled, " + ChatColor.WHITE + escrow.getRefunded() + ChatColor.GRAY + " refunded");
+                }
+                RewardEngine rewardEngine = plugin.getRewardEngine();
+                if (rewardEngine != null) {
+                    sender.sendMessage(ChatColor.GRAY + " - Rewards: " + ChatColor.WHITE + rewardEngine.getExecuted() + ChatColor.GRAY + " granted, " + ChatColor.WHITE + rewardEngine.getFailed()
+                            + ChatColor.GRAY + " failed, " + ChatColor.WHITE + rewardEngine.getBacklog() + ChatColor.GRAY + " pending (peak " + rewardEngine.getPeakBacklog() + "), "
+                            + ChatColor.WHITE + rewardEngine.getWaitingForJoin() + ChatColor.GRAY + " waiting for their player to join");
+                    if (rewardEngine.getJournal() != null) {
+                        sender.sendMessage(ChatColor.GRAY + "   journal: " + rewardEngine.getJournal().getCommittedLines() + " lines in " + rewardEngine.getJournal().getCommits() + " commits, "
+                                + rewardEngine.getJournal().getQueuedLines() + " queued");
+                    }
+                }
+                PlotChunkTickets chunkTickets = currentArenaManager.getChunkTickets();
+                sender.sendMessage(ChatColor.GRAY + " - Chunk tickets: " + ChatColor.WHITE + chunkTickets.getHeldChunks() + ChatColor.GRAY + " chunks held by " + ChatColor.WHITE + chunkTickets.getOwners() + ChatColor.GRAY + " arenas");
+                CleanupScheduler cleanup = currentArenaManager.getCleanupScheduler();
+                sender.sendMessage(ChatColor.GRAY + " - Cleanup: " + ChatColor.WHITE + cleanup.getRunningJobs() + "/" + cleanup.getMaxConcurrentJobs() + ChatColor.GRAY + " running, "
+                        + ChatColor.WHITE + cleanup.getPendingJobs() + ChatColor.GRAY + " queued (peak " + cleanup.getPeakBacklog() + ", " + cleanup.getBacklogBlocks() + " blocks left), "
+                        + cleanup.getCompletedJobs() + " done, " + cleanup.getFailedJobs() + " failed");
+                sender.sendMessage(ChatColor.GRAY + "   wait " + formatLatency(cleanup.getQueueWait()) + ChatColor.GRAY + ", total " + formatLatency(cleanup.getJobDuration())
+                        + ChatColor.GRAY + ", budget " + cleanup.getBlocksPerTick() + " blocks/tick");
+                ArenaLifecycleMetrics lifecycle = currentArenaManager.getLifecycleMetrics();
+                sender.sendMessage(ChatColor.GRAY + " - Lifecycle latency (p50/p95/max): " + ChatColor.WHITE + lifecycle.getRejectedTransitions() + ChatColor.GRAY + " rejected transitions");
+                for (Map.Entry<String, ArenaLifecycleMetrics.ThemeMetrics> entry : lifecycle.getThemeMetrics().entrySet()) {
+                    ArenaLifecycleMetrics.ThemeMetrics metrics = entry.getValue();
+                    sender.sendMessage(ChatColor.GRAY + "   " + entry.getKey() + ": paste " + formatLatency(metrics.getPaste()) + ChatColor.GRAY + ", start " + formatLatency(metrics.getStart())
+                            + ChatColor.GRAY + ", fight " + formatLatency(metrics.getFight()) + ChatColor.GRAY + ", cleanup " + formatLatency(metrics.getCleanup()));
+                }
+                break;
             default:
-                sender.sendMessage(configManager.getPrefix() + ChatColor.RED + "Unknown admin arena action. Use: listthemes, create, starttest, listinstances, cleanup.");
+                sender.sendMessage(configManager.getPrefix() + ChatColor.RED + "Unknown admin arena action. Use: listthemes, create, starttest, listinstances, cleanup, stats.");
                 break;
         }
     }
 
+    private static String formatLatency(LatencyHistogram histogram) {
+        if (histogram.getCount() == 0) return ChatColor.WHITE + "-";
+        return ChatColor.WHITE + formatMillis(histogram.getPercentileMillis(0.5)) + "/" + formatMillis(histogram.getPercentileMillis(0.95)) + "/" + formatMillis(histogram.getMaxMillis())
+                + ChatColor.GRAY + " (" + histogram.getCount() + ")";
+    }
+
+    private static String formatMillis(long millis) {
+        return millis < 10_000 ? millis + "ms" : (millis / 1000) + "s";
+    }
+
     private void handleAdminPartyCommands(CommandSender sender, String label, String[] args) {
         PartyInfoManager currentPartyManager = getPartyInfoManager();
         if (currentPartyManager == null) {
@@ -278,18 +365,69 @@ public class BossEventCommand implements CommandExecutor, TabCompleter {
             sender.sendMessage(ChatColor.YELLOW + "/" + label + " admin arena starttest <themeId> [player]" + ChatColor.GRAY + " - Creates arena & starts test event for player.");
             sender.sendMessage(ChatColor.YELLOW + "/" + label + " admin arena listinstances" + ChatColor.GRAY + " - Lists active arena instances.");
             sender.sendMessage(ChatColor.YELLOW + "/" + label + " admin arena cleanup <instanceId>" + ChatColor.GRAY + " - Cleans up an arena instance.");
+            sender.sendMessage(ChatColor.YELLOW + "/" + label + " admin arena stats" + ChatColor.GRAY + " - Shows arena manager statistics.");
             sender.sendMessage(ChatColor.YELLOW + "/" + label + " admin party test <playerName>" + ChatColor.GRAY + " - Tests Bungee party info retrieval.");
         }
     }
+    /**
+     * Reloads config, bosses and arena themes without blocking the server. Everything is read and schematics are
+     * decoded off the main thread, then the new snapshots are published together in one main thread task.
+     * Running arenas keep the boss definition and theme they were started with.
+     */
     private void reloadPluginConfiguration(CommandSender sender) {
-        configManager.reloadConfig();
-        if (plugin.getBossManager() != null) plugin.getBossManager().reloadBosses(); // Check for null
-        if (getArenaManager() != null) { // Use getter for lazy init
-            getArenaManager().reloadArenaThemes();
-        } else {
-            sender.sendMessage(configManager.getPrefix() + ChatColor.YELLOW + "ArenaManager not available, skipped reloading arena themes.");
+        if (!reloadInProgress.compareAndSet(false, true)) {
+            sender.sendMessage(configManager.getPrefix() + ChatColor.YELLOW + "A reload is already in progress.");
+            return;
+        }
+        sender.sendMessage(configManager.getPrefix() + ChatColor.YELLOW + "Reloading configurations...");
+        final long startNanos = System.nanoTime();
+        final BossManager bossManager = plugin.getBossManager();
+        final ArenaManager arenaManagerForReload = getArenaManager();
+        Executor async = task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+
+        CompletableFuture.supplyAsync(configManager::loadFromDisk, async).thenCompose(loadedConfig -> {
+            BossCatalog catalog = bossManager != null ? bossManager.buildCatalog(loadedConfig.getConfig()) : null;
+            CompletableFuture<ArenaManager.PreparedThemes> themesFuture = arenaManagerForReload != null
+                    ? arenaManagerForReload.prepareThemes(loadedConfig.getConfig())
+                    : CompletableFuture.completedFuture(null);
+            return themesFuture.thenApply(themes -> new ReloadSnapshot(loadedConfig, catalog, themes));
+        }).whenComplete((prepared, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            try {
+                if (error != null) {
+                    plugin.getLogger().log(Level.SEVERE, "Failed to reload configuration. The previous configuration stays active.", error);
+                    sender.sendMessage(configManager.getPrefix() + ChatColor.RED + "Reload failed, see console. The previous configuration stays active.");
+                    return;
+                }
+                configManager.apply(prepared.config);
+                if (bossManager != null) bossManager.applyCatalog(prepared.catalog);
+                if (getPartyInfoManager() != null) getPartyInfoManager().invalidateAll(); // Drop cached party lookups
+                if (arenaManagerForReload != null) {
+                    arenaManagerForReload.applyThemes(prepared.themes);
+                } else {
+                    sender.sendMessage(configManager.getPrefix() + ChatColor.YELLOW + "ArenaManager not available, skipped reloading arena themes.");
+                }
+                if (getGuiManager() != null) getGuiManager().reloadMenus(); // Rebuild pre-rendered menus from the new config
+                long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+                sender.sendMessage(configManager.getPrefix() + ChatColor.GREEN + "Configurations reloaded (" + elapsedMillis + " ms).");
+            } finally {
+                reloadInProgress.set(false);
+            }
+        }));
+    }
+
+    /**
+     * Everything a reload prepares off the main thread, applied together on the main thread.
+     */
+    private static final class ReloadSnapshot {
+        private final ConfigManager.LoadedConfig config;
+        private final BossCatalog catalog; // Null if the BossManager is not available
+        private final ArenaManager.PreparedThemes themes; // Null if the ArenaManager is not available
+
+        private ReloadSnapshot(ConfigManager.LoadedConfig config, BossCatalog catalog, ArenaManager.PreparedThemes themes) {
+            this.config = config;
+            this.catalog = catalog;
+            this.themes = themes;
         }
-        sender.sendMessage(configManager.getPrefix() + ChatColor.GREEN + "Configurations reloaded.");
     }
 
 
@@ -313,7 +451,7 @@ public class BossEventCommand implements CommandExecutor, TabCompleter {
 
         if (args.length == 3 && args[0].equalsIgnoreCase("admin")) {
             if (args[1].equalsIgnoreCase("arena") && sender.hasPermission("bosseventmanager.admin.test")) {
-                return Arrays.asList("listthemes", "create", "starttest", "listinstances", "cleanup").stream().filter(s -> s.toLowerCase().startsWith(args[2].toLowerCase())).collect(Collectors.toList());
+                return Arrays.asList("listthemes", "create", "starttest", "listinstances", "cleanup", "stats").stream().filter(s -> s.toLowerCase().startsWith(args[2].toLowerCase())).collect(Collectors.toList());
             } else if (args[1].equalsIgnoreCase("party") && sender.hasPermission("bosseventmanager.admin.test")) {
                 return Arrays.asList("test").stream().filter(s -> s.toLowerCase().startsWith(args[2].toLowerCase())).collect(Collectors.toList());
             }
@@ -0,0 +1,208 @@
+package io.mewb.bossEventManager.economy;
+
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * Runs Vault economy calls on one dedicated thread, so providers backed by a database (e.g. PlayerPoints)
+ * never block the main thread. Event costs are withdrawn into an {@link Escrow} while the arena is prepared,
+ * then either settled (kept) once the event started or refunded on any failure.
+ * A single thread also serializes all calls, since Vault providers are not required to be thread-safe.
+ */
+public class EconomyEscrow {
+
+    public enum FailureReason { INSUFFICIENT_FUNDS, ECONOMY_ERROR }
+
+    private enum State { HELD, SETTLED, REFUNDED }
+
+    private final Economy economy;
+    private final Logger logger;
+    private final ExecutorService executor;
+    private final Set<Escrow> open = ConcurrentHashMap.newKeySet();
+    private final AtomicLong settled = new AtomicLong();
+    private final AtomicLong refunded = new AtomicLong();
+    private volatile boolean shuttingDown = false;
+
+    public EconomyEscrow(Economy economy, Logger logger) {
+        this.economy = economy;
+        this.logger = logger;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "BossEventManager-Economy");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Withdraws each payer's share as one batch: if any share cannot be withdrawn, the shares already
+     * withdrawn are deposited back and the future fails with an {@link EscrowException}.
+     * @param shares Payer -> amount, in the order they are charged.
+     * @return A future completing off the main thread with the escrow holding the funds.
+     */
+    public CompletableFuture<Escrow> hold(Map<UUID, Double> shares) {
+        return CompletableFuture.supplyAsync(() -> {
+            Map<UUID, Double> withdrawn = new LinkedHashMap<>();
+            for (Map.Entry<UUID, Double> share : shares.entrySet()) {
+                OfflinePlayer payer = Bukkit.getOfflinePlayer(share.getKey());
+                double amount = share.getValue();
+                if (!economy.has(payer, amount)) {
+                    depositAll(withdrawn);
+                    throw new EscrowException(FailureReason.INSUFFICIENT_FUNDS, share.getKey(), amount);
+                }
+                EconomyResponse response = economy.withdrawPlayer(payer, amount);
+                if (!response.transactionSuccess()) {
+                    logger.warning("Vault withdrawal failed for " + share.getKey() + " (Cost: " + amount + "). Reason: " + response.errorMessage);
+                    depositAll(withdrawn);
+                    throw new EscrowException(FailureReason.ECONOMY_ERROR, share.getKey(), amount);
+                }
+                withdrawn.put(share.getKey(), amount);
+            }
+            Escrow escrow = new Escrow(withdrawn);
+            open.add(escrow);
+            // Added after shutdown's sweep, and the caller's main-thread continuation can no longer run
+            if (shuttingDown) escrow.refund();
+            return escrow;
+        }, executor);
+    }
+
+    /**
+     * Splits a cost evenly between payers. Shares are rounded to cents; the first payer covers the remainder.
+     */
+    public static Map<UUID, Double> split(List<UUID> payers, double total) {
+        Map<UUID, Double> shares = new LinkedHashMap<>();
+        if (payers.isEmpty()) return shares;
+        double share = Math.floor(total / payers.size() * 100.0) / 100.0;
+        double remainder = Math.round((total - share * payers.size()) * 100.0) / 100.0;
+        for (int i = 0; i < payers.size(); i++) {
+            shares.put(payers.get(i), i == 0 ? share + remainder : share);
+        }
+        return shares;
+    }
+
+    private void depositAll(Map<UUID, Double> amounts) {
+        for (Map.Entry<UUID, Double> entry : amounts.entrySet()) {
+            EconomyResponse response = economy.depositPlayer(Bukkit.getOfflinePlayer(entry.getKey()), entry.getValue());
+            if (!response.transactionSuccess()) {
+                logger.severe("Failed to refund " + entry.getValue() + " to " + entry.getKey() + ". Reason: " + response.errorMessage + ". Manual refund needed.");
+            }
+        }
+    }
+
+    /**
+     * Refunds every escrow still held and stops the economy thread, waiting for queued calls. Holds still in flight
+     * refund themselves once they complete. Called on disable.
+     */
+    public void shutdown() {
+        shuttingDown = true;
+        for (Escrow escrow : new ArrayList<>(open)) escrow.refund();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warning("Economy thread did not finish in time; some refunds may not have been processed.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Escrow escrow : new ArrayList<>(open)) escrow.refund(); // Inline now that the economy thread has stopped
+    }
+
+    public int getOpenEscrows() { return open.size(); }
+    public long getSettled() { return settled.get(); }
+    public long getRefunded() { return refunded.get(); }
+
+    /**
+     * Funds withdrawn for one event start. Settling and refunding are idempotent and mutually exclusive.
+     */
+    public final class Escrow {
+        private final Map<UUID, Double> holdings;
+        private final AtomicReference<State> state = new AtomicReference<>(State.HELD);
+
+        private Escrow(Map<UUID, Double> holdings) {
+            this.holdings = Collections.unmodifiableMap(holdings);
+        }
+
+        /**
+         * Keeps the funds. Called once the event has started.
+         */
+        public void settle() {
+            if (!state.compareAndSet(State.HELD, State.SETTLED)) return;
+            open.remove(this);
+            settled.incrementAndGet();
+        }
+
+        /**
+         * Deposits the funds back to their payers on the economy thread.
+         * @return A future completing once the refund ran, or right away if already settled or refunded.
+         */
+        public CompletableFuture<Void> refund() {
+            if (!state.compareAndSet(State.HELD, State.REFUNDED)) return CompletableFuture.completedFuture(null);
+            open.remove(this);
+            refunded.incrementAndGet();
+            try {
+                return CompletableFuture.runAsync(() -> depositAll(holdings), executor);
+            } catch (RejectedExecutionException e) {
+                depositAll(holdings); // Economy thread already stopped
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+
+        public Map<UUID, Double> getHoldings() { return holdings; }
+
+        public double getTotal() {
+            double total = 0;
+            for (double amount : holdings.values()) total += amount;
+            return total;
+        }
+    }
+
+    /**
+     * Why a hold failed, and which payer caused it.
+     */
+    public static class EscrowException extends RuntimeException {
+        private final FailureReason reason;
+        private final UUID payer;
+        private final double amount;
+
+        public EscrowException(FailureReason reason, UUID payer, double amount) {
+            super("Escrow hold failed: " + reason + " for " + payer);
+            this.reason = reason;
+            this.payer = payer;
+            this.amount = amount;
+        }
+
+        public FailureReason getReason() { return reason; }
+        public UUID getPayer() { return payer; }
+        public double getAmount() { return amount; }
+    }
+
+    /**
+     * @return The cause if the throwable is or wraps an {@link EscrowException}, otherwise null.
+     */
+    public static EscrowException unwrap(Throwable throwable) {
+        Throwable current = throwable;
+        while (current != null) {
+            if (current instanceof EscrowException) return (EscrowException) current;
+            current = current.getCause();
+        }
+        return null;
+    }
+}
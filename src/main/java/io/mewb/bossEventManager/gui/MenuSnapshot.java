@@ -0,0 +1,142 @@
+package io.mewb.bossEventManager.gui;
+
+import io.mewb.bossEventManager.arena.ArenaTheme;
+import io.mewb.bossEventManager.bosses.BossDefinition;
+import net.kyori.adventure.text.Component;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Immutable, pre-rendered model of the /events menus, built once per config reload.
+ * Item stacks are templates: callers must clone them before handing them to a GUI.
+ */
+public final class MenuSnapshot {
+
+    private final Menu<String> difficultyMenu;
+    private final Map<String, Menu<BossDefinition>> bossMenusByDifficulty; // Keyed by lowercase difficulty
+    private final Menu<ArenaTheme> arenaThemeMenu; // Null if arena themes were not loaded yet
+    private final Pagination pagination;
+    private final ItemStack filler;
+    private final ItemStack backToDifficulties;
+    private final ItemStack backToBosses;
+
+    public MenuSnapshot(Menu<String> difficultyMenu, Map<String, Menu<BossDefinition>> bossMenusByDifficulty, Menu<ArenaTheme> arenaThemeMenu,
+                        Pagination pagination, ItemStack filler, ItemStack backToDifficulties, ItemStack backToBosses) {
+        this.difficultyMenu = difficultyMenu;
+        this.bossMenusByDifficulty = Collections.unmodifiableMap(bossMenusByDifficulty);
+        this.arenaThemeMenu = arenaThemeMenu;
+        this.pagination = pagination;
+        this.filler = filler;
+        this.backToDifficulties = backToDifficulties;
+        this.backToBosses = backToBosses;
+    }
+
+    public Menu<String> getDifficultyMenu() { return difficultyMenu; }
+    public Menu<BossDefinition> getBossMenu(String difficulty) { return difficulty == null ? null : bossMenusByDifficulty.get(difficulty.toLowerCase()); }
+    public Menu<ArenaTheme> getArenaThemeMenu() { return arenaThemeMenu; }
+    public Pagination getPagination() { return pagination; }
+    public ItemStack getFiller() { return filler; }
+    public ItemStack getBackToDifficulties() { return backToDifficulties; }
+    public ItemStack getBackToBosses() { return backToBosses; }
+
+    /**
+     * One menu screen: title, size and the pre-rendered entries with the value each one selects.
+     */
+    public static final class Menu<T> {
+        private final Component title;
+        private final int rows;
+        private final int pageSize; // 0 for non-paginated menus
+        private final int navigationRow; // 0 for non-paginated menus
+        private final List<Entry<T>> entries;
+        private final List<int[]> fillerSlots; // {row, col} pairs to fill after entries and controls are placed
+        private final ItemStack emptyItem; // Shown when there are no entries
+
+        public Menu(Component title, int rows, int pageSize, int navigationRow, List<Entry<T>> entries, List<int[]> fillerSlots, ItemStack emptyItem) {
+            this.title = title;
+            this.rows = rows;
+            this.pageSize = pageSize;
+            this.navigationRow = navigationRow;
+            this.entries = Collections.unmodifiableList(entries);
+            this.fillerSlots = Collections.unmodifiableList(fillerSlots);
+            this.emptyItem = emptyItem;
+        }
+
+        public Component getTitle() { return title; }
+        public int getRows() { return rows; }
+        public int getPageSize() { return pageSize; }
+        public int getNavigationRow() { return navigationRow; }
+        public List<Entry<T>> getEntries() { return entries; }
+        public List<int[]> getFillerSlots() { return fillerSlots; }
+        public ItemStack getEmptyItem() { return emptyItem; }
+    }
+
+    /**
+     * A pre-rendered item and its position. Row and column are 0 for entries of paginated menus.
+     */
+    public static final class Entry<T> {
+        private final int row;
+        private final int col;
+        private final ItemStack item;
+        private final T value;
+
+        public Entry(int row, int col, ItemStack item, T value) {
+            this.row = row;
+            this.col = col;
+            this.item = item;
+            this.value = value;
+        }
+
+        public int getRow() { return row; }
+        public int getCol() { return col; }
+        public ItemStack getItem() { return item; }
+        public T getValue() { return value; }
+    }
+
+    /**
+     * Pagination controls. Page info items depend on the page numbers and are rendered once per
+     * (current, total) pair.
+     */
+    public static final class Pagination {
+        private final int previousCol;
+        private final int infoCol;
+        private final int nextCol;
+        private final ItemStack previous;
+        private final ItemStack previousGlowing;
+        private final ItemStack next;
+        private final ItemStack nextGlowing;
+        private final BiFunction<Integer, Integer, ItemStack> pageInfoRenderer;
+        private final Map<Long, ItemStack> pageInfoItems = new ConcurrentHashMap<>();
+
+        public Pagination(int previousCol, int infoCol, int nextCol, ItemStack previous, ItemStack previousGlowing,
+                          ItemStack next, ItemStack nextGlowing, BiFunction<Integer, Integer, ItemStack> pageInfoRenderer) {
+            this.previousCol = previousCol;
+            this.infoCol = infoCol;
+            this.nextCol = nextCol;
+            this.previous = previous;
+            this.previousGlowing = previousGlowing;
+            this.next = next;
+            this.nextGlowing = nextGlowing;
+            this.pageInfoRenderer = pageInfoRenderer;
+        }
+
+        public boolean isValid() {
+            return previousCol >= 1 && previousCol <= 9 && infoCol >= 1 && infoCol <= 9 && nextCol >= 1 && nextCol <= 9;
+        }
+
+        public int getPreviousCol() { return previousCol; }
+        public int getInfoCol() { return infoCol; }
+        public int getNextCol() { return nextCol; }
+        public ItemStack getPrevious(boolean glowing) { return glowing ? previousGlowing : previous; }
+        public ItemStack getNext(boolean glowing) { return glowing ? nextGlowing : next; }
+
+        public ItemStack getPageInfo(int currentPage, int totalPages) {
+            long key = ((long) currentPage << 32) | (totalPages & 0xFFFFFFFFL);
+            return pageInfoItems.computeIfAbsent(key, k -> pageInfoRenderer.apply(currentPage, totalPages));
+        }
+    }
+}
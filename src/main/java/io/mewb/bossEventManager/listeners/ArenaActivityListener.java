@@ -0,0 +1,30 @@
+package io.mewb.bossEventManager.listeners;
+
+import io.mewb.bossEventManager.BossEventManagerPlugin;
+import io.mewb.bossEventManager.arena.ArenaInstance;
+import io.mewb.bossEventManager.managers.ArenaManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+
+/**
+ * Counts hits between players and arena mobs as activity, so a fight in progress is not reaped as idle.
+ * Mob spawns and deaths and player deaths are recorded where they are handled.
+ */
+public class ArenaActivityListener implements Listener {
+
+    private final ArenaManager arenaManager;
+
+    public ArenaActivityListener(BossEventManagerPlugin plugin) {
+        this.arenaManager = plugin.getArenaManager();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onArenaDamage(EntityDamageByEntityEvent event) {
+        if (event.getEntity().getWorld() != arenaManager.getArenaWorld()) return;
+        ArenaInstance instance = arenaManager.getActiveArenaInstanceByMob(event.getEntity().getUniqueId());
+        if (instance == null) instance = arenaManager.getActiveArenaInstanceByMob(event.getDamager().getUniqueId());
+        if (instance != null) instance.updateLastActivity();
+    }
+}
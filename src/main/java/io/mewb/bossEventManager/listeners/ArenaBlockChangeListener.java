@@ -0,0 +1,154 @@
+package io.mewb.bossEventManager.listeners;
+
+import io.mewb.bossEventManager.BossEventManagerPlugin;
+import io.mewb.bossEventManager.arena.ArenaInstance;
+import io.mewb.bossEventManager.arena.BlockChangeTracker;
+import io.mewb.bossEventManager.managers.ArenaManager;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Directional;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockDispenseEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockFormEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockMultiPlaceEvent;
+import org.bukkit.event.block.BlockPistonEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.LeavesDecayEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerBucketEmptyEvent;
+import org.bukkit.event.player.PlayerBucketFillEvent;
+
+import java.util.List;
+
+/**
+ * Records block changes inside arena plots so the plot can be reset by restoring
+ * only the changed blocks (differential reset) instead of wiping and re-pasting it.
+ * Only registered when arena-manager.reset-mode is 'differential'.
+ * <p>
+ * Blocks that drop because their support is gone (torches, doors, carpets, plants) fire no event of their own,
+ * so the blocks above and beside every broken block are recorded as well.
+ */
+public class ArenaBlockChangeListener implements Listener {
+
+    private static final BlockFace[] ATTACHED_FACES = { BlockFace.UP, BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH, BlockFace.WEST };
+
+    private final ArenaManager arenaManager;
+
+    public ArenaBlockChangeListener(BossEventManagerPlugin plugin) {
+        this.arenaManager = plugin.getArenaManager();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) { trackWithAttached(event.getBlock()); }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        if (event instanceof BlockMultiPlaceEvent) {
+            for (BlockState state : ((BlockMultiPlaceEvent) event).getReplacedBlockStates()) {
+                track(state.getBlock());
+            }
+        } else {
+            track(event.getBlockPlaced());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) { trackAllWithAttached(event.blockList()); }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        trackWithAttached(event.getBlock());
+        trackAllWithAttached(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(BlockBurnEvent event) { trackWithAttached(event.getBlock()); }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(BlockFadeEvent event) { track(event.getBlock()); }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockForm(BlockFormEvent event) { track(event.getBlock()); } // Also covers BlockSpreadEvent (fire, vines...)
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLiquidFlow(BlockFromToEvent event) { track(event.getToBlock()); }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLeavesDecay(LeavesDecayEvent event) { track(event.getBlock()); }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent event) { trackWithAttached(event.getBlock()); } // E.g. ravagers breaking leaves
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketEmpty(PlayerBucketEmptyEvent event) { track(event.getBlock()); }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketFill(PlayerBucketFillEvent event) { track(event.getBlock()); }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) { trackPiston(event, event.getBlocks()); }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) { trackPiston(event, event.getBlocks()); }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDispense(BlockDispenseEvent event) {
+        // Dispensers place and pick up liquids, fire, shulker boxes and the like in front of them
+        BlockData data = event.getBlock().getBlockData();
+        if (data instanceof Directional) track(event.getBlock().getRelative(((Directional) data).getFacing()));
+    }
+
+    /**
+     * Records the piston, its head on either side, and every moved block both where it was and where it goes.
+     */
+    private void trackPiston(BlockPistonEvent event, List<Block> movedBlocks) {
+        Block piston = event.getBlock();
+        BlockFace direction = event.getDirection();
+        track(piston);
+        track(piston.getRelative(direction));
+        track(piston.getRelative(direction.getOppositeFace()));
+        for (Block block : movedBlocks) {
+            trackWithAttached(block); // Blocks attached to a moved block drop
+            track(block.getRelative(direction));
+        }
+    }
+
+    private void trackAllWithAttached(List<Block> blocks) {
+        for (Block block : blocks) {
+            trackWithAttached(block);
+        }
+    }
+
+    /**
+     * Records a removed block and the neighbours that may have depended on it for support.
+     */
+    private void trackWithAttached(Block block) {
+        track(block);
+        for (BlockFace face : ATTACHED_FACES) {
+            track(block.getRelative(face));
+        }
+    }
+
+    private void track(Block block) {
+        if (block.getWorld() != arenaManager.getArenaWorld()) return;
+        int x = block.getX(), y = block.getY(), z = block.getZ();
+        ArenaInstance instance = arenaManager.getArenaInstanceAt(block.getWorld(), x, y, z);
+        if (instance == null) return;
+        BlockChangeTracker tracker = instance.getBlockChangeTracker();
+        if (tracker != null) {
+            tracker.markChanged(x, y, z);
+        }
+    }
+}
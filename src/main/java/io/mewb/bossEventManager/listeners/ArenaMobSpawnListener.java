@@ -0,0 +1,55 @@
+package io.mewb.bossEventManager.listeners;
+
+import io.lumine.mythic.bukkit.events.MythicMobSpawnEvent;
+import io.mewb.bossEventManager.BossEventManagerPlugin;
+import io.mewb.bossEventManager.arena.ArenaInstance;
+import io.mewb.bossEventManager.bosses.BossDefinition;
+import io.mewb.bossEventManager.managers.ArenaManager;
+import io.mewb.bossEventManager.managers.BossManager;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+/**
+ * Registers every MythicMob spawning inside a preparing or running arena against that arena,
+ * so boss phases and summoned adds can be resolved by UUID on death and despawned when the event ends.
+ */
+public class ArenaMobSpawnListener implements Listener {
+
+    private final ArenaManager arenaManager;
+    private final BossManager bossManager;
+
+    public ArenaMobSpawnListener(BossEventManagerPlugin plugin) {
+        this.arenaManager = plugin.getArenaManager();
+        this.bossManager = plugin.getBossManager();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMythicMobSpawn(MythicMobSpawnEvent event) {
+        Entity entity = event.getEntity();
+        if (entity == null) return;
+        Location location = event.getLocation();
+        if (location == null || location.getWorld() != arenaManager.getArenaWorld()) return;
+
+        ArenaInstance instance = arenaManager.getArenaInstanceAt(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        if (instance == null) return;
+
+        String mobTypeName = event.getMobType().getInternalName();
+        boolean bossPhase = isBossPhase(instance.getCurrentBoss(), mobTypeName);
+        instance.trackMob(entity.getUniqueId(), mobTypeName, bossPhase);
+        if (bossPhase) {
+            // The newest phase becomes the arena's current boss entity
+            instance.setBossEntityUUID(entity.getUniqueId());
+        }
+    }
+
+    private boolean isBossPhase(BossDefinition bossDef, String mobTypeName) {
+        if (bossDef != null) {
+            return mobTypeName.equalsIgnoreCase(bossDef.getMythicMobId()) || mobTypeName.equalsIgnoreCase(bossDef.getFinalPhaseMythicMobId());
+        }
+        // No boss assigned yet: fall back to any configured boss mob
+        return bossManager.isTrackedBossMob(mobTypeName);
+    }
+}
@@ -4,37 +4,37 @@ package io.mewb.bossEventManager.listeners;
 import io.lumine.mythic.bukkit.events.MythicMobDeathEvent;
 import io.mewb.bossEventManager.BossEventManagerPlugin;
 import io.mewb.bossEventManager.arena.ArenaInstance;
+import io.mewb.bossEventManager.arena.TrackedMob;
 import io.mewb.bossEventManager.bosses.BossDefinition;
 import io.mewb.bossEventManager.managers.ArenaManager;
 import io.mewb.bossEventManager.managers.ConfigManager;
+import io.mewb.bossEventManager.rewards.RewardContext;
+import io.mewb.bossEventManager.rewards.RewardEngine;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
-import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 
 import java.util.ArrayList;
-import java.util.HashMap; // Keep HashMap if used for placeholders
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
-import java.util.logging.Level;
-import java.util.stream.Collectors;
 
 public class BossDeathListener implements Listener {
 
     private final BossEventManagerPlugin plugin;
     private final ArenaManager arenaManager;
     private final ConfigManager configManager;
+    private final RewardEngine rewardEngine;
     private final Random random = new Random(); // For chance-based rewards
 
     public BossDeathListener(BossEventManagerPlugin plugin) {
         this.plugin = plugin;
         this.arenaManager = plugin.getArenaManager();
         this.configManager = plugin.getConfigManager();
+        this.rewardEngine = plugin.getRewardEngine();
     }
 
     @EventHandler
@@ -47,37 +47,18 @@ public class BossDeathListener implements Listener {
         UUID deadMobUUID = deadEntity.getUniqueId();
         String deadMobTypeName = event.getMobType().getInternalName(); // Get the MythicMob type name
 
-        ArenaInstance arenaInstance = null;
-
-        ArenaInstance instanceByUUID = arenaManager.getActiveArenaInstanceByBossUUID(deadMobUUID);
-        if (instanceByUUID != null && instanceByUUID.getState() == ArenaInstance.ArenaState.IN_USE) {
-            arenaInstance = instanceByUUID;
-        } else {
-            Location deathLocation = deadEntity.getLocation();
-            for (ArenaInstance activeInstance : new ArrayList<>(arenaManager.getActiveArenaInstances())) {
-                if (activeInstance.getState() == ArenaInstance.ArenaState.IN_USE && activeInstance.getCurrentBoss() != null) {
-                    BossDefinition bossDef = activeInstance.getCurrentBoss();
-                    boolean isInitialPhase = deadMobTypeName.equalsIgnoreCase(bossDef.getMythicMobId());
-                    boolean isFinalPhase = deadMobTypeName.equalsIgnoreCase(bossDef.getFinalPhaseMythicMobId());
-
-                    if (isInitialPhase || isFinalPhase) {
-                        Location plotOrigin = activeInstance.getPlotOrigin();
-                        if (plotOrigin != null && deathLocation.getWorld().equals(plotOrigin.getWorld())) {
-                            double maxDistanceSquared = 250 * 250;
-                            if (deathLocation.distanceSquared(plotOrigin) < maxDistanceSquared) {
-                                arenaInstance = activeInstance;
-                                // plugin.getLogger().info("Found matching arena instance " + arenaInstance.getInstanceId() + " for mob type " + deadMobTypeName + " by location."); // Commented out
-                                break;
-                            }
-                        }
-                    }
-                }
-            }
-        }
-
+        // Boss phases and adds are registered by ArenaMobSpawnListener, so anything else is unrelated
+        ArenaInstance arenaInstance = arenaManager.getActiveArenaInstanceByMob(deadMobUUID);
         if (arenaInstance == null) {
             return;
         }
+        TrackedMob trackedMob = arenaInstance.untrackMob(deadMobUUID);
+        if (trackedMob != null && !trackedMob.isBossPhase()) {
+            return; // A summoned add died
+        }
+        if (trackedMob != null) {
+            arenaInstance.recordPhaseDefeated(trackedMob);
+        }
 
         BossDefinition currentBossDef = arenaInstance.getCurrentBoss();
         if (currentBossDef == null) {
@@ -107,6 +88,7 @@ public class BossDeathListener implements Listener {
             // plugin.getLogger().info("Processing " + rewardItems.size() + " potential reward items for " + partyMemberUUIDs.size() + " players."); // Commented out
 
             List<String> playerNamesForBroadcast = new ArrayList<>();
+            List<String> playerNames = new ArrayList<>(partyMemberUUIDs.size());
 
             for (UUID playerUUID : partyMemberUUIDs) {
                 Player player = Bukkit.getPlayer(playerUUID);
@@ -116,28 +98,9 @@ public class BossDeathListener implements Listener {
                     if (arenaInstance.getOriginalPlayerLocations().containsKey(playerUUID)) {
                         playerNamesForBroadcast.add(playerName);
                     }
+                    player.sendMessage(configManager.getMessage("boss-defeated-broadcast", "%boss_name%", currentBossDef.getDisplayName(), "%player_list%", "Your party"));
                 }
-
-                for (BossDefinition.RewardItem reward : rewardItems) {
-                    if (random.nextDouble() <= reward.getChance()) {
-                        String processedCommand = reward.getCommand()
-                                .replace("%player%", playerName)
-                                .replace("%player_uuid%", playerUUID.toString())
-                                .replace("%boss_name%", ChatColor.stripColor(currentBossDef.getDisplayName()))
-                                .replace("%arena_id%", arenaInstance.getInstanceId().toString());
-                        try {
-                            Bukkit.dispatchCommand(Bukkit.getConsoleSender(), processedCommand);
-                        } catch (Exception e) {
-                            plugin.getLogger().log(Level.SEVERE, "Error dispatching reward command: " + processedCommand, e);
-                        }
-                    }
-                }
-                if (player != null && player.isOnline()) {
-                    Map<String, String> placeholders = new HashMap<>();
-                    placeholders.put("%boss_name%", currentBossDef.getDisplayName());
-                    placeholders.put("%player_list%", "Your party");
-                    player.sendMessage(configManager.getMessage("boss-defeated-broadcast", placeholders));
-                }
+                playerNames.add(playerName);
             }
 
             String playerListString = String.join(", ", playerNamesForBroadcast);
@@ -145,11 +108,35 @@ public class BossDeathListener implements Listener {
                 playerListString = "A brave party";
             }
 
+            // Chances are rolled now; granting is spread over the next ticks by the reward engine
+            String bossName = ChatColor.stripColor(currentBossDef.getDisplayName());
+            String arenaId = arenaInstance.getInstanceId().toString();
+            List<RewardEngine.PendingReward> pendingRewards = new ArrayList<>();
+            RewardContext killContext = null;
+            for (int i = 0; i < partyMemberUUIDs.size(); i++) {
+                RewardContext context = new RewardContext(partyMemberUUIDs.get(i), playerNames.get(i), bossName, arenaId, playerListString);
+                if (killContext == null) killContext = context;
+                for (int r = 0; r < rewardItems.size(); r++) {
+                    BossDefinition.RewardItem reward = rewardItems.get(r);
+                    if (!reward.getAction().isPerKill() && random.nextDouble() <= reward.getChance()) {
+                        pendingRewards.add(new RewardEngine.PendingReward(reward.getAction(), context, currentBossDef.getId(), r, false));
+                    }
+                }
+            }
+            for (int r = 0; r < rewardItems.size(); r++) {
+                BossDefinition.RewardItem reward = rewardItems.get(r);
+                if (reward.getAction().isPerKill() && random.nextDouble() <= reward.getChance()) {
+                    pendingRewards.add(new RewardEngine.PendingReward(reward.getAction(), killContext, currentBossDef.getId(), r, true));
+                }
+            }
+            if (rewardEngine != null) {
+                rewardEngine.submit(pendingRewards);
+            } else {
+                plugin.getLogger().severe("Reward engine is not available, " + pendingRewards.size() + " rewards for arena " + arenaId + " were not granted.");
+            }
+
             if (!playerListString.isEmpty()) {
-                Map<String, String> broadcastPlaceholders = new HashMap<>();
-                broadcastPlaceholders.put("%player_list%", playerListString);
-                broadcastPlaceholders.put("%boss_name%", currentBossDef.getDisplayName());
-                String globalBroadcastMsg = configManager.getMessage("boss-defeated-broadcast-global", broadcastPlaceholders);
+                String globalBroadcastMsg = configManager.getMessage("boss-defeated-broadcast-global", "%player_list%", playerListString, "%boss_name%", currentBossDef.getDisplayName());
                 if (!globalBroadcastMsg.contains("Missing message")) {
                     Bukkit.broadcastMessage(globalBroadcastMsg);
                 }
@@ -159,11 +146,6 @@ public class BossDeathListener implements Listener {
             plugin.getLogger().warning("Could not process rewards for arena " + arenaInstance.getInstanceId() + ": Missing boss rewards or party members.");
         }
 
-        final ArenaInstance finalInstanceToClose = arenaInstance;
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            if (arenaManager != null) {
-                arenaManager.endEvent(finalInstanceToClose);
-            }
-        }, 60L);
+        arenaManager.endEventLater(arenaInstance, 60L);
     }
 }
\ No newline at end of file
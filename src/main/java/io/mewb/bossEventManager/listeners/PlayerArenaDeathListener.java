@@ -3,6 +3,7 @@ package io.mewb.bossEventManager.listeners;
 
 import io.mewb.bossEventManager.BossEventManagerPlugin;
 import io.mewb.bossEventManager.arena.ArenaInstance;
+import io.mewb.bossEventManager.arena.CombatState;
 import io.mewb.bossEventManager.managers.ArenaManager;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -13,22 +14,21 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerGameModeChangeEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
 
-import java.util.ArrayList;
-import java.util.HashMap; // Import HashMap
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map; // Import Map
-import java.util.Set;
 import java.util.UUID;
 
+/**
+ * Turns party members who die in a running arena into spectators and ends the event once the whole party is out.
+ * Member status lives in the arena's {@link CombatState}, so nothing outlives the arena or a player's session.
+ */
 public class PlayerArenaDeathListener implements Listener {
 
     private final BossEventManagerPlugin plugin;
     private final ArenaManager arenaManager;
-    private static final Set<UUID> playersToMakeSpectatorInArena = new HashSet<>();
-    private static final Map<UUID, Location> deathLocations = new HashMap<>();
 
 
     public PlayerArenaDeathListener(BossEventManagerPlugin plugin) {
@@ -44,172 +44,172 @@ public class PlayerArenaDeathListener implements Listener {
 
         Player deceasedPlayer = event.getEntity();
         UUID deceasedPlayerUUID = deceasedPlayer.getUniqueId();
-        ArenaInstance playerArenaInstance = null;
-
-        for (ArenaInstance instance : new ArrayList<>(arenaManager.getActiveArenaInstances())) { // Iterate copy
-            if (instance.getState() == ArenaInstance.ArenaState.IN_USE &&
-                    instance.getPartyMemberUUIDs() != null &&
-                    instance.getPartyMemberUUIDs().contains(deceasedPlayerUUID)) {
-                playerArenaInstance = instance;
-                break;
-            }
-        }
+        ArenaInstance playerArenaInstance = arenaManager.getActiveArenaInstanceByPlayer(deceasedPlayerUUID);
+        CombatState combatState = playerArenaInstance != null ? playerArenaInstance.getCombatState() : null;
 
-        if (playerArenaInstance != null) {
+        if (combatState != null && combatState.markDowned(deceasedPlayerUUID, deceasedPlayer.getLocation().clone())) {
             plugin.getLogger().info("Player " + deceasedPlayer.getName() + " died in active boss arena " + playerArenaInstance.getInstanceId() + ". Preparing for spectator mode on respawn.");
 
             event.setKeepInventory(true);
             event.getDrops().clear();
             event.setKeepLevel(true);
             event.setDroppedExp(0);
-
-            deathLocations.put(deceasedPlayerUUID, deceasedPlayer.getLocation().clone());
-            playersToMakeSpectatorInArena.add(deceasedPlayerUUID);
+            playerArenaInstance.updateLastActivity();
         }
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onPlayerArenaRespawn(PlayerRespawnEvent event) {
+        if (arenaManager == null) {
+            return;
+        }
         Player respawnedPlayer = event.getPlayer();
         UUID respawnedPlayerUUID = respawnedPlayer.getUniqueId();
+        ArenaInstance playerArenaInstance = arenaManager.getActiveArenaInstanceByPlayer(respawnedPlayerUUID);
+        CombatState combatState = playerArenaInstance != null ? playerArenaInstance.getCombatState() : null;
+        if (combatState == null || combatState.getStatus(respawnedPlayerUUID) != CombatState.DOWNED) {
+            return;
+        }
 
-        if (playersToMakeSpectatorInArena.contains(respawnedPlayerUUID)) {
-            playersToMakeSpectatorInArena.remove(respawnedPlayerUUID);
-            Location originalDeathLocation = deathLocations.remove(respawnedPlayerUUID);
+        Location originalDeathLocation = combatState.getDeathLocation(respawnedPlayerUUID);
+        combatState.setStatus(respawnedPlayerUUID, CombatState.SPECTATING);
+        plugin.getLogger().info("Processing respawn for " + respawnedPlayer.getName() + " in arena " + playerArenaInstance.getInstanceId() + " to set spectator mode.");
 
-            if (arenaManager == null) {
-                plugin.getLogger().warning("ArenaManager became null before " + respawnedPlayer.getName() + " could be set to spectator.");
-                return;
-            }
+        Location currentRespawnLocation = event.getRespawnLocation();
+        if (originalDeathLocation != null && originalDeathLocation.getWorld().equals(playerArenaInstance.getPlotOrigin().getWorld())) {
+            currentRespawnLocation = originalDeathLocation;
+            event.setRespawnLocation(originalDeathLocation);
+        }
 
-            ArenaInstance playerArenaInstance = null;
-            for (ArenaInstance instance : new ArrayList<>(arenaManager.getActiveArenaInstances())) { // Iterate copy
-                if (instance.getState() == ArenaInstance.ArenaState.IN_USE &&
-                        instance.getPartyMemberUUIDs() != null &&
-                        instance.getPartyMemberUUIDs().contains(respawnedPlayerUUID)) {
-                    playerArenaInstance = instance;
-                    break;
+        Location spectatorTeleportTarget;
+        Player closestLivingMember = null;
+        double minDistanceSq = Double.MAX_VALUE;
+        for (int i = 0; i < combatState.getMemberCount(); i++) {
+            if (combatState.getStatusAt(i) != CombatState.ALIVE) continue;
+            Player member = Bukkit.getPlayer(combatState.getMemberAt(i));
+            if (member != null && member.getWorld().equals(currentRespawnLocation.getWorld())) {
+                double distSq = member.getLocation().distanceSquared(currentRespawnLocation);
+                if (distSq < minDistanceSq) {
+                    minDistanceSq = distSq;
+                    closestLivingMember = member;
                 }
             }
+        }
 
-            if (playerArenaInstance == null) {
-                plugin.getLogger().warning("Player " + respawnedPlayer.getName() + " was marked for spectator, but their arena instance was no longer active/found.");
-                return;
-            }
+        if (closestLivingMember != null) {
+            spectatorTeleportTarget = closestLivingMember.getLocation().clone().add(0, 0.5, 0);
+            plugin.getLogger().info("Found living party member " + closestLivingMember.getName() + " for " + respawnedPlayer.getName() + " to spectate near.");
+        } else {
+            spectatorTeleportTarget = currentRespawnLocation.clone().add(0, 1, 0);
+            plugin.getLogger().info("No other living party members found for " + respawnedPlayer.getName() + " to spectate near. Using elevated death location.");
+        }
 
-            plugin.getLogger().info("Processing respawn for " + respawnedPlayer.getName() + " in arena " + playerArenaInstance.getInstanceId() + " to set spectator mode.");
+        if (spectatorTeleportTarget.getBlock().getType().isSolid() ||
+                spectatorTeleportTarget.clone().add(0,1,0).getBlock().getType().isSolid()) {
+            plugin.getLogger().warning("Calculated spectator teleport for " + respawnedPlayer.getName() + " was obstructed. Using higher fallback from respawn location.");
+            spectatorTeleportTarget = currentRespawnLocation.clone().add(0, 1.5, 0);
+        }
 
-            Location currentRespawnLocation = event.getRespawnLocation();
-            if (originalDeathLocation != null && originalDeathLocation.getWorld().equals(playerArenaInstance.getPlotOrigin().getWorld())) {
-                currentRespawnLocation = originalDeathLocation;
-                event.setRespawnLocation(originalDeathLocation);
-            }
+        final Location finalTeleportTarget = spectatorTeleportTarget;
+        final Player finalRespawnedPlayer = respawnedPlayer;
+        final ArenaInstance finalPlayerArenaInstance = playerArenaInstance; // Effectively final for lambda
 
-            Location spectatorTeleportTarget = currentRespawnLocation.clone();
-            Player closestLivingMember = null;
-            double minDistanceSq = Double.MAX_VALUE;
-            List<UUID> partyMembersInArena = playerArenaInstance.getPartyMemberUUIDs(); // Get the list of UUIDs for this specific arena instance
-
-            if (partyMembersInArena != null) {
-                for (UUID memberUUID : partyMembersInArena) {
-                    if (!memberUUID.equals(respawnedPlayerUUID)) {
-                        Player member = Bukkit.getPlayer(memberUUID);
-                        if (member != null && member.isOnline() && member.getGameMode() != GameMode.SPECTATOR && !member.isDead()) {
-                            if (member.getWorld().equals(currentRespawnLocation.getWorld())) {
-                                double distSq = member.getLocation().distanceSquared(currentRespawnLocation);
-                                if (distSq < minDistanceSq) {
-                                    minDistanceSq = distSq;
-                                    closestLivingMember = member;
-                                }
-                            }
-                        }
-                    }
-                }
+        plugin.getArenaScheduler().schedule(playerArenaInstance.getInstanceId(), 2L, () -> {
+            // The event may have ended, or the player left or was revived, during the delay
+            if (!finalRespawnedPlayer.isOnline() || finalPlayerArenaInstance.getCombatState() != combatState
+                    || combatState.getStatus(respawnedPlayerUUID) != CombatState.SPECTATING) {
+                return;
             }
+            finalRespawnedPlayer.setGameMode(GameMode.SPECTATOR);
+            finalRespawnedPlayer.teleportAsync(finalTeleportTarget).thenAccept(success -> {
+                if (success) {
+                    finalRespawnedPlayer.sendMessage(plugin.getConfigManager().getPrefix() + ChatColor.YELLOW + "You have fallen! You are now spectating the rest of the fight.");
+                    plugin.getLogger().info("Set " + finalRespawnedPlayer.getName() + " to spectator mode and teleported to " + finalTeleportTarget);
+                } else {
+                    finalRespawnedPlayer.sendMessage(plugin.getConfigManager().getPrefix() + ChatColor.RED + "Failed to position you correctly for spectating.");
+                    plugin.getLogger().warning("Failed to teleport spectator " + finalRespawnedPlayer.getName() + " to target location " + finalTeleportTarget + ". They are spectator at their respawn location.");
+                }
+            });
+            // Ended only now, so nobody is switched to spectator after the event already sent them back
+            checkPartyWipe(finalPlayerArenaInstance);
+        });
+    }
 
-            if (closestLivingMember != null) {
-                spectatorTeleportTarget = closestLivingMember.getLocation().clone().add(0, 0.5, 0);
-                plugin.getLogger().info("Found living party member " + closestLivingMember.getName() + " for " + respawnedPlayer.getName() + " to spectate near.");
-            } else {
-                spectatorTeleportTarget = currentRespawnLocation.clone().add(0, 1, 0);
-                plugin.getLogger().info("No other living party members found for " + respawnedPlayer.getName() + " to spectate near. Using elevated death location.");
-            }
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuitArena(PlayerQuitEvent event) {
+        if (arenaManager == null) {
+            return;
+        }
+        UUID playerUUID = event.getPlayer().getUniqueId();
+        ArenaInstance playerArenaInstance = arenaManager.getActiveArenaInstanceByPlayer(playerUUID);
+        CombatState combatState = playerArenaInstance != null ? playerArenaInstance.getCombatState() : null;
+        if (combatState == null || combatState.setStatus(playerUUID, CombatState.OFFLINE) == CombatState.OFFLINE) {
+            return;
+        }
+        // Checked next tick, once the player is gone, so the lobby teleport skips them
+        Bukkit.getScheduler().runTask(plugin, () -> checkPartyWipe(playerArenaInstance));
+    }
 
-            if (spectatorTeleportTarget.getBlock().getType().isSolid() ||
-                    spectatorTeleportTarget.clone().add(0,1,0).getBlock().getType().isSolid()) {
-                plugin.getLogger().warning("Calculated spectator teleport for " + respawnedPlayer.getName() + " was obstructed. Using higher fallback from respawn location.");
-                spectatorTeleportTarget = currentRespawnLocation.clone().add(0, 1.5, 0);
-            }
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRejoinArena(PlayerJoinEvent event) {
+        if (arenaManager == null) {
+            return;
+        }
+        Player player = event.getPlayer();
+        ArenaInstance playerArenaInstance = arenaManager.getActiveArenaInstanceByPlayer(player.getUniqueId());
+        CombatState combatState = playerArenaInstance != null ? playerArenaInstance.getCombatState() : null;
+        if (combatState == null || combatState.getStatus(player.getUniqueId()) != CombatState.OFFLINE) {
+            return;
+        }
+        // Players who left dead respawn on join and go through the respawn handler
+        byte status = player.isDead() ? CombatState.DOWNED : player.getGameMode() == GameMode.SPECTATOR ? CombatState.SPECTATING : CombatState.ALIVE;
+        combatState.setStatus(player.getUniqueId(), status);
+    }
 
-            final Location finalTeleportTarget = spectatorTeleportTarget;
-            final Player finalRespawnedPlayer = respawnedPlayer;
-            final ArenaInstance finalPlayerArenaInstance = playerArenaInstance; // Effectively final for lambda
-
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                if (finalRespawnedPlayer.isOnline()) {
-                    finalRespawnedPlayer.setGameMode(GameMode.SPECTATOR);
-                    finalRespawnedPlayer.teleportAsync(finalTeleportTarget).thenAccept(success -> {
-                        if (success) {
-                            finalRespawnedPlayer.sendMessage(plugin.getConfigManager().getPrefix() + ChatColor.YELLOW + "You have fallen! You are now spectating the rest of the fight.");
-                            plugin.getLogger().info("Set " + finalRespawnedPlayer.getName() + " to spectator mode and teleported to " + finalTeleportTarget);
-
-                            // --- Check if all party members are now spectators ---
-                            checkPartyWipe(finalPlayerArenaInstance);
-                            // --- End Check ---
-
-                        } else {
-                            finalRespawnedPlayer.sendMessage(plugin.getConfigManager().getPrefix() + ChatColor.RED + "Failed to position you correctly for spectating.");
-                            plugin.getLogger().warning("Failed to teleport spectator " + finalRespawnedPlayer.getName() + " to target location " + finalTeleportTarget + ". They are spectator at their respawn location.");
-                            // Still check for party wipe even if teleport failed, as they are spectator
-                            checkPartyWipe(finalPlayerArenaInstance);
-                        }
-                    });
-                }
-            }, 2L);
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerGameModeChange(PlayerGameModeChangeEvent event) {
+        if (arenaManager == null) {
+            return;
+        }
+        UUID playerUUID = event.getPlayer().getUniqueId();
+        ArenaInstance playerArenaInstance = arenaManager.getActiveArenaInstanceByPlayer(playerUUID);
+        CombatState combatState = playerArenaInstance != null ? playerArenaInstance.getCombatState() : null;
+        if (combatState == null) {
+            return;
+        }
+        byte status = combatState.getStatus(playerUUID);
+        if (status == CombatState.ALIVE && event.getNewGameMode() == GameMode.SPECTATOR) {
+            combatState.setStatus(playerUUID, CombatState.SPECTATING); // E.g. switched by staff
+            Bukkit.getScheduler().runTask(plugin, () -> checkPartyWipe(playerArenaInstance));
+        } else if (status == CombatState.SPECTATING && event.getNewGameMode() != GameMode.SPECTATOR) {
+            combatState.setStatus(playerUUID, CombatState.ALIVE); // Revived
         }
     }
 
     /**
-     * Checks if all players in the given arena instance's party are in spectator mode or offline.
-     * If so, ends the event.
+     * Ends the event if nobody in the arena's party is alive or waiting to respawn.
      * @param arenaInstance The arena instance to check.
      */
     private void checkPartyWipe(ArenaInstance arenaInstance) {
         if (arenaInstance == null || arenaInstance.getState() != ArenaInstance.ArenaState.IN_USE) {
             return; // Arena not active or doesn't exist
         }
-
-        List<UUID> partyMemberUUIDs = arenaInstance.getPartyMemberUUIDs();
-        if (partyMemberUUIDs == null || partyMemberUUIDs.isEmpty()) {
-            plugin.getLogger().info("No party members found in arena " + arenaInstance.getInstanceId() + " during wipe check. Ending event.");
-            arenaManager.endEvent(arenaInstance);
+        CombatState combatState = arenaInstance.getCombatState();
+        if (combatState != null && !combatState.isWiped()) {
             return;
         }
 
-        boolean allSpectatorsOrOffline = true;
-        for (UUID memberUUID : partyMemberUUIDs) {
-            Player member = Bukkit.getPlayer(memberUUID);
-            if (member != null && member.isOnline()) {
-                if (member.getGameMode() != GameMode.SPECTATOR) {
-                    allSpectatorsOrOffline = false; // Found an active player
-                    break;
-                }
-            }
-            // If player is offline, they are considered "out" of the fight for this check.
-        }
-
-        if (allSpectatorsOrOffline) {
-            plugin.getLogger().info("All players in arena " + arenaInstance.getInstanceId() + " are spectators or offline. Ending event due to party wipe.");
+        plugin.getLogger().info("All players in arena " + arenaInstance.getInstanceId() + " are spectators or offline. Ending event due to party wipe.");
+        if (combatState != null) {
             // Send a message to any online spectators from that party
-            for (UUID memberUUID : partyMemberUUIDs) {
-                Player member = Bukkit.getPlayer(memberUUID);
-                if (member != null && member.isOnline() && member.getGameMode() == GameMode.SPECTATOR) {
-                    member.sendMessage(plugin.getConfigManager().getPrefix() + ChatColor.RED + "Your party has been defeated! The event is ending.");
+            for (int i = 0; i < combatState.getMemberCount(); i++) {
+                if (combatState.getStatusAt(i) != CombatState.SPECTATING) continue;
+                Player member = Bukkit.getPlayer(combatState.getMemberAt(i));
+                if (member != null) {
+                    member.sendMessage(plugin.getConfigManager().getMessage("party-wiped"));
                 }
             }
-            arenaManager.endEvent(arenaInstance);
-        } else {
-            plugin.getLogger().info("Party wipe check for arena " + arenaInstance.getInstanceId() + ": Active players still present.");
         }
+        arenaManager.endEvent(arenaInstance);
     }
-}
\ No newline at end of file
+}
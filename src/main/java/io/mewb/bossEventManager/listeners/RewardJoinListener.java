@@ -0,0 +1,26 @@
+package io.mewb.bossEventManager.listeners;
+
+import io.mewb.bossEventManager.BossEventManagerPlugin;
+import io.mewb.bossEventManager.rewards.RewardEngine;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+/**
+ * Hands boss rewards that were due while a player was offline, e.g. replayed from the journal at startup,
+ * back to the reward engine once the player joins.
+ */
+public class RewardJoinListener implements Listener {
+
+    private final RewardEngine rewardEngine;
+
+    public RewardJoinListener(BossEventManagerPlugin plugin) {
+        this.rewardEngine = plugin.getRewardEngine();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        rewardEngine.playerJoined(event.getPlayer().getUniqueId());
+    }
+}
@@ -4,7 +4,9 @@ import com.google.common.io.ByteArrayDataInput;
 import com.google.common.io.ByteStreams;
 
 import io.mewb.bossEventManager.BossEventManagerPlugin;
+import io.mewb.bossEventManager.party.PartyInfo;
 import io.mewb.bossEventManager.party.PartyInfoManager;
+import io.mewb.bossEventManager.party.PartyMessageCodec;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.messaging.PluginMessageListener;
 import org.jetbrains.annotations.NotNull;
@@ -40,6 +42,15 @@ public class SpigotPluginMessageListener implements PluginMessageListener {
             return;
         }
 
+        if (PartyMessageCodec.isBinaryFrame(message)) {
+            handleBinaryMessage(message);
+            return;
+        }
+        if (!partyInfoManager.isLegacyFormatAccepted()) {
+            plugin.getLogger().warning("Ignored a legacy-format party plugin message (party.accept-legacy-messages is false).");
+            return;
+        }
+
         ByteArrayDataInput input = ByteStreams.newDataInput(message);
 
         try {
@@ -58,6 +69,36 @@ public class SpigotPluginMessageListener implements PluginMessageListener {
                 // plugin.getLogger().info("Received PARTY_INFO_RESPONSE for " + requestedPlayerUUID + " (Leader: " + isLeader + ", Size: " + partySize + ")"); // Commented out
                 partyInfoManager.handlePartyInfoResponse(requestedPlayerUUID, isLeader, partySize, memberUUIDs);
 
+            } else if ("PARTY_INFO_BATCH_RESPONSE".equalsIgnoreCase(subChannel)) {
+                long requestId = input.readLong();
+                int resultCount = input.readInt();
+                List<PartyInfo> results = new ArrayList<>(resultCount);
+                for (int i = 0; i < resultCount; i++) {
+                    UUID requestedPlayerUUID = UUID.fromString(input.readUTF());
+                    boolean success = input.readBoolean();
+                    if (!success) {
+                        results.add(new PartyInfo(requestedPlayerUUID));
+                        continue;
+                    }
+                    boolean isLeader = input.readBoolean();
+                    int partySize = input.readInt();
+                    int memberCount = input.readInt();
+                    List<UUID> memberUUIDs = new ArrayList<>(memberCount);
+                    for (int j = 0; j < memberCount; j++) {
+                        memberUUIDs.add(UUID.fromString(input.readUTF()));
+                    }
+                    results.add(new PartyInfo(requestedPlayerUUID, isLeader, partySize, memberUUIDs));
+                }
+                partyInfoManager.handleBatchResponse(requestId, results);
+
+            } else if ("PARTY_CHANGED".equalsIgnoreCase(subChannel)) {
+                // Pushed by the proxy when a party is created, joined, left or disbanded
+                int changedCount = input.readInt();
+                List<UUID> changedUUIDs = new ArrayList<>(changedCount);
+                for (int i = 0; i < changedCount; i++) {
+                    changedUUIDs.add(UUID.fromString(input.readUTF()));
+                }
+                partyInfoManager.invalidatePartyInfo(changedUUIDs);
             }
             // else if ("PARTY_INFO_FAILURE".equalsIgnoreCase(subChannel)) {
             //    UUID requestedPlayerUUID = UUID.fromString(input.readUTF());
@@ -65,7 +106,36 @@ public class SpigotPluginMessageListener implements PluginMessageListener {
             // }
 
         } catch (IllegalStateException | IllegalArgumentException e) {
-            plugin.getLogger().log(Level.SEVERE, "Error parsing PARTY_INFO_RESPONSE plugin message.", e);
+            plugin.getLogger().log(Level.SEVERE, "Error parsing party plugin message.", e);
+        }
+    }
+
+    private void handleBinaryMessage(byte[] message) {
+        try {
+            PartyMessageCodec.Reader reader = PartyMessageCodec.reader(message);
+            partyInfoManager.binaryFormatSeen();
+            switch (reader.getType()) {
+                case PartyMessageCodec.TYPE_PARTY_INFO_RESPONSE:
+                    PartyInfo info = reader.readPartyInfo();
+                    if (info.isSuccess()) {
+                        partyInfoManager.handlePartyInfoResponse(info.getRequestedPlayerUUID(), info.isLeader(), info.getPartySize(), info.getMemberUUIDs());
+                    } else {
+                        partyInfoManager.handlePartyInfoFailure(info.getRequestedPlayerUUID());
+                    }
+                    break;
+                case PartyMessageCodec.TYPE_PARTY_INFO_BATCH_RESPONSE:
+                    long requestId = reader.readVarLong();
+                    partyInfoManager.handleBatchResponse(requestId, reader.readPartyInfoList());
+                    break;
+                case PartyMessageCodec.TYPE_PARTY_CHANGED:
+                    partyInfoManager.invalidatePartyInfo(reader.readUuidList());
+                    break;
+                default:
+                    plugin.getLogger().warning("Received party plugin message with unknown type " + reader.getType() + ".");
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().log(Level.SEVERE, "Error parsing binary party plugin message.", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -26,8 +26,21 @@ import io.lumine.mythic.bukkit.MythicBukkit;
 import io.lumine.mythic.core.mobs.ActiveMob;
 import io.mewb.bossEventManager.BossEventManagerPlugin;
 import io.mewb.bossEventManager.arena.ArenaInstance;
+import io.mewb.bossEventManager.arena.ArenaLifecycleMetrics;
+import io.mewb.bossEventManager.arena.ArenaPool;
+import io.mewb.bossEventManager.arena.ArenaRegistry;
+import io.mewb.bossEventManager.arena.ArenaRequestQueue;
+import io.mewb.bossEventManager.arena.ArenaScheduler;
 import io.mewb.bossEventManager.arena.ArenaTheme;
+import io.mewb.bossEventManager.arena.BlockChangeTracker;
+import io.mewb.bossEventManager.arena.CleanupScheduler;
+import io.mewb.bossEventManager.arena.PlotAllocator;
+import io.mewb.bossEventManager.arena.PlotChunkTickets;
 import io.mewb.bossEventManager.arena.PlotInfo;
+import io.mewb.bossEventManager.arena.SchematicCache;
+import io.mewb.bossEventManager.arena.SchematicIndex;
+import io.mewb.bossEventManager.arena.StartPipelineMetrics;
+import io.mewb.bossEventManager.arena.TrackedMob;
 import io.mewb.bossEventManager.bosses.BossDefinition;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -36,9 +49,14 @@ import org.bukkit.Location;
 import org.bukkit.SoundCategory;
 import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.ExperienceOrb;
+import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.util.BoundingBox;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -46,8 +64,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -55,6 +73,12 @@ import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 public class ArenaManager {
@@ -64,17 +88,51 @@ public class ArenaManager {
     private final WorldEdit faweApi;
     private final MythicPlugin mythicMobsApi;
 
-    private final Map<String, ArenaTheme> arenaThemes;
-    private final List<ArenaInstance> activeArenaInstances;
-    private final Set<Integer> usedPlotIds = new HashSet<>();
+    // Loaded themes, replaced as a whole on reload
+    private volatile Map<String, ArenaTheme> arenaThemes = Collections.emptyMap();
+    private final AtomicInteger themeGeneration = new AtomicInteger();
+    private volatile boolean themesLoaded = false;
+    private final SchematicIndex schematicIndex; // Null if disabled
+    private final int schematicLoaderThreads;
+    private final Map<String, String> schematicHashes = new ConcurrentHashMap<>(); // Theme cache key -> schematic SHA-256, if known
+    private final ArenaRegistry arenaRegistry;
+    private final ArenaLifecycleMetrics lifecycleMetrics = new ArenaLifecycleMetrics();
+    private final ArenaRequestQueue requestQueue;
+    private final long queueDefaultFightMillis;
+    private ArenaScheduler.Timer queueUpdateTimer;
+    private final ArenaScheduler scheduler;
+    private final long fightTimeLimitTicks; // 0 if unlimited
+    private final long idleTimeoutMillis; // 0 if idle arenas are never reaped
+    private final CleanupScheduler cleanupScheduler;
+    private volatile boolean shuttingDown = false; // Clears bypass the cleanup scheduler once set
+    private int reclaimsInFlight = 0; // Pooled arenas being given up for a waiting request. Main thread only
+    private final PlotChunkTickets chunkTickets;
+    private final boolean chunkPreloadEnabled;
+    private final long chunkPreloadTimeoutSeconds;
+    private final StartPipelineMetrics startMetrics = new StartPipelineMetrics();
+    private final boolean speculativeReserve;
+    private final PlotAllocator plotAllocator;
 
     private final String arenaWorldName;
     private final World arenaWorld;
-    private final int startX, startY, startZ;
-    private final int plotSeparationX, plotSeparationZ;
-    private final int plotsPerRow;
+    private final int startY;
     private final int maxConcurrentArenas;
     private final File faweSchematicsDir;
+    private final SchematicCache schematicCache;
+
+    // Warm pool settings (defaults, overridable per theme)
+    private final boolean warmPoolEnabled;
+    private final int warmPoolMinSize;
+    private final int warmPoolMaxSize;
+    private final double warmPoolDemandWindowSeconds;
+    private final double warmPoolRefillLeadSeconds;
+    private final Map<String, ArenaPool> arenaPools = new ConcurrentHashMap<>();
+    private ArenaScheduler.Timer poolMaintenanceTimer;
+
+    // Differential reset: restore only changed blocks and keep the plot pasted for the same theme
+    private final boolean differentialReset;
+    private final int differentialResetMaxTrackedBlocks;
+    private final int differentialResetMaxReuses; // 0 if unlimited
 
     private final float musicDefaultVolume;
     private final float musicDefaultPitch;
@@ -87,8 +145,10 @@ public class ArenaManager {
         this.faweApi = plugin.getFAWEApi();
         this.mythicMobsApi = plugin.getMythicMobsApi();
 
-        this.arenaThemes = new HashMap<>();
-        this.activeArenaInstances = Collections.synchronizedList(new ArrayList<>());
+        this.arenaRegistry = new ArenaRegistry();
+        this.scheduler = plugin.getArenaScheduler();
+        this.fightTimeLimitTicks = Math.max(0L, configManager.getConfig().getLong("arena-manager.fight-time-limit-seconds", 1800)) * 20L;
+        this.idleTimeoutMillis = Math.max(0L, configManager.getConfig().getLong("arena-manager.idle-timeout-seconds", 300)) * 1000L;
 
         this.arenaWorldName = configManager.getConfig().getString("arena-manager.arena-world-name", "BossEventArenas");
         this.arenaWorld = Bukkit.getWorld(arenaWorldName);
@@ -96,13 +156,16 @@ public class ArenaManager {
             plugin.getLogger().severe("Arena world '" + arenaWorldName + "' not found or not loaded! Arena functionality will be disabled.");
         }
 
-        this.startX = configManager.getConfig().getInt("arena-manager.start-x", 0);
+        int startX = configManager.getConfig().getInt("arena-manager.start-x", 0);
         this.startY = configManager.getConfig().getInt("arena-manager.start-y", 100);
-        this.startZ = configManager.getConfig().getInt("arena-manager.start-z", 0);
-        this.plotSeparationX = configManager.getConfig().getInt("arena-manager.plot-separation-x", 1000);
-        this.plotSeparationZ = configManager.getConfig().getInt("arena-manager.plot-separation-z", 1000);
-        this.plotsPerRow = Math.max(1, configManager.getConfig().getInt("arena-manager.plots-per-row", 10));
+        int startZ = configManager.getConfig().getInt("arena-manager.start-z", 0);
+        int plotSeparationX = configManager.getConfig().getInt("arena-manager.plot-separation-x", 1000);
+        int plotSeparationZ = configManager.getConfig().getInt("arena-manager.plot-separation-z", 1000);
+        int plotsPerRow = Math.max(1, configManager.getConfig().getInt("arena-manager.plots-per-row", 10));
         this.maxConcurrentArenas = configManager.getConfig().getInt("arena-manager.max-concurrent-arenas", 20);
+        int maxPlots = configManager.getConfig().getInt("arena-manager.max-plots", 4096);
+        this.plotAllocator = new PlotAllocator(maxConcurrentArenas > 0 ? maxConcurrentArenas : maxPlots, maxConcurrentArenas,
+                startX, startZ, plotSeparationX, plotSeparationZ, plotsPerRow);
 
         this.musicDefaultVolume = (float) configManager.getConfig().getDouble("arena-manager.music.volume", 0.7);
         this.musicDefaultPitch = (float) configManager.getConfig().getDouble("arena-manager.music.pitch", 1.0);
@@ -129,54 +192,275 @@ public class ArenaManager {
             this.faweSchematicsDir = new File(plugin.getDataFolder().getParentFile(), "FastAsyncWorldEdit/schematics"); // Fallback
             plugin.getLogger().warning("FastAsyncWorldEdit plugin not found, using fallback schematics path: " + this.faweSchematicsDir.getAbsolutePath());
         }
-        loadArenaThemes();
+
+        long cacheMaxBytes = configManager.getConfig().getLong("arena-manager.schematic-cache.max-memory-mb", 512) * 1024L * 1024L;
+        int cacheBytesPerBlock = configManager.getConfig().getInt("arena-manager.schematic-cache.estimated-bytes-per-block", 4);
+        this.schematicCache = new SchematicCache(cacheMaxBytes, cacheBytesPerBlock);
+        int configuredLoaderThreads = configManager.getConfig().getInt("arena-manager.schematic-loader-threads", 0);
+        this.schematicLoaderThreads = configuredLoaderThreads > 0 ? configuredLoaderThreads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        if (configManager.getConfig().getBoolean("arena-manager.schematic-index.enabled", true)) {
+            this.schematicIndex = new SchematicIndex(new File(plugin.getDataFolder(), "schematic-index.yml"), plugin.getLogger());
+            this.schematicIndex.load();
+        } else {
+            this.schematicIndex = null;
+        }
+
+        this.warmPoolEnabled = configManager.getConfig().getBoolean("arena-manager.warm-pool.enabled", false);
+        this.warmPoolMinSize = configManager.getConfig().getInt("arena-manager.warm-pool.min-size", 1);
+        this.warmPoolMaxSize = configManager.getConfig().getInt("arena-manager.warm-pool.max-size", 3);
+        this.warmPoolDemandWindowSeconds = configManager.getConfig().getDouble("arena-manager.warm-pool.demand-window-seconds", 300);
+        this.warmPoolRefillLeadSeconds = configManager.getConfig().getDouble("arena-manager.warm-pool.refill-lead-seconds", 60);
+
+        this.differentialReset = "differential".equalsIgnoreCase(configManager.getConfig().getString("arena-manager.reset-mode", "full"));
+        this.differentialResetMaxTrackedBlocks = configManager.getConfig().getInt("arena-manager.differential-reset.max-tracked-blocks", 5000);
+        this.differentialResetMaxReuses = Math.max(0, configManager.getConfig().getInt("arena-manager.differential-reset.max-reuses", 20));
+        if (differentialReset) {
+            plugin.getLogger().info("Arena reset mode: differential (max tracked blocks: " + differentialResetMaxTrackedBlocks + ", full reset every " + differentialResetMaxReuses + " reuses).");
+        }
+
+        ArenaRequestQueue.Mode queueMode = "priority".equalsIgnoreCase(configManager.getConfig().getString("arena-manager.queue.mode", "fifo"))
+                ? ArenaRequestQueue.Mode.PRIORITY : ArenaRequestQueue.Mode.FIFO;
+        int queueMaxSize = configManager.getConfig().getBoolean("arena-manager.queue.enabled", true) ? configManager.getConfig().getInt("arena-manager.queue.max-size", 50) : 0;
+        this.requestQueue = new ArenaRequestQueue(queueMode, queueMaxSize, configManager.getConfig().getLong("arena-manager.queue.timeout-seconds", 300) * 1000L);
+        this.queueDefaultFightMillis = configManager.getConfig().getLong("arena-manager.queue.default-fight-seconds", 300) * 1000L;
+        if (requestQueue.isEnabled()) {
+            long updateTicks = Math.max(1L, configManager.getConfig().getLong("arena-manager.queue.update-interval-ticks", 40));
+            this.queueUpdateTimer = scheduler.scheduleRepeating(null, updateTicks, this::updateQueue);
+        }
+
+        long cleanupBlocksPerTick = configManager.getConfig().getLong("arena-manager.cleanup.blocks-per-tick", 32768);
+        int cleanupMaxConcurrent = configManager.getConfig().getInt("arena-manager.cleanup.max-concurrent", 2);
+        this.cleanupScheduler = new CleanupScheduler(plugin, this::clearSlice, () -> !requestQueue.isEmpty(), cleanupBlocksPerTick, cleanupMaxConcurrent);
+
+        this.chunkTickets = new PlotChunkTickets(plugin);
+        this.chunkPreloadEnabled = configManager.getConfig().getBoolean("arena-manager.chunk-preload.enabled", true);
+        this.chunkPreloadTimeoutSeconds = configManager.getConfig().getLong("arena-manager.chunk-preload.timeout-seconds", 30);
+        this.speculativeReserve = configManager.getConfig().getBoolean("arena-manager.start-pipeline.speculative-reserve", true);
+
+        if (warmPoolEnabled) {
+            this.poolMaintenanceTimer = scheduler.scheduleRepeating(null, 200L, this::maintainPools);
+            plugin.getLogger().info("Arena warm pool enabled (default min: " + warmPoolMinSize + ", max: " + warmPoolMaxSize + ").");
+        }
+    }
+
+    /**
+     * Loads the configured arena themes without blocking the main thread. Until this completes no themes are available.
+     * @return A future completed on the main thread once the themes are published.
+     */
+    public CompletableFuture<Void> loadArenaThemesAsync() {
+        CompletableFuture<Void> loaded = new CompletableFuture<>();
+        final long startNanos = System.nanoTime();
+        prepareThemes(configManager.getConfig()).whenComplete((prepared, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (error != null) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to load arena themes.", error);
+                loaded.completeExceptionally(error);
+                return;
+            }
+            applyThemes(prepared);
+            plugin.getLogger().info("Arena themes loaded in " + (System.nanoTime() - startNanos) / 1_000_000L + " ms ("
+                    + prepared.indexHits + " of " + prepared.size() + " read from the schematic index).");
+            loaded.complete(null);
+        }));
+        return loaded;
+    }
+
+    public boolean areThemesLoaded() {
+        return themesLoaded;
     }
 
-    private void loadArenaThemes() {
-        arenaThemes.clear();
-        ConfigurationSection themesSection = configManager.getConfig().getConfigurationSection("arena-themes");
+    /**
+     * Reads theme definitions from a config and decodes their schematics in parallel, without publishing anything.
+     * Does not touch live state, so it may run off the main thread.
+     * @return A future holding the prepared themes, to be published with {@link #applyThemes(PreparedThemes)}.
+     */
+    public CompletableFuture<PreparedThemes> prepareThemes(FileConfiguration config) {
+        ConfigurationSection themesSection = config.getConfigurationSection("arena-themes");
         if (themesSection == null) {
             plugin.getLogger().warning("No 'arena-themes' section found in config.yml. No arena themes will be available.");
-            return;
+            return CompletableFuture.completedFuture(new PreparedThemes(Collections.emptyList()));
         }
 
+        int generation = themeGeneration.incrementAndGet();
+        List<ThemeDefinition> definitions = new ArrayList<>();
         for (String themeId : themesSection.getKeys(false)) {
             ConfigurationSection currentThemeSection = themesSection.getConfigurationSection(themeId);
-            if (currentThemeSection != null) {
-                String displayName = currentThemeSection.getString("display-name", "Unnamed Theme");
-                String schematicFileName = currentThemeSection.getString("schematic-file");
-                List<String> playerSpawns = currentThemeSection.getStringList("player-spawn-points");
-                String bossSpawn = currentThemeSection.getString("boss-spawn-point");
-
-                if (schematicFileName == null || schematicFileName.isEmpty()) {
-                    plugin.getLogger().warning("Arena theme '" + themeId + "' is missing 'schematic-file'. Skipping.");
-                    continue;
-                }
+            if (currentThemeSection == null) continue;
+            String schematicFileName = currentThemeSection.getString("schematic-file");
+            if (schematicFileName == null || schematicFileName.isEmpty()) {
+                plugin.getLogger().warning("Arena theme '" + themeId + "' is missing 'schematic-file'. Skipping.");
+                continue;
+            }
+            definitions.add(new ThemeDefinition(themeId, currentThemeSection, schematicFileName));
+        }
+        if (definitions.isEmpty()) {
+            return CompletableFuture.completedFuture(new PreparedThemes(Collections.emptyList()));
+        }
 
-                File schematicFile = new File(faweSchematicsDir, schematicFileName);
-                if (!schematicFile.exists()) {
-                    schematicFile = new File(plugin.getDataFolder(), "schematics" + File.separator + schematicFileName);
-                }
+        int threads = Math.min(definitions.size(), schematicLoaderThreads);
+        ExecutorService decoder = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "BossEventManager-SchematicLoader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<CompletableFuture<PreparedTheme>> futures = new ArrayList<>(definitions.size());
+        for (ThemeDefinition definition : definitions) {
+            futures.add(CompletableFuture.supplyAsync(() -> prepareTheme(definition, generation), decoder));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .handle((ignored, error) -> {
+                    decoder.shutdown();
+                    List<PreparedTheme> prepared = new ArrayList<>(futures.size());
+                    for (CompletableFuture<PreparedTheme> future : futures) {
+                        try {
+                            PreparedTheme theme = future.getNow(null); // Already complete, null if the theme was skipped
+                            if (theme != null) prepared.add(theme);
+                        } catch (CompletionException e) {
+                            plugin.getLogger().log(Level.SEVERE, "Failed to prepare an arena theme.", e.getCause());
+                        }
+                    }
+                    if (schematicIndex != null) schematicIndex.save();
+                    return new PreparedThemes(prepared);
+                });
+    }
 
-                if (!schematicFile.exists()) {
-                    plugin.getLogger().severe("Schematic file '" + schematicFileName + "' for theme '" + themeId + "' not found. Skipping theme.");
-                    continue;
-                }
+    private PreparedTheme prepareTheme(ThemeDefinition definition, int generation) {
+        String themeId = definition.themeId;
+        String schematicFileName = definition.schematicFileName;
+        File schematicFile = resolveSchematicFile(schematicFileName);
+        if (!schematicFile.exists()) {
+            plugin.getLogger().severe("Schematic file '" + schematicFileName + "' for theme '" + themeId + "' not found. Skipping theme.");
+            return null;
+        }
 
-                Clipboard clipboard = loadSchematicFromFile(schematicFile);
-                if (clipboard == null) {
-                    plugin.getLogger().severe("Failed to load schematic '" + schematicFileName + "' for theme '" + themeId + "' to get dimensions. Skipping theme.");
-                    continue;
-                }
+        // Unchanged schematics are not decoded, their clipboard is read on first use
+        SchematicIndex.Entry indexed = schematicIndex != null ? schematicIndex.lookup(schematicFile) : null;
+        Clipboard clipboard = null;
+        BlockVector3 dimensions;
+        BlockVector3 originOffset;
+        String schematicHash;
+        if (indexed != null) {
+            dimensions = indexed.getDimensions();
+            originOffset = indexed.getOriginOffset();
+            schematicHash = indexed.getHash();
+        } else {
+            clipboard = loadSchematicFromFile(schematicFile);
+            if (clipboard == null) {
+                plugin.getLogger().severe("Failed to load schematic '" + schematicFileName + "' for theme '" + themeId + "' to get dimensions. Skipping theme.");
+                return null;
+            }
+            dimensions = clipboard.getDimensions();
+            originOffset = clipboard.getRegion().getMinimumPoint().subtract(clipboard.getOrigin());
+            SchematicIndex.Entry recorded = schematicIndex != null ? schematicIndex.record(schematicFile, dimensions, originOffset) : null;
+            schematicHash = recorded != null ? recorded.getHash() : null;
+        }
 
-                BlockVector3 dimensions = clipboard.getDimensions();
-                BlockVector3 originOffset = clipboard.getRegion().getMinimumPoint().subtract(clipboard.getOrigin());
+        ConfigurationSection section = definition.section;
+        ArenaTheme theme = new ArenaTheme(themeId, section.getString("display-name", "Unnamed Theme"), schematicFileName,
+                section.getStringList("player-spawn-points"), section.getString("boss-spawn-point"), dimensions, originOffset, generation);
+        return new PreparedTheme(theme, clipboard, schematicHash,
+                section.getInt("warm-pool.min-size", warmPoolMinSize), section.getInt("warm-pool.max-size", warmPoolMaxSize));
+    }
+
+    /**
+     * Publishes prepared themes with a single map swap and rebuilds the warm pools. Must run on the main thread.
+     * Running arenas keep the ArenaTheme (and cached schematic) they were created with.
+     */
+    public void applyThemes(PreparedThemes prepared) {
+        Map<String, ArenaTheme> previousThemes = arenaThemes;
+        closeAllPools();
+        Map<String, ArenaTheme> loaded = new LinkedHashMap<>();
+        for (PreparedTheme preparedTheme : prepared.themes) {
+            ArenaTheme theme = preparedTheme.theme;
+            String themeKey = theme.getId().toLowerCase();
+            loaded.put(themeKey, theme);
+            if (preparedTheme.schematicHash != null) schematicHashes.put(theme.getCacheKey(), preparedTheme.schematicHash);
+            if (preparedTheme.clipboard != null) {
+                if (!schematicCache.put(theme.getCacheKey(), preparedTheme.clipboard) && schematicCache.getMaxBytes() > 0) {
+                    plugin.getLogger().warning("Schematic '" + theme.getSchematicFile() + "' for theme '" + theme.getId() + "' is too large for the schematic cache budget. It will be read from disk on every request.");
+                }
+            } else {
+                // Served from the index: keep the already decoded clipboard if the file is the same one
+                ArenaTheme previous = previousThemes.get(themeKey);
+                if (previous != null && preparedTheme.schematicHash != null && preparedTheme.schematicHash.equals(schematicHashes.get(previous.getCacheKey()))) {
+                    schematicCache.copy(previous.getCacheKey(), theme.getCacheKey());
+                }
+            }
+            if (warmPoolEnabled) {
+                if (preparedTheme.poolMaxSize > 0) {
+                    arenaPools.put(themeKey, new ArenaPool(theme, preparedTheme.poolMinSize, preparedTheme.poolMaxSize, warmPoolDemandWindowSeconds, warmPoolRefillLeadSeconds));
+                }
+            } else if (differentialReset) {
+                // Without the warm pool, the pool only parks reset arenas for reuse and never pastes ahead of demand.
+                if (preparedTheme.poolMaxSize > 0) {
+                    arenaPools.put(themeKey, new ArenaPool(theme, 0, preparedTheme.poolMaxSize, warmPoolDemandWindowSeconds, 0));
+                }
+            }
+        }
+        arenaThemes = Collections.unmodifiableMap(loaded);
+        themesLoaded = true;
 
-                ArenaTheme theme = new ArenaTheme(themeId, displayName, schematicFileName, playerSpawns, bossSpawn, dimensions, originOffset);
-                arenaThemes.put(themeId.toLowerCase(), theme);
+        // Drop replaced schematics right away unless a running arena may still restore from them
+        Set<ArenaTheme> themesInUse = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ArenaInstance instance : arenaRegistry.getAll()) themesInUse.add(instance.getArenaTheme());
+        for (ArenaTheme previous : previousThemes.values()) {
+            if (loaded.get(previous.getId().toLowerCase()) != previous && !themesInUse.contains(previous)) {
+                schematicCache.invalidate(previous.getCacheKey());
+                schematicHashes.remove(previous.getCacheKey());
             }
         }
-        plugin.getLogger().info("Finished loading " + arenaThemes.size() + " arena themes.");
+        plugin.getLogger().info("Finished loading " + loaded.size() + " arena themes.");
+    }
+
+    private File resolveSchematicFile(String schematicFileName) {
+        File schematicFile = new File(faweSchematicsDir, schematicFileName);
+        if (!schematicFile.exists()) {
+            schematicFile = new File(plugin.getDataFolder(), "schematics" + File.separator + schematicFileName);
+        }
+        return schematicFile;
+    }
+
+    /**
+     * Gets the decoded clipboard for a theme, reading it from disk only on a cache miss.
+     * May be called off the main thread.
+     */
+    private Clipboard getThemeClipboard(ArenaTheme theme) {
+        Clipboard clipboard = schematicCache.get(theme.getCacheKey());
+        if (clipboard != null) return clipboard;
+        clipboard = loadSchematicFromFile(resolveSchematicFile(theme.getSchematicFile()));
+        if (clipboard != null) schematicCache.put(theme.getCacheKey(), clipboard);
+        return clipboard;
+    }
+
+    public SchematicCache getSchematicCache() {
+        return schematicCache;
+    }
+
+    public Collection<ArenaPool> getArenaPools() {
+        return Collections.unmodifiableCollection(arenaPools.values());
+    }
+
+    public World getArenaWorld() {
+        return arenaWorld;
+    }
+
+    public boolean isDifferentialResetEnabled() {
+        return differentialReset;
+    }
+
+    /**
+     * Finds the preparing or running arena whose pasted schematic contains the given block.
+     * @return The arena instance, or null if the block is not inside an active arena.
+     */
+    public ArenaInstance getArenaInstanceAt(World world, int x, int y, int z) {
+        if (world == null || world != arenaWorld) return null;
+        ArenaInstance instance = plotAllocator.getInstanceAt(x, z);
+        if (instance == null || !instance.containsBlock(x, y, z)) return null;
+        ArenaInstance.ArenaState state = instance.getState();
+        return (state == ArenaInstance.ArenaState.IN_USE || state == ArenaInstance.ArenaState.PREPARING) ? instance : null;
+    }
+
+    public PlotAllocator getPlotAllocator() {
+        return plotAllocator;
     }
 
     public ArenaTheme getArenaTheme(String themeId) {
@@ -189,128 +473,396 @@ public class ArenaManager {
     }
 
     public List<ArenaInstance> getActiveArenaInstances() {
-        return new ArrayList<>(activeArenaInstances);
+        return new ArrayList<>(arenaRegistry.getAll());
     }
 
     public ArenaInstance getActiveArenaInstance(UUID instanceId) {
-        synchronized (activeArenaInstances) {
-            for (ArenaInstance instance : activeArenaInstances) {
-                if (instance.getInstanceId().equals(instanceId)) {
-                    return instance;
-                }
-            }
-        }
-        return null;
+        return arenaRegistry.getByInstanceId(instanceId);
     }
 
     public ArenaInstance getActiveArenaInstanceByBossUUID(UUID bossBukkitUUID) {
-        if (bossBukkitUUID == null) return null;
-        synchronized (activeArenaInstances) {
-            for (ArenaInstance instance : activeArenaInstances) {
-                if (instance.getState() == ArenaInstance.ArenaState.IN_USE && bossBukkitUUID.equals(instance.getBossEntityUUID())) {
-                    return instance;
-                }
-            }
-        }
-        return null;
+        ArenaInstance instance = arenaRegistry.getByBossEntity(bossBukkitUUID);
+        return (instance != null && instance.getState() == ArenaInstance.ArenaState.IN_USE) ? instance : null;
+    }
+
+    /**
+     * Gets the running arena a MythicMob was spawned in, whether it is a boss phase or a summoned add.
+     * @return The IN_USE arena instance tracking the entity, or null.
+     */
+    public ArenaInstance getActiveArenaInstanceByMob(UUID entityUUID) {
+        ArenaInstance instance = arenaRegistry.getByTrackedMob(entityUUID);
+        if (instance == null) instance = arenaRegistry.getByBossEntity(entityUUID);
+        return (instance != null && instance.getState() == ArenaInstance.ArenaState.IN_USE) ? instance : null;
+    }
+
+    /**
+     * Gets the running arena a player is fighting in.
+     * @return The IN_USE arena instance whose party contains the player, or null.
+     */
+    public ArenaInstance getActiveArenaInstanceByPlayer(UUID playerUUID) {
+        ArenaInstance instance = arenaRegistry.getByPartyMember(playerUUID);
+        return (instance != null && instance.getState() == ArenaInstance.ArenaState.IN_USE) ? instance : null;
     }
 
     private PlotInfo findAndReservePlot() {
+        return findAndReservePlot(true);
+    }
+
+    /**
+     * @param warnIfFull Whether to log a warning when the concurrent arena limit is reached.
+     *                   Background pool refills pass false, a full server is expected there.
+     */
+    private PlotInfo findAndReservePlot(boolean warnIfFull) {
         if (arenaWorld == null) {
             plugin.getLogger().severe("Arena world is not loaded, cannot find or reserve a plot.");
             return null;
         }
-        synchronized (usedPlotIds) {
-            if (maxConcurrentArenas > 0 && usedPlotIds.size() >= maxConcurrentArenas) {
-                plugin.getLogger().warning("Maximum number of concurrent arenas (" + maxConcurrentArenas + ") reached. No plot available.");
-                return null;
-            }
-
-            int searchLimit = (maxConcurrentArenas > 0) ? (maxConcurrentArenas + plotsPerRow + 5) : 1000;
-            for (int currentPlotId = 0; currentPlotId < searchLimit; currentPlotId++) {
-                if (!usedPlotIds.contains(currentPlotId)) {
-                    usedPlotIds.add(currentPlotId);
-
-                    int plotXIndex = currentPlotId % plotsPerRow;
-                    int plotZIndex = currentPlotId / plotsPerRow;
-
-                    double plotX = startX + (plotXIndex * plotSeparationX);
-                    double plotZ = startZ + (plotZIndex * plotSeparationZ);
-                    Location plotOrigin = new Location(arenaWorld, plotX, startY, plotZ);
-
-                    // plugin.getLogger().info("Reserved plot ID: " + currentPlotId + " at location: " + plotOrigin); // Commented out
-                    return new PlotInfo(currentPlotId, plotOrigin);
-                }
+        int plotId = plotAllocator.reserve();
+        if (plotId < 0) {
+            if (warnIfFull) {
+                if (maxConcurrentArenas > 0) plugin.getLogger().warning("Maximum number of concurrent arenas (" + maxConcurrentArenas + ") reached. No plot available.");
+                else plugin.getLogger().severe("Could not find an available plot ID, all " + plotAllocator.getCapacity() + " plots are in use.");
             }
+            return null;
         }
-        plugin.getLogger().severe("Could not find an available plot ID after searching up to " + ((maxConcurrentArenas > 0) ? (maxConcurrentArenas + plotsPerRow + 5) : 1000) + " plots.");
-        return null;
+        Location plotOrigin = new Location(arenaWorld, plotAllocator.getPlotOriginX(plotId), startY, plotAllocator.getPlotOriginZ(plotId));
+        // plugin.getLogger().info("Reserved plot ID: " + plotId + " at location: " + plotOrigin); // Commented out
+        return new PlotInfo(plotId, plotOrigin);
     }
 
     private void releasePlot(int plotId) {
         if (plotId >= 0) {
-            synchronized (usedPlotIds) {
-                boolean removed = usedPlotIds.remove(plotId);
-                if (removed) {
-                    // plugin.getLogger().info("Released plot ID: " + plotId + ". It is now available."); // Commented out
-                } else {
-                    plugin.getLogger().warning("Attempted to release plot ID: " + plotId + ", but it was not in the used set.");
-                }
+            if (!plotAllocator.release(plotId)) {
+                plugin.getLogger().warning("Attempted to release plot ID: " + plotId + ", but it was not reserved.");
             }
+            scheduleQueueDrain();
         } else {
             plugin.getLogger().warning("Attempted to release an invalid plot ID: " + plotId);
         }
     }
 
+    /**
+     * Requests an arena without queueing. Fails with null if no plot is free.
+     */
     public CompletableFuture<ArenaInstance> requestArena(String themeId) {
         CompletableFuture<ArenaInstance> future = new CompletableFuture<>();
-        ArenaTheme theme = getArenaTheme(themeId);
+        ArenaTheme theme = validateThemeForRequest(themeId);
+        if (theme == null) { future.complete(null); return future; }
+
+        ArenaPool pool = arenaPools.get(theme.getId().toLowerCase());
+        if (pool != null) pool.recordRequest();
+        if (!tryServe(theme, future, true, false)) future.complete(null);
+        return future;
+    }
+
+    /**
+     * Requests an arena, waiting in the admission queue if every plot is in use.
+     * If the queue is full, times out or the request is cancelled, the future fails with an
+     * {@link ArenaRequestQueue.QueueException}. Must be called on the main thread.
+     * @param priority Only used in priority mode, higher is served first.
+     * @param listener Receives the queue position and ETA while the request waits. May be null.
+     */
+    public CompletableFuture<ArenaInstance> requestArena(String themeId, UUID requesterUUID, int priority, ArenaRequestQueue.Listener listener) {
+        CompletableFuture<ArenaInstance> future = new CompletableFuture<>();
+        ArenaTheme theme = validateThemeForRequest(themeId);
+        if (theme == null) { future.complete(null); return future; }
+
+        ArenaPool pool = arenaPools.get(theme.getId().toLowerCase());
+        if (pool != null) pool.recordRequest();
+        // Requests only bypass the queue when nobody is waiting, so earlier requests are never overtaken
+        if (requestQueue.isEmpty() && tryServe(theme, future, !requestQueue.isEnabled(), requestQueue.isEnabled())) return future;
+        if (!requestQueue.isEnabled()) { future.complete(null); return future; }
+
+        ArenaRequestQueue.QueuedRequest request = new ArenaRequestQueue.QueuedRequest(theme.getId(), requesterUUID, priority, future, listener);
+        int position = requestQueue.offer(request);
+        if (position < 0) {
+            future.completeExceptionally(new ArenaRequestQueue.QueueException(ArenaRequestQueue.FailureReason.FULL));
+            return future;
+        }
+        if (requestQueue.getTimeoutMillis() > 0) {
+            // Owned by the request, so serving or cancelling it drops the timer
+            scheduler.schedule(request, Math.max(1L, requestQueue.getTimeoutMillis() / 50L), () -> {
+                if (requestQueue.remove(request)) request.getFuture().completeExceptionally(new ArenaRequestQueue.QueueException(ArenaRequestQueue.FailureReason.TIMED_OUT));
+            });
+        }
+        request.getListener().onQueued(position, estimateWaitMillis(position));
+        return future;
+    }
+
+    /**
+     * Speculatively reserves an arena while the caller's own checks are still running. Never queues and never
+     * overtakes waiting requests. The arena must be started or handed back with {@link #releaseReservation(ArenaInstance)}.
+     * Must be called on the main thread.
+     * @return A future holding a PREPARING arena, or null if none can be had right now or speculation is disabled.
+     */
+    public CompletableFuture<ArenaInstance> reserveArena(String themeId) {
+        CompletableFuture<ArenaInstance> future = new CompletableFuture<>();
+        if (!speculativeReserve || !requestQueue.isEmpty()) { future.complete(null); return future; }
+        ArenaTheme theme = validateThemeForRequest(themeId);
+        if (theme == null) { future.complete(null); return future; }
+        if (!tryServe(theme, future, false, false)) future.complete(null);
+        return future;
+    }
+
+    /**
+     * Hands back an unused arena from {@link #reserveArena(String)}. Nothing was built in it, so it goes straight
+     * back to its theme's warm pool if there is room; otherwise its plot is cleared and released.
+     * Must be called on the main thread.
+     */
+    public void releaseReservation(ArenaInstance instance) {
+        if (!instance.transition(ArenaInstance.ArenaState.PREPARING, ArenaInstance.ArenaState.CLEANING_UP)) {
+            rejectTransition(instance, ArenaInstance.ArenaState.CLEANING_UP);
+            return;
+        }
+        final int plotIdToRelease = instance.getPlotId();
+        ArenaTheme theme = instance.getArenaTheme();
+        ArenaPool pool = theme != null ? arenaPools.get(theme.getId().toLowerCase()) : null;
+        if (pool != null && !pool.isClosed() && pool.getTheme() == theme && pool.getIdleCount() < pool.getMaxSize() && finishCleanup(instance)) {
+            deactivateArena(instance);
+            ArenaInstance returned = new ArenaInstance(theme, instance.getPlotOrigin(), plotIdToRelease, lifecycleMetrics);
+            returned.setDifferentialResets(instance.getDifferentialResets());
+            if (pool.offer(returned)) scheduleQueueDrain();
+            else discardArena(returned);
+            return;
+        }
+        cleanupArena(instance).thenAccept(success -> runOnMainThread(() -> {
+            if (success) releasePlot(plotIdToRelease);
+            else plugin.getLogger().severe("Failed to clear unused reserved arena " + instance.getInstanceId() + " (Plot ID: " + plotIdToRelease + "). Plot may remain marked as used.");
+            deactivateArena(instance);
+        }));
+    }
 
-        if (theme == null) { plugin.getLogger().severe("Cannot request arena: Theme '" + themeId + "' not found."); future.complete(null); return future; }
-        if (faweApi == null) { plugin.getLogger().severe("FAWE API not available. Cannot create arena."); future.complete(null); return future; }
-        if (arenaWorld == null) { plugin.getLogger().severe("Arena world '" + arenaWorldName + "' is not loaded."); future.complete(null); return future; }
+    public StartPipelineMetrics getStartMetrics() {
+        return startMetrics;
+    }
+
+    private ArenaTheme validateThemeForRequest(String themeId) {
+        ArenaTheme theme = getArenaTheme(themeId);
+        if (theme == null && !themesLoaded) { plugin.getLogger().warning("Cannot request arena: Arena themes are still loading."); return null; }
+        if (theme == null) { plugin.getLogger().severe("Cannot request arena: Theme '" + themeId + "' not found."); return null; }
+        if (faweApi == null) { plugin.getLogger().severe("FAWE API not available. Cannot create arena."); return null; }
+        if (arenaWorld == null) { plugin.getLogger().severe("Arena world '" + arenaWorldName + "' is not loaded."); return null; }
         if (theme.getSchematicDimensions() == null || theme.getSchematicOriginOffset() == null) {
             plugin.getLogger().severe("Arena theme '" + themeId + "' is missing pre-loaded schematic dimension/offset data!");
-            future.complete(null);
-            return future;
+            return null;
+        }
+        return theme;
+    }
+
+    /**
+     * Serves a request from the theme's pool, a free plot, or a plot reclaimed from another theme's pool.
+     * @param canWait Whether the request waits in the queue when this returns false. Such a request is only given a
+     *                plot once one is actually reserved for it; a reclaim merely frees one and the drain that follows serves it.
+     * @return true if the future was completed or will be completed, false if there is no capacity right now.
+     */
+    private boolean tryServe(ArenaTheme theme, CompletableFuture<ArenaInstance> future, boolean warnIfFull, boolean canWait) {
+        ArenaPool pool = arenaPools.get(theme.getId().toLowerCase());
+        if (pool != null) {
+            ArenaInstance pooledInstance = pool.poll();
+            if (pooledInstance != null) {
+                activateArena(pooledInstance);
+                future.complete(pooledInstance);
+                refillPool(pool);
+                return true;
+            }
         }
 
-        PlotInfo reservedPlot = findAndReservePlot();
+        PlotInfo reservedPlot = findAndReservePlot(warnIfFull);
         if (reservedPlot == null) {
-            future.complete(null);
-            return future;
+            // All plots are taken, but idle pooled arenas of other themes can be given up to serve a real request.
+            if (canWait) {
+                // One reclaim at a time: the head keeps its place until the freed plot is reserved by a later drain
+                if (reclaimsInFlight > 0) return false;
+                ArenaPool donorPool = findPoolToReclaimFrom(pool);
+                if (donorPool == null) return false;
+                reclaimsInFlight++;
+                reclaimPooledArena(donorPool).whenComplete((released, error) -> runOnMainThread(() -> reclaimsInFlight--));
+                return false;
+            }
+            ArenaPool donorPool = findPoolToReclaimFrom(pool);
+            if (donorPool == null) return false;
+            reclaimPooledArena(donorPool).thenAccept(released -> runOnMainThread(() -> {
+                PlotInfo retriedPlot = released ? findAndReservePlot() : null;
+                if (retriedPlot == null) {
+                    future.complete(null);
+                    return;
+                }
+                pasteArenaOnPlot(theme, retriedPlot).thenAccept(instance -> runOnMainThread(() -> {
+                    if (instance != null) activateArena(instance);
+                    future.complete(instance);
+                }));
+            }));
+            return true;
         }
-        final int plotId = reservedPlot.getPlotId();
-        final Location plotOrigin = reservedPlot.getPlotOrigin();
 
-        File schematicFile = new File(faweSchematicsDir, theme.getSchematicFile());
-        if (!schematicFile.exists()) {
-            schematicFile = new File(plugin.getDataFolder(), "schematics" + File.separator + theme.getSchematicFile());
+        pasteArenaOnPlot(theme, reservedPlot).thenAccept(instance -> runOnMainThread(() -> {
+            if (instance != null) activateArena(instance);
+            future.complete(instance);
+        }));
+        if (pool != null) refillPool(pool);
+        return true;
+    }
+
+    // --- Admission queue ---
+
+    /**
+     * Serves waiting requests in queue order until one cannot be served. Must run on the main thread.
+     */
+    private void drainQueue() {
+        ArenaRequestQueue.QueuedRequest head;
+        while ((head = requestQueue.peek()) != null) {
+            if (head.getFuture().isDone()) { dequeue(head); continue; }
+            ArenaTheme theme = getArenaTheme(head.getThemeId()); // Themes may have been reloaded while waiting
+            if (theme == null) {
+                dequeue(head);
+                head.getFuture().complete(null);
+                continue;
+            }
+            if (!tryServe(theme, head.getFuture(), false, true)) break; // Head-of-line waits, nobody overtakes it
+            dequeue(head);
         }
+    }
 
-        if (!schematicFile.exists()) {
-            plugin.getLogger().severe("Schematic file not found during request: " + theme.getSchematicFile());
-            releasePlot(plotId);
-            future.complete(null);
-            return future;
+    /**
+     * Removes a request from the queue together with its timeout timer.
+     */
+    private boolean dequeue(ArenaRequestQueue.QueuedRequest request) {
+        scheduler.cancelAll(request);
+        return requestQueue.remove(request);
+    }
+
+    private void scheduleQueueDrain() {
+        if (!requestQueue.isEmpty()) Bukkit.getScheduler().runTask(plugin, this::drainQueue);
+    }
+
+    /**
+     * Periodic task: drops requests of players who left and reports positions. Timeouts have their own timers.
+     */
+    private void updateQueue() {
+        if (requestQueue.isEmpty()) return;
+        drainQueue();
+        int position = 0;
+        for (ArenaRequestQueue.QueuedRequest request : requestQueue.snapshot()) {
+            if (Bukkit.getPlayer(request.getRequesterUUID()) == null) {
+                dequeue(request);
+                request.getFuture().completeExceptionally(new ArenaRequestQueue.QueueException(ArenaRequestQueue.FailureReason.CANCELLED));
+                continue;
+            }
+            position++;
+            request.getListener().onPositionUpdate(position, estimateWaitMillis(position));
+        }
+    }
+
+    /**
+     * Removes a player's waiting request. Its future fails with CANCELLED.
+     * @return true if the player had a waiting request.
+     */
+    public boolean cancelQueuedRequest(UUID requesterUUID) {
+        ArenaRequestQueue.QueuedRequest removed = requestQueue.removeByRequester(requesterUUID);
+        if (removed == null) return false;
+        scheduler.cancelAll(removed);
+        removed.getFuture().completeExceptionally(new ArenaRequestQueue.QueueException(ArenaRequestQueue.FailureReason.CANCELLED));
+        return true;
+    }
+
+    /**
+     * Estimates how long the request at a queue position will wait, from observed fight, cleanup and paste durations.
+     * Each running arena frees its plot after its expected remaining fight and cleanup time. Positions beyond the
+     * number of running arenas wait for further full cycles.
+     */
+    public long estimateWaitMillis(int position) {
+        long fightMillis = lifecycleMetrics.getMeanMillisInState(ArenaInstance.ArenaState.IN_USE, queueDefaultFightMillis);
+        long cleanupMillis = lifecycleMetrics.getMeanMillisInState(ArenaInstance.ArenaState.CLEANING_UP, 0);
+        long startMillis = lifecycleMetrics.getMeanMillisInState(ArenaInstance.ArenaState.PREPARING, 0);
+        long pasteMillis = lifecycleMetrics.getMeanPasteMillis(0);
+
+        List<Long> remaining = new ArrayList<>();
+        for (ArenaInstance instance : arenaRegistry.getAll()) {
+            long inState = instance.getMillisInState();
+            switch (instance.getState()) {
+                case PREPARING: remaining.add(Math.max(0, startMillis - inState) + fightMillis + cleanupMillis); break;
+                case IN_USE: remaining.add(Math.max(0, fightMillis - inState) + cleanupMillis); break;
+                case CLEANING_UP: remaining.add(Math.max(0, cleanupMillis - inState)); break;
+                default: break;
+            }
+        }
+        if (remaining.isEmpty()) return pasteMillis;
+        Collections.sort(remaining);
+        int index = (position - 1) % remaining.size();
+        int fullCycles = (position - 1) / remaining.size();
+        return remaining.get(index) + fullCycles * (pasteMillis + startMillis + fightMillis + cleanupMillis) + pasteMillis;
+    }
+
+    public ArenaRequestQueue getRequestQueue() {
+        return requestQueue;
+    }
+
+    /**
+     * Moves a freshly pasted (or pooled) arena into the PREPARING state and tracks it as active.
+     */
+    private void activateArena(ArenaInstance instance) {
+        if (differentialReset) {
+            instance.setBlockChangeTracker(new BlockChangeTracker(differentialResetMaxTrackedBlocks));
+        }
+        if (!instance.transition(ArenaInstance.ArenaState.AVAILABLE, ArenaInstance.ArenaState.PREPARING)) {
+            rejectTransition(instance, ArenaInstance.ArenaState.PREPARING);
+        }
+        arenaRegistry.register(instance);
+        plotAllocator.bind(instance.getPlotId(), instance);
+        preloadPlotChunks(instance);
+    }
+
+    /**
+     * Stops tracking an arena as active. Its plot stays reserved until released. Main thread only, since it cancels the arena's timers.
+     */
+    private void deactivateArena(ArenaInstance instance) {
+        scheduler.cancelAll(instance.getInstanceId());
+        arenaRegistry.unregister(instance);
+        plotAllocator.unbind(instance.getPlotId(), instance);
+        chunkTickets.release(instance.getInstanceId());
+    }
+
+    /**
+     * Starts loading an arena's plot chunks and keeps them ticketed until its cleanup finishes.
+     * @return A future completing once every chunk is loaded. Already complete if preloading is disabled.
+     */
+    private CompletableFuture<Void> preloadPlotChunks(ArenaInstance instance) {
+        ArenaTheme theme = instance.getArenaTheme();
+        if (!chunkPreloadEnabled || arenaWorld == null || instance.getPlotOrigin() == null || theme == null
+                || theme.getSchematicDimensions() == null || theme.getSchematicOriginOffset() == null) {
+            return CompletableFuture.completedFuture(null);
         }
-        final File finalSchematicFile = schematicFile;
+        BlockVector3 minPoint = BukkitAdapter.asBlockVector(instance.getPlotOrigin()).add(theme.getSchematicOriginOffset());
+        BlockVector3 maxPoint = minPoint.add(theme.getSchematicDimensions()).subtract(BlockVector3.ONE);
+        return chunkTickets.acquire(instance.getInstanceId(), arenaWorld, minPoint.getBlockX(), minPoint.getBlockZ(), maxPoint.getBlockX(), maxPoint.getBlockZ());
+    }
+
+    public PlotChunkTickets getChunkTickets() {
+        return chunkTickets;
+    }
 
+    /**
+     * Pastes a theme's schematic on an already reserved plot, asynchronously.
+     * The plot is released again if the paste cannot be done.
+     * @return A future holding the new arena instance in the AVAILABLE state, or null on failure.
+     */
+    private CompletableFuture<ArenaInstance> pasteArenaOnPlot(ArenaTheme theme, PlotInfo plot) {
+        CompletableFuture<ArenaInstance> future = new CompletableFuture<>();
+        final int plotId = plot.getPlotId();
+        final Location plotOrigin = plot.getPlotOrigin();
         new BukkitRunnable() {
             @Override
             public void run() {
-                Clipboard clipboard = loadSchematicFromFile(finalSchematicFile);
+                Clipboard clipboard = getThemeClipboard(theme);
                 if (clipboard == null) {
                     releasePlot(plotId);
                     future.complete(null);
                     return;
                 }
+                long pasteStart = System.nanoTime();
                 pasteSchematicToLocation(clipboard, plotOrigin, true);
-                ArenaInstance instance = new ArenaInstance(theme, plotOrigin, plotId);
-                instance.setState(ArenaInstance.ArenaState.PREPARING);
-                synchronized (activeArenaInstances) {
-                    activeArenaInstances.add(instance);
-                }
+                lifecycleMetrics.recordPaste(theme, (System.nanoTime() - pasteStart) / 1_000_000L);
+                ArenaInstance instance = new ArenaInstance(theme, plotOrigin, plotId, lifecycleMetrics);
                 // plugin.getLogger().info("Arena instance " + instance.getInstanceId() + " (Plot ID: " + plotId + ") created at " + plotOrigin + " with theme " + theme.getDisplayName()); // Commented out
                 future.complete(instance);
             }
@@ -318,11 +870,180 @@ public class ArenaManager {
         return future;
     }
 
-    public void startEvent(ArenaInstance instance, List<Player> partyPlayers, BossDefinition bossDef) {
-        if (instance == null || instance.getState() != ArenaInstance.ArenaState.PREPARING) { plugin.getLogger().warning("Attempted to start event in an invalid arena instance."); return; }
-        if (mythicMobsApi == null) { plugin.getLogger().severe("MythicMobs API not available."); instance.setState(ArenaInstance.ArenaState.CLEANING_UP); endEvent(instance); return; }
-        if (partyPlayers == null || partyPlayers.isEmpty()) { plugin.getLogger().warning("Attempted to start event with no players."); instance.setState(ArenaInstance.ArenaState.CLEANING_UP); endEvent(instance); return; }
+    // --- Warm Pool ---
+
+    /**
+     * Pastes arenas in the background until the pool reaches its demand-based target size,
+     * or no more plots are free.
+     */
+    private void refillPool(ArenaPool pool) {
+        if (!requestQueue.isEmpty()) return; // Free plots go to waiting requests first
+        int deficit = pool.getDeficit();
+        for (int i = 0; i < deficit; i++) {
+            PlotInfo plot = findAndReservePlot(false);
+            if (plot == null) return;
+            pool.refillStarted();
+            // The paste completes on a FAWE worker; the cleanup scheduler behind discardArena is main-thread only
+            pasteArenaOnPlot(pool.getTheme(), plot).thenAccept(instance -> runOnMainThread(() -> {
+                pool.refillFinished();
+                if (instance != null && !pool.offer(instance)) {
+                    discardArena(instance); // Pool was closed or shrunk while pasting
+                }
+            }));
+        }
+    }
+
+    /**
+     * Periodic task: tops up every pool and trims pools whose demand has dropped.
+     */
+    private void maintainPools() {
+        for (ArenaPool pool : arenaPools.values()) {
+            int excess = pool.getIdleCount() - pool.getTargetSize();
+            for (int i = 0; i < excess; i++) {
+                ArenaInstance idle = pool.poll();
+                if (idle == null) break;
+                discardArena(idle);
+            }
+            refillPool(pool);
+        }
+    }
+
+    private ArenaPool findPoolToReclaimFrom(ArenaPool requestingPool) {
+        ArenaPool best = null;
+        for (ArenaPool pool : arenaPools.values()) {
+            if (pool == requestingPool || pool.getIdleCount() == 0) continue;
+            if (best == null || pool.getIdleCount() > best.getIdleCount()) best = pool;
+        }
+        return best;
+    }
 
+    /**
+     * Clears one idle arena out of a pool so its plot can be used for another theme.
+     * @return A future completing with true once the plot has been released.
+     */
+    private CompletableFuture<Boolean> reclaimPooledArena(ArenaPool pool) {
+        ArenaInstance idle = pool.poll();
+        if (idle == null) return CompletableFuture.completedFuture(false);
+        return discardArena(idle);
+    }
+
+    /**
+     * Clears an arena that never hosted a fight (a pooled arena) and releases its plot.
+     */
+    private CompletableFuture<Boolean> discardArena(ArenaInstance instance) {
+        final int plotIdToRelease = instance.getPlotId();
+        return cleanupArena(instance).thenApply(success -> {
+            if (success) {
+                releasePlot(plotIdToRelease);
+            } else {
+                plugin.getLogger().severe("Failed to clear pooled arena " + instance.getInstanceId() + " (Plot ID: " + plotIdToRelease + "). Plot may remain marked as used.");
+            }
+            return success;
+        });
+    }
+
+    private void closeAllPools() {
+        for (ArenaPool pool : arenaPools.values()) {
+            for (ArenaInstance idle : pool.close()) {
+                discardArena(idle);
+            }
+        }
+        arenaPools.clear();
+    }
+
+    /**
+     * Starts a fight in a PREPARING arena once its plot chunks are loaded. Players are teleported and the boss
+     * is spawned only after the load, so nobody lands in or spawns into an unloaded chunk.
+     * @return A future completing on the main thread with true if the arena reached IN_USE.
+     */
+    public CompletableFuture<Boolean> startEvent(ArenaInstance instance, List<Player> partyPlayers, BossDefinition bossDef) {
+        if (instance == null || instance.getState() != ArenaInstance.ArenaState.PREPARING) { plugin.getLogger().warning("Attempted to start event in an invalid arena instance."); return CompletableFuture.completedFuture(false); }
+        if (mythicMobsApi == null) { plugin.getLogger().severe("MythicMobs API not available."); endEvent(instance); return CompletableFuture.completedFuture(false); }
+        if (partyPlayers == null || partyPlayers.isEmpty()) { plugin.getLogger().warning("Attempted to start event with no players."); endEvent(instance); return CompletableFuture.completedFuture(false); }
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        long loadStartedAt = System.currentTimeMillis();
+        CompletableFuture<Void> preload = preloadPlotChunks(instance);
+        ArenaScheduler.Timer preloadTimeout = scheduler.schedule(instance.getInstanceId(), chunkPreloadTimeoutSeconds * 20L,
+                () -> preload.completeExceptionally(new TimeoutException("Plot chunks not loaded after " + chunkPreloadTimeoutSeconds + "s")));
+        preload.whenComplete((ignored, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            preloadTimeout.cancel();
+            startMetrics.record(StartPipelineMetrics.Stage.CHUNK_LOAD, System.currentTimeMillis() - loadStartedAt);
+            if (error != null) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to load chunks for arena " + instance.getInstanceId() + " (Plot ID: " + instance.getPlotId() + ").", error);
+                partyPlayers.forEach(p -> p.sendMessage(ChatColor.RED + "Error: The arena could not be loaded."));
+                endEvent(instance);
+                result.complete(false);
+                return;
+            }
+            if (instance.getState() != ArenaInstance.ArenaState.PREPARING) { result.complete(false); return; } // Ended while loading
+            List<Player> onlinePlayers = new ArrayList<>();
+            for (Player player : partyPlayers) if (player != null && player.isOnline()) onlinePlayers.add(player);
+            if (onlinePlayers.isEmpty()) { plugin.getLogger().warning("All players left before arena " + instance.getInstanceId() + " finished loading."); endEvent(instance); result.complete(false); return; }
+            boolean started = beginFight(instance, onlinePlayers, bossDef);
+            if (started) scheduleFightTimers(instance);
+            result.complete(started);
+        }));
+        return result;
+    }
+
+    /**
+     * Starts the time limit and idle check of a fight that just reached IN_USE.
+     */
+    private void scheduleFightTimers(ArenaInstance instance) {
+        if (fightTimeLimitTicks > 0) {
+            scheduler.schedule(instance.getInstanceId(), fightTimeLimitTicks, () -> {
+                if (instance.getState() != ArenaInstance.ArenaState.IN_USE) return;
+                plugin.getLogger().info("Arena " + instance.getInstanceId() + " reached the fight time limit. Ending event.");
+                messageParty(instance, configManager.getMessage("fight-time-limit"));
+                endEvent(instance);
+            });
+        }
+        if (idleTimeoutMillis > 0) scheduleIdleCheck(instance, idleTimeoutMillis);
+    }
+
+    /**
+     * Checks once the arena could have been idle for the full timeout, and again later if there was activity since.
+     */
+    private void scheduleIdleCheck(ArenaInstance instance, long delayMillis) {
+        scheduler.schedule(instance.getInstanceId(), Math.max(1L, delayMillis / 50L), () -> {
+            if (instance.getState() != ArenaInstance.ArenaState.IN_USE) return;
+            long idleMillis = System.currentTimeMillis() - instance.getLastActivityTime();
+            if (idleMillis < idleTimeoutMillis) {
+                scheduleIdleCheck(instance, idleTimeoutMillis - idleMillis);
+                return;
+            }
+            plugin.getLogger().info("Arena " + instance.getInstanceId() + " was idle for " + (idleMillis / 1000) + "s. Ending event.");
+            messageParty(instance, configManager.getMessage("arena-idle-ended"));
+            endEvent(instance);
+        });
+    }
+
+    private void messageParty(ArenaInstance instance, String message) {
+        for (UUID memberUUID : instance.getPartyMemberUUIDs()) {
+            Player member = Bukkit.getPlayer(memberUUID);
+            if (member != null) member.sendMessage(message);
+        }
+    }
+
+    /**
+     * Ends a running event after a delay, e.g. to let players see the boss die. Does nothing if it ended meanwhile.
+     */
+    public void endEventLater(ArenaInstance instance, long delayTicks) {
+        scheduler.schedule(instance.getInstanceId(), delayTicks, () -> {
+            if (instance.getState() == ArenaInstance.ArenaState.IN_USE) endEvent(instance);
+        });
+    }
+
+    public boolean isIdleReapingEnabled() {
+        return idleTimeoutMillis > 0;
+    }
+
+    /**
+     * Teleports the party and spawns the boss in a loaded arena. Must be called on the main thread.
+     * @return true if the arena reached IN_USE.
+     */
+    private boolean beginFight(ArenaInstance instance, List<Player> partyPlayers, BossDefinition bossDef) {
         instance.storePartyOriginalLocations(partyPlayers);
         instance.setParty(partyPlayers);
         instance.setCurrentBoss(bossDef);
@@ -348,9 +1069,9 @@ public class ArenaManager {
             } else player.sendMessage(ChatColor.RED + "Could not determine your spawn point in the arena.");
         }
         Location bossSpawnLoc = instance.getBossSpawnLocation();
-        if (bossSpawnLoc == null) { plugin.getLogger().severe("Boss spawn location is null for arena " + instance.getInstanceId()); partyPlayers.forEach(p -> p.sendMessage(ChatColor.RED + "Error: Could not determine boss spawn location.")); endEvent(instance); return; }
+        if (bossSpawnLoc == null) { plugin.getLogger().severe("Boss spawn location is null for arena " + instance.getInstanceId()); partyPlayers.forEach(p -> p.sendMessage(ChatColor.RED + "Error: Could not determine boss spawn location.")); endEvent(instance); return false; }
         Optional<MythicMob> mythicMobOpt = mythicMobsApi.getMobManager().getMythicMob(bossDef.getMythicMobId());
-        if (!mythicMobOpt.isPresent()) { plugin.getLogger().severe("MythicMob '" + bossDef.getMythicMobId() + "' not found."); partyPlayers.forEach(p -> p.sendMessage(ChatColor.RED + "Error: Boss definition '" + bossDef.getDisplayName() + "' is misconfigured.")); endEvent(instance); return; }
+        if (!mythicMobOpt.isPresent()) { plugin.getLogger().severe("MythicMob '" + bossDef.getMythicMobId() + "' not found."); partyPlayers.forEach(p -> p.sendMessage(ChatColor.RED + "Error: Boss definition '" + bossDef.getDisplayName() + "' is misconfigured.")); endEvent(instance); return false; }
         MythicMob mythicMobToSpawn = mythicMobOpt.get();
         AbstractLocation abstractBossSpawnLoc = io.lumine.mythic.bukkit.BukkitAdapter.adapt(bossSpawnLoc);
         int partySize = partyPlayers.size(); Map<String, Double> scalingParams = bossDef.getPartySizeScaling();
@@ -364,21 +1085,36 @@ public class ArenaManager {
             ActiveMob spawnedActiveMob = mythicMobToSpawn.spawn(abstractBossSpawnLoc, finalBossLevel);
             if (spawnedActiveMob != null && spawnedActiveMob.getEntity() != null && spawnedActiveMob.getEntity().isLiving()) {
                 Entity spawnedBossEntity = spawnedActiveMob.getEntity().getBukkitEntity();
-                instance.setBossEntityUUID(spawnedBossEntity.getUniqueId()); instance.setState(ArenaInstance.ArenaState.IN_USE);
+                if (instance.getTrackedMob(spawnedBossEntity.getUniqueId()) == null) { instance.trackMob(spawnedBossEntity.getUniqueId(), bossDef.getMythicMobId(), true); } // Normally done by ArenaMobSpawnListener
+                instance.setBossEntityUUID(spawnedBossEntity.getUniqueId());
+                if (!instance.transition(ArenaInstance.ArenaState.PREPARING, ArenaInstance.ArenaState.IN_USE)) {
+                    // Ended while the boss was spawning
+                    rejectTransition(instance, ArenaInstance.ArenaState.IN_USE);
+                    despawnMob(spawnedBossEntity.getUniqueId());
+                    return false;
+                }
+                return true;
                 // plugin.getLogger().info("Successfully spawned boss " + bossDef.getMythicMobId() + " (Level " + finalBossLevel + ") in arena " + instance.getInstanceId()); // Commented out
-            } else { plugin.getLogger().severe("Failed to spawn boss " + bossDef.getMythicMobId()); partyPlayers.forEach(p -> p.sendMessage(ChatColor.RED + "Error: Failed to spawn the boss.")); endEvent(instance); }
-        } catch (Exception e) { plugin.getLogger().log(Level.SEVERE, "Exception while spawning MythicMob " + bossDef.getMythicMobId(), e); partyPlayers.forEach(p -> p.sendMessage(ChatColor.RED + "Critical Error spawning boss.")); endEvent(instance); }
+            } else { plugin.getLogger().severe("Failed to spawn boss " + bossDef.getMythicMobId()); partyPlayers.forEach(p -> p.sendMessage(ChatColor.RED + "Error: Failed to spawn the boss.")); endEvent(instance); return false; }
+        } catch (Exception e) { plugin.getLogger().log(Level.SEVERE, "Exception while spawning MythicMob " + bossDef.getMythicMobId(), e); partyPlayers.forEach(p -> p.sendMessage(ChatColor.RED + "Critical Error spawning boss.")); endEvent(instance); return false; }
         // if (instance.getState() == ArenaInstance.ArenaState.IN_USE) { plugin.getLogger().info("Event started in arena " + instance.getInstanceId()); } // Commented out
     }
 
     public void endEvent(ArenaInstance instance) {
-        if (instance == null || (instance.getState() != ArenaInstance.ArenaState.IN_USE && instance.getState() != ArenaInstance.ArenaState.PREPARING)) { plugin.getLogger().warning("Attempted to end event in an invalid arena instance."); return; }
-        boolean wasInUse = instance.getState() == ArenaInstance.ArenaState.IN_USE;
+        ArenaInstance.ArenaState previousState = instance != null ? instance.getState() : null;
+        if (previousState != ArenaInstance.ArenaState.IN_USE && previousState != ArenaInstance.ArenaState.PREPARING) { plugin.getLogger().warning("Attempted to end event in an invalid arena instance."); return; }
+        boolean wasInUse = previousState == ArenaInstance.ArenaState.IN_USE;
         Map<UUID, Location> originalLocations = instance.getOriginalPlayerLocations();
         String activeMusic = instance.getActiveMusicTrack();
         UUID bossUUID = instance.getBossEntityUUID();
+        List<TrackedMob> trackedMobs = instance.getTrackedMobs();
 
-        instance.setState(ArenaInstance.ArenaState.CLEANING_UP);
+        // Only one caller can win this transition, so an arena is never ended twice
+        if (!instance.transition(previousState, ArenaInstance.ArenaState.CLEANING_UP)) {
+            rejectTransition(instance, ArenaInstance.ArenaState.CLEANING_UP);
+            return;
+        }
+        scheduler.cancelAll(instance.getInstanceId()); // Time limit, idle check, pending delayed end
         // plugin.getLogger().info("Event ended in arena " + instance.getInstanceId() + " (Plot ID: " + instance.getPlotId() + "). Scheduling for cleanup."); // Commented out
 
         if (activeMusic != null && !activeMusic.isEmpty()) {
@@ -391,10 +1127,14 @@ public class ArenaManager {
                 }
             }
         }
-        if (wasInUse && bossUUID != null) {
-            Optional<ActiveMob> activeMobOpt = MythicBukkit.inst().getMobManager().getActiveMob(bossUUID);
-            if (activeMobOpt.isPresent()) { ActiveMob activeMob = activeMobOpt.get(); if (!activeMob.isDead()) { activeMob.remove(); }
-            } else { Entity bossBukkitEntity = Bukkit.getEntity(bossUUID); if (bossBukkitEntity != null && !bossBukkitEntity.isDead()) { bossBukkitEntity.remove(); } }
+        if (bossUUID != null) despawnMob(bossUUID);
+        for (TrackedMob trackedMob : trackedMobs) {
+            if (!trackedMob.getEntityUUID().equals(bossUUID)) despawnMob(trackedMob.getEntityUUID());
+        }
+        if (wasInUse && configManager.isDebugMode()) {
+            for (TrackedMob.PhaseTiming timing : instance.getPhaseTimings()) {
+                plugin.getLogger().info("Arena " + instance.getInstanceId() + ": phase '" + timing.getMobType() + "' defeated in " + (timing.getDurationMillis() / 1000.0) + "s.");
+            }
         }
         if (!originalLocations.isEmpty()) {
             Location defaultFallbackLocation = Bukkit.getWorlds().get(0).getSpawnLocation();
@@ -424,36 +1164,176 @@ public class ArenaManager {
         }
         instance.setParty(null); instance.setCurrentBoss(null);
         final int plotIdToRelease = instance.getPlotId();
-        cleanupArena(instance).thenAccept(success -> {
+
+        ArenaPool recyclePool = getRecyclePool(instance);
+        if (recyclePool != null) {
+            long[] changedBlocks = instance.getBlockChangeTracker().drain();
+            removeLooseEntities(instance);
+            // All bookkeeping, including the move to AVAILABLE that resets the instance, happens in one main-thread hop
+            restoreChangedBlocks(instance, changedBlocks).thenAccept(restored -> runOnMainThread(() -> {
+                boolean success = restored && finishCleanup(instance);
+                deactivateArena(instance);
+                if (success) {
+                    // A fresh instance keeps the pasted plot for the next request of the same theme.
+                    ArenaInstance recycled = new ArenaInstance(instance.getArenaTheme(), instance.getPlotOrigin(), plotIdToRelease, lifecycleMetrics);
+                    recycled.setDifferentialResets(instance.getDifferentialResets() + 1);
+                    if (!recyclePool.offer(recycled)) {
+                        discardArena(recycled);
+                    } else {
+                        scheduleQueueDrain();
+                    }
+                } else {
+                    plugin.getLogger().warning("Differential reset failed for arena " + instance.getInstanceId() + " (Plot ID: " + plotIdToRelease + "). Falling back to a full clear.");
+                    discardArena(instance);
+                }
+            }));
+            return;
+        }
+
+        cleanupArena(instance).thenAccept(success -> runOnMainThread(() -> {
             if (success) {
                 // plugin.getLogger().info("Arena " + instance.getInstanceId() + " (Plot ID: " + plotIdToRelease + ") cleaned up successfully."); // Commented out
                 releasePlot(plotIdToRelease);
             } else {
                 plugin.getLogger().severe("Failed to cleanup arena " + instance.getInstanceId() + " (Plot ID: " + plotIdToRelease + "). Plot may remain marked as used.");
             }
-            synchronized (activeArenaInstances) { activeArenaInstances.remove(instance); }
-        });
+            deactivateArena(instance);
+        }));
+    }
+
+    /**
+     * Removes a boss phase or add spawned in an arena, if it is still alive.
+     */
+    private void despawnMob(UUID entityUUID) {
+        Optional<ActiveMob> activeMobOpt = MythicBukkit.inst().getMobManager().getActiveMob(entityUUID);
+        if (activeMobOpt.isPresent()) { ActiveMob activeMob = activeMobOpt.get(); if (!activeMob.isDead()) { activeMob.remove(); }
+        } else { Entity entity = Bukkit.getEntity(entityUUID); if (entity != null && !entity.isDead()) { entity.remove(); } }
+    }
+
+    /**
+     * @return The pool a finished arena can be returned to after a differential reset,
+     *         or null if the plot has to be fully cleared.
+     */
+    private ArenaPool getRecyclePool(ArenaInstance instance) {
+        if (!differentialReset || instance.getBlockChangeTracker() == null || instance.getBlockChangeTracker().isOverflowed()) return null;
+        // Changes no event reported carry over into every reuse, so the plot is cleared and re-pasted now and then
+        if (differentialResetMaxReuses > 0 && instance.getDifferentialResets() >= differentialResetMaxReuses) return null;
+        if (instance.getArenaTheme() == null) return null;
+        ArenaPool pool = arenaPools.get(instance.getArenaTheme().getId().toLowerCase());
+        if (pool == null || pool.isClosed() || pool.getTheme() != instance.getArenaTheme()) return null; // Theme was reloaded
+        if (pool.getIdleCount() >= pool.getMaxSize()) return null;
+        return pool;
+    }
+
+    /**
+     * Removes dropped items, projectiles and experience orbs left inside a plot that is kept for reuse.
+     * Must be called on the main thread.
+     */
+    private void removeLooseEntities(ArenaInstance instance) {
+        if (arenaWorld == null) return;
+        BoundingBox bounds = new BoundingBox(instance.getMinBlockX(), instance.getMinBlockY(), instance.getMinBlockZ(),
+                instance.getMaxBlockX() + 1, instance.getMaxBlockY() + 1, instance.getMaxBlockZ() + 1);
+        for (Entity entity : arenaWorld.getNearbyEntities(bounds, e -> e instanceof Item || e instanceof Projectile || e instanceof ExperienceOrb)) {
+            entity.remove();
+        }
+    }
+
+    /**
+     * Restores only the given block positions from the theme's schematic, asynchronously.
+     * Positions outside the schematic, or air in the schematic, are set to air.
+     * @return A future completing with true once the blocks are restored. The arena is left in CLEANING_UP for the caller.
+     */
+    private CompletableFuture<Boolean> restoreChangedBlocks(ArenaInstance instance, long[] changedBlocks) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        if (changedBlocks.length == 0) { future.complete(true); return future; }
+        if (faweApi == null || arenaWorld == null || instance.getPlotOrigin() == null) { future.complete(false); return future; }
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                Clipboard clipboard = getThemeClipboard(instance.getArenaTheme());
+                if (clipboard == null) { future.complete(false); return; }
+                BlockVector3 pasteOrigin = BukkitAdapter.asBlockVector(instance.getPlotOrigin());
+                BlockVector3 clipboardOrigin = clipboard.getOrigin();
+                Region clipboardRegion = clipboard.getRegion();
+                try (EditSession editSession = faweApi.newEditSession(BukkitAdapter.adapt(arenaWorld))) {
+                    for (long packed : changedBlocks) {
+                        BlockVector3 worldPos = BlockVector3.at(BlockChangeTracker.unpackX(packed), BlockChangeTracker.unpackY(packed), BlockChangeTracker.unpackZ(packed));
+                        BlockVector3 clipboardPos = worldPos.subtract(pasteOrigin).add(clipboardOrigin);
+                        if (clipboardRegion.contains(clipboardPos)) {
+                            editSession.setBlock(worldPos, clipboard.getFullBlock(clipboardPos));
+                        } else {
+                            editSession.setBlock(worldPos, BlockTypes.AIR.getDefaultState());
+                        }
+                    }
+                    Operations.complete(editSession.commit());
+                    future.complete(true);
+                } catch (WorldEditException e) {
+                    plugin.getLogger().log(Level.SEVERE, "Failed to restore changed blocks for arena instance " + instance.getInstanceId(), e);
+                    future.complete(false);
+                }
+            }
+        }.runTaskAsynchronously(plugin);
+        return future;
     }
 
+    /**
+     * Moves a cleaned arena from CLEANING_UP back to AVAILABLE. May be called off the main thread.
+     */
+    private boolean finishCleanup(ArenaInstance instance) {
+        chunkTickets.release(instance.getInstanceId());
+        if (instance.transition(ArenaInstance.ArenaState.CLEANING_UP, ArenaInstance.ArenaState.AVAILABLE)) return true;
+        rejectTransition(instance, ArenaInstance.ArenaState.AVAILABLE);
+        return false;
+    }
+
+    private void rejectTransition(ArenaInstance instance, ArenaInstance.ArenaState target) {
+        lifecycleMetrics.recordRejectedTransition();
+        plugin.getLogger().warning("Rejected arena state transition " + instance.getState() + " -> " + target + " for arena " + instance.getInstanceId() + " (Plot ID: " + instance.getPlotId() + ").");
+    }
+
+    public ArenaLifecycleMetrics getLifecycleMetrics() {
+        return lifecycleMetrics;
+    }
+
+    /**
+     * Clears an arena's plot through the cleanup scheduler. Moves the arena to CLEANING_UP first if it is not
+     * already there, and to AVAILABLE once the plot is clear.
+     */
     public CompletableFuture<Boolean> cleanupArena(ArenaInstance instance) {
+        return cleanupArena(instance, shuttingDown);
+    }
+
+    /**
+     * @param immediate Clear the whole plot in one async edit instead of queueing it, e.g. on shutdown when the scheduler no longer ticks.
+     */
+    private CompletableFuture<Boolean> cleanupArena(ArenaInstance instance, boolean immediate) {
         CompletableFuture<Boolean> future = new CompletableFuture<>();
         if (faweApi == null || instance.getPlotOrigin() == null || instance.getArenaTheme() == null || arenaWorld == null) { future.complete(false); return future; }
         ArenaTheme theme = instance.getArenaTheme();
         BlockVector3 dimensions = theme.getSchematicDimensions();
         BlockVector3 originOffset = theme.getSchematicOriginOffset();
         if (dimensions == null || originOffset == null) { future.complete(false); return future; }
+        if (instance.getState() != ArenaInstance.ArenaState.CLEANING_UP && instance.transitionTo(ArenaInstance.ArenaState.CLEANING_UP) == null) {
+            rejectTransition(instance, ArenaInstance.ArenaState.CLEANING_UP);
+            future.complete(false);
+            return future;
+        }
+        BlockVector3 minPoint = BukkitAdapter.asBlockVector(instance.getPlotOrigin()).add(originOffset);
+        BlockVector3 maxPoint = minPoint.add(dimensions).subtract(BlockVector3.ONE);
+        if (!immediate) {
+            return cleanupScheduler.submit("arena " + instance.getInstanceId() + " (Plot ID: " + instance.getPlotId() + ")",
+                    minPoint.getBlockX(), minPoint.getBlockY(), minPoint.getBlockZ(),
+                    maxPoint.getBlockX(), maxPoint.getBlockY(), maxPoint.getBlockZ())
+                    .thenApply(success -> success && finishCleanup(instance));
+        }
         new BukkitRunnable() {
             @Override
             public void run() {
-                BlockVector3 pasteOriginBV = BukkitAdapter.asBlockVector(instance.getPlotOrigin());
-                BlockVector3 minPoint = pasteOriginBV.add(originOffset);
-                BlockVector3 maxPoint = minPoint.add(dimensions).subtract(BlockVector3.ONE);
                 CuboidRegion regionToClear = new CuboidRegion(BukkitAdapter.adapt(arenaWorld), minPoint, maxPoint);
                 try (EditSession editSession = faweApi.newEditSession(BukkitAdapter.adapt(arenaWorld))) {
                     editSession.setBlocks((Region) regionToClear, BlockTypes.AIR);
                     Operations.complete(editSession.commit());
-                    instance.setState(ArenaInstance.ArenaState.AVAILABLE);
-                    future.complete(true);
+                    future.complete(finishCleanup(instance));
                 } catch (WorldEditException e) {
                     plugin.getLogger().log(Level.SEVERE, "Failed to clear arena region for instance " + instance.getInstanceId(), e);
                     future.complete(false);
@@ -463,6 +1343,36 @@ public class ArenaManager {
         return future;
     }
 
+    /**
+     * Sets one cleanup slice to air. Runs on a cleanup scheduler worker thread, or on the main thread during shutdown.
+     */
+    private boolean clearSlice(CleanupScheduler.Slice slice) {
+        com.sk89q.worldedit.world.World world = BukkitAdapter.adapt(arenaWorld);
+        CuboidRegion region = new CuboidRegion(world,
+                BlockVector3.at(slice.getMinX(), slice.getMinY(), slice.getMinZ()),
+                BlockVector3.at(slice.getMaxX(), slice.getMaxY(), slice.getMaxZ()));
+        try (EditSession editSession = faweApi.newEditSession(world)) {
+            editSession.setBlocks((Region) region, BlockTypes.AIR);
+            Operations.complete(editSession.commit());
+            return true;
+        } catch (WorldEditException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to clear arena slice " + region, e);
+            return false;
+        }
+    }
+
+    public CleanupScheduler getCleanupScheduler() {
+        return cleanupScheduler;
+    }
+
+    /**
+     * Runs a task right away on the main thread, or on the next tick when called from an async continuation.
+     */
+    private void runOnMainThread(Runnable task) {
+        if (Bukkit.isPrimaryThread()) task.run();
+        else Bukkit.getScheduler().runTask(plugin, task);
+    }
+
     private Clipboard loadSchematicFromFile(File schematicFile) {
         if (faweApi == null) { plugin.getLogger().severe("FAWE API not available, cannot load schematic: " + schematicFile.getName()); return null; }
         if (!schematicFile.exists()) { plugin.getLogger().severe("Schematic file does not exist: " + schematicFile.getAbsolutePath()); return null; }
@@ -485,19 +1395,44 @@ public class ArenaManager {
         } catch (WorldEditException e) { plugin.getLogger().log(Level.SEVERE, "Failed to paste schematic at " + targetLocation, e); }
     }
 
+    /**
+     * Reloads arena themes, blocking until all schematics are decoded. Prefer {@link #prepareThemes(FileConfiguration)}
+     * followed by {@link #applyThemes(PreparedThemes)} on the main thread.
+     */
     public void reloadArenaThemes() {
         plugin.getLogger().info("Reloading arena themes...");
-        loadArenaThemes();
+        applyThemes(prepareThemes(configManager.getConfig()).join());
     }
 
     public void shutdown() {
-        plugin.getLogger().info("Shutting down ArenaManager, attempting to clean up " + activeArenaInstances.size() + " active arenas...");
-        List<ArenaInstance> instancesToClean = getActiveArenaInstances();
+        if (poolMaintenanceTimer != null) {
+            poolMaintenanceTimer.cancel();
+            poolMaintenanceTimer = null;
+        }
+        if (queueUpdateTimer != null) {
+            queueUpdateTimer.cancel();
+            queueUpdateTimer = null;
+        }
+        for (ArenaRequestQueue.QueuedRequest waiting : requestQueue.snapshot()) {
+            dequeue(waiting);
+            waiting.getFuture().completeExceptionally(new ArenaRequestQueue.QueueException(ArenaRequestQueue.FailureReason.CANCELLED));
+        }
+        List<ArenaInstance> instancesToClean = getActiveArenaInstances(); // Taken before pooled arenas start their own clears
+        shuttingDown = true;
+        // Discarded pooled arenas are no longer registered and are not cleaned below, so queued clears are finished here
+        List<CleanupScheduler.Slice> droppedClears = cleanupScheduler.cancelAll();
+        if (!droppedClears.isEmpty()) {
+            plugin.getLogger().info("Finishing " + droppedClears.size() + " queued arena clears before shutdown...");
+            for (CleanupScheduler.Slice region : droppedClears) clearSlice(region);
+        }
+        closeAllPools();
+        plugin.getLogger().info("Shutting down ArenaManager, attempting to clean up " + instancesToClean.size() + " active arenas...");
         for (ArenaInstance instance : instancesToClean) {
-            if (instance.getState() == ArenaInstance.ArenaState.IN_USE || instance.getState() == ArenaInstance.ArenaState.PREPARING) {
+            ArenaInstance.ArenaState state = instance.getState();
+            if (state == ArenaInstance.ArenaState.IN_USE || state == ArenaInstance.ArenaState.PREPARING || state == ArenaInstance.ArenaState.CLEANING_UP) {
                 plugin.getLogger().info("Force cleaning arena: " + instance.getInstanceId() + " (Plot ID: " + instance.getPlotId() + ")");
                 final int plotIdToRelease = instance.getPlotId();
-                cleanupArena(instance).thenAccept(success -> {
+                cleanupArena(instance, true).thenAccept(success -> {
                     if (success) {
                         // plugin.getLogger().info("Arena " + instance.getInstanceId() + " cleaned during shutdown process."); // Commented out
                         releasePlot(plotIdToRelease);
@@ -507,11 +1442,55 @@ public class ArenaManager {
                 });
             }
         }
-        synchronized (activeArenaInstances) {
-            activeArenaInstances.clear();
+        arenaRegistry.clear();
+        plotAllocator.clear();
+        chunkTickets.releaseAll(arenaWorld);
+    }
+
+    /**
+     * Themes read from config with their decoded schematics, ready to be published with {@link #applyThemes(PreparedThemes)}.
+     */
+    public static final class PreparedThemes {
+        private final List<PreparedTheme> themes;
+        private final int indexHits; // Themes whose schematic was not decoded thanks to the schematic index
+
+        private PreparedThemes(List<PreparedTheme> themes) {
+            this.themes = themes;
+            int hits = 0;
+            for (PreparedTheme theme : themes) if (theme.clipboard == null) hits++;
+            this.indexHits = hits;
         }
-        synchronized (usedPlotIds) {
-            usedPlotIds.clear();
+
+        public int size() {
+            return themes.size();
+        }
+    }
+
+    private static final class ThemeDefinition {
+        private final String themeId;
+        private final ConfigurationSection section;
+        private final String schematicFileName;
+
+        private ThemeDefinition(String themeId, ConfigurationSection section, String schematicFileName) {
+            this.themeId = themeId;
+            this.section = section;
+            this.schematicFileName = schematicFileName;
+        }
+    }
+
+    private static final class PreparedTheme {
+        private final ArenaTheme theme;
+        private final Clipboard clipboard; // Null if the metadata came from the schematic index
+        private final String schematicHash; // Null if the schematic index is disabled
+        private final int poolMinSize;
+        private final int poolMaxSize;
+
+        private PreparedTheme(ArenaTheme theme, Clipboard clipboard, String schematicHash, int poolMinSize, int poolMaxSize) {
+            this.theme = theme;
+            this.clipboard = clipboard;
+            this.schematicHash = schematicHash;
+            this.poolMinSize = poolMinSize;
+            this.poolMaxSize = poolMaxSize;
         }
     }
-}
\ No newline at end of file
+}
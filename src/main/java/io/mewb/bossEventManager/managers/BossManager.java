@@ -2,40 +2,47 @@ package io.mewb.bossEventManager.managers;
 
 
 import io.mewb.bossEventManager.BossEventManagerPlugin;
+import io.mewb.bossEventManager.bosses.BossCatalog;
 import io.mewb.bossEventManager.bosses.BossDefinition;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.MemorySection;
+import org.bukkit.configuration.file.FileConfiguration;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
-import java.util.stream.Collectors;
 
 public class BossManager {
 
     private final BossEventManagerPlugin plugin;
-    private final Map<String, BossDefinition> bossDefinitions;
-    private final Map<String, List<BossDefinition>> bossesByDifficulty;
+    // Immutable snapshot of all bosses, replaced as a whole on reload
+    private volatile BossCatalog catalog = BossCatalog.EMPTY;
 
     public BossManager(BossEventManagerPlugin plugin) {
         this.plugin = plugin;
-        this.bossDefinitions = new HashMap<>();
-        this.bossesByDifficulty = new HashMap<>();
         loadBosses();
     }
 
     private void loadBosses() {
-        bossDefinitions.clear();
-        bossesByDifficulty.clear();
-        ConfigurationSection bossesSection = plugin.getConfigManager().getConfig().getConfigurationSection("bosses");
+        applyCatalog(buildCatalog(plugin.getConfigManager().getConfig()));
+    }
+
+    /**
+     * Builds a boss catalog from a config without publishing it.
+     * Does not touch live state, so it may run off the main thread.
+     */
+    public BossCatalog buildCatalog(FileConfiguration config) {
+        List<BossDefinition> definitions = new ArrayList<>();
+        Map<String, String> guiIcons = new HashMap<>();
+        List<String> difficultyOrder = config.getStringList("gui.difficulty-selection.order");
+        ConfigurationSection bossesSection = config.getConfigurationSection("bosses");
 
         if (bossesSection == null) {
             plugin.getLogger().warning("No 'bosses' section found in config.yml. No bosses will be loaded.");
-            return;
+            return BossCatalog.EMPTY;
         }
 
         for (String bossId : bossesSection.getKeys(false)) {
@@ -60,7 +67,7 @@ public class BossManager {
                 String finalPhaseId = currentBossSection.getString("final-phase-mythicmob-id", mythicMobId);
                 String modelEngineId = currentBossSection.getString("modelengine-id");
                 List<String> description = currentBossSection.getStringList("description");
-                int gemCost = currentBossSection.getInt("gem-cost", plugin.getConfigManager().getConfig().getInt("economy.default-gem-cost", 100));
+                int gemCost = currentBossSection.getInt("gem-cost", config.getInt("economy.default-gem-cost", 100));
                 int requiredLevel = currentBossSection.getInt("required-level", 0);
 
                 List<Map<?, ?>> rewardConfigMaps = currentBossSection.getMapList("rewards");
@@ -94,8 +101,11 @@ public class BossManager {
                         rewardConfigMaps, partySizeScaling.isEmpty() ? null : partySizeScaling
                 );
 
-                bossDefinitions.put(bossId.toLowerCase(), definition);
-                bossesByDifficulty.computeIfAbsent(difficulty.toLowerCase(), k -> new ArrayList<>()).add(definition);
+                for (String rewardError : definition.getRewardErrors()) {
+                    plugin.getLogger().warning("Boss '" + bossId + "' has an invalid reward, skipping it. " + rewardError);
+                }
+                definitions.add(definition);
+                guiIcons.put(bossId.toLowerCase(), currentBossSection.getString("gui-icon"));
 
                 // plugin.getLogger().info("Loaded boss definition: " + bossId + " (Difficulty: " + difficulty + ")"); // Optional debug
 
@@ -103,30 +113,49 @@ public class BossManager {
                 plugin.getLogger().log(Level.SEVERE, "Failed to load boss definition for ID: " + bossId, e);
             }
         }
-        plugin.getLogger().info("Successfully loaded " + bossDefinitions.size() + " boss definitions across " + bossesByDifficulty.size() + " difficulties.");
+        return new BossCatalog(definitions, difficultyOrder, guiIcons);
+    }
+
+    /**
+     * Publishes a boss catalog. Running arenas keep the BossDefinition they were started with.
+     */
+    public void applyCatalog(BossCatalog loaded) {
+        catalog = loaded;
+        plugin.getLogger().info("Successfully loaded " + loaded.size() + " boss definitions across " + loaded.getDifficulties().size() + " difficulties.");
+    }
+
+    /**
+     * @return The current boss snapshot. Keep the returned reference to read several values consistently.
+     */
+    public BossCatalog getCatalog() {
+        return catalog;
     }
 
     public BossDefinition getBossDefinition(String id) {
-        if (id == null) return null;
-        return bossDefinitions.get(id.toLowerCase());
+        return catalog.getBoss(id);
     }
 
     public Collection<BossDefinition> getAllBossDefinitions() {
-        return Collections.unmodifiableCollection(bossDefinitions.values());
+        return catalog.getAllBosses();
+    }
+
+    /**
+     * Checks whether a MythicMob type is the initial or final phase of any configured boss.
+     * Does not allocate, so it is cheap enough to run for every MythicMob death.
+     */
+    public boolean isTrackedBossMob(String mythicMobInternalName) {
+        return catalog.isTrackedMob(mythicMobInternalName);
     }
 
-    public Collection<String> getAvailableDifficulties() {
-        return bossesByDifficulty.values().stream()
-                .filter(list -> !list.isEmpty())
-                .map(list -> list.get(0).getDifficulty())
-                .collect(Collectors.toSet());
+    /**
+     * @return Difficulties that have at least one boss, in gui.difficulty-selection.order, then config order.
+     */
+    public List<String> getAvailableDifficulties() {
+        return catalog.getDifficulties();
     }
 
     public List<BossDefinition> getBossesByDifficulty(String difficulty) {
-        if (difficulty == null) return Collections.emptyList();
-        return Collections.unmodifiableList(
-                bossesByDifficulty.getOrDefault(difficulty.toLowerCase(), Collections.emptyList())
-        );
+        return catalog.getBossesByDifficulty(difficulty);
     }
 
     public void reloadBosses() {
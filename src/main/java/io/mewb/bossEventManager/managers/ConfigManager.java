@@ -2,6 +2,9 @@ package io.mewb.bossEventManager.managers;
 
 
 import io.mewb.bossEventManager.BossEventManagerPlugin;
+import io.mewb.bossEventManager.messages.MessageTemplate;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.ChatColor;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -11,6 +14,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,26 +23,19 @@ import java.util.logging.Level;
 public class ConfigManager {
 
     private final BossEventManagerPlugin plugin;
-    private FileConfiguration config;
     private File configFile;
 
-    // Config values
-    private String prefix;
-    private int minPartySize;
-    private int maxPartySize;
-    private boolean debugMode;
-    private Map<String, String> messages; // Store loaded messages
-    private String errorPrefix; // Store the resolved error prefix
+    // Everything read from config.yml, replaced as a whole on reload
+    private volatile LoadedConfig loaded;
 
     public ConfigManager(BossEventManagerPlugin plugin) {
         this.plugin = plugin;
-        this.messages = new HashMap<>(); // Initialize map
-        setup();
-        loadConfigValues();
+        FileConfiguration config = setup();
+        apply(compile(config));
     }
 
 
-    private void setup() {
+    private FileConfiguration setup() {
         if (!plugin.getDataFolder().exists()) {
             boolean created = plugin.getDataFolder().mkdir();
             if (!created) {
@@ -52,28 +49,46 @@ public class ConfigManager {
             plugin.getLogger().info("config.yml not found, created a new one.");
         }
 
-        config = YamlConfiguration.loadConfiguration(configFile);
+        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
 
         InputStream defaultConfigStream = plugin.getResource("config.yml");
         if (defaultConfigStream != null) {
             YamlConfiguration defaultConfig = YamlConfiguration.loadConfiguration(new InputStreamReader(defaultConfigStream));
             config.setDefaults(defaultConfig);
             config.options().copyDefaults(true);
-            saveConfig();
+            try {
+                config.save(configFile);
+            } catch (IOException ex) {
+                plugin.getLogger().log(Level.SEVERE, "Could not save config to " + configFile, ex);
+            }
         }
+        return config;
     }
 
 
-    private void loadConfigValues() {
-        prefix = ChatColor.translateAlternateColorCodes('&', config.getString("plugin-prefix", "&8[&bEvents&8] &r"));
-        minPartySize = config.getInt("party.min-size", 2);
-        maxPartySize = config.getInt("party.max-size", 5);
-        debugMode = config.getBoolean("debug-mode", false);
+    /**
+     * Reads config.yml and compiles its values without publishing them.
+     * Does not touch live state, so it may run off the main thread.
+     */
+    public LoadedConfig loadFromDisk() {
+        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+
+        // Look for defaults in the jar
+        InputStream defaultConfigStream = plugin.getResource("config.yml");
+        if (defaultConfigStream != null) {
+            YamlConfiguration defaultConfig = YamlConfiguration.loadConfiguration(new InputStreamReader(defaultConfigStream));
+            config.setDefaults(defaultConfig);
+        }
+        return compile(config);
+    }
+
+    private LoadedConfig compile(FileConfiguration config) {
+        String prefix = ChatColor.translateAlternateColorCodes('&', config.getString("plugin-prefix", "&8[&bEvents&8] &r"));
 
         // Load messages
-        messages.clear();
+        Map<String, MessageTemplate> loadedMessages = new HashMap<>();
         // Load error prefix first, as other messages might use it
-        errorPrefix = ChatColor.translateAlternateColorCodes('&', config.getString("messages.error-prefix", "&c&lError: &r"));
+        String errorPrefix = ChatColor.translateAlternateColorCodes('&', config.getString("messages.error-prefix", "&c&lError: &r"));
 
         ConfigurationSection msgSection = config.getConfigurationSection("messages");
         if (msgSection != null) {
@@ -82,32 +97,41 @@ public class ConfigManager {
                     String message = msgSection.getString(key);
                     if (message != null) {
                         message = message.replace("%error-prefix%", errorPrefix);
-                        messages.put(key, message);
+                        loadedMessages.put(key, MessageTemplate.compile(message, prefix));
                     }
                 }
             }
-            plugin.getLogger().info("Loaded " + messages.size() + " custom messages.");
+            plugin.getLogger().info("Loaded " + loadedMessages.size() + " custom messages.");
         } else {
             plugin.getLogger().warning("No 'messages' section found in config.yml. Using default messages where applicable.");
         }
 
+        return new LoadedConfig(config, prefix,
+                config.getInt("party.min-size", 2),
+                config.getInt("party.max-size", 5),
+                config.getBoolean("debug-mode", false),
+                loadedMessages);
+    }
+
+    /**
+     * Publishes a loaded config. Readers switch to it with a single reference swap.
+     */
+    public void apply(LoadedConfig newConfig) {
+        this.loaded = newConfig;
         plugin.getLogger().info("Configuration values loaded.");
-        if (debugMode) {
+        if (newConfig.debugMode) {
             plugin.getLogger().info("Debug mode is ENABLED.");
         }
     }
 
 
     public FileConfiguration getConfig() {
-        if (config == null) {
-            reloadConfig(); // Should not happen if setup is called in constructor
-        }
-        return config;
+        return loaded.config;
     }
 
 
     public void saveConfig() {
-        if (config == null || configFile == null) {
+        if (configFile == null) {
             return;
         }
         try {
@@ -119,78 +143,120 @@ public class ConfigManager {
 
 
     public void reloadConfig() {
-        if (configFile == null) {
-            configFile = new File(plugin.getDataFolder(), "config.yml");
-        }
-        config = YamlConfiguration.loadConfiguration(configFile);
-
-        // Look for defaults in the jar
-        InputStream defaultConfigStream = plugin.getResource("config.yml");
-        if (defaultConfigStream != null) {
-            YamlConfiguration defaultConfig = YamlConfiguration.loadConfiguration(new InputStreamReader(defaultConfigStream));
-            config.setDefaults(defaultConfig);
-        }
-        loadConfigValues(); // Reload values into memory
+        apply(loadFromDisk());
         plugin.getLogger().info("Configuration reloaded.");
     }
 
     // --- Getters for specific configuration values ---
 
     public String getPrefix() {
-        return prefix;
+        return loaded.prefix;
     }
 
     public int getMinPartySize() {
-        return minPartySize;
+        return loaded.minPartySize;
     }
 
     public int getMaxPartySize() {
-        return maxPartySize;
+        return loaded.maxPartySize;
     }
 
     public boolean isDebugMode() {
-        return debugMode;
+        return loaded.debugMode;
     }
 
     // --- Message Getter ---
 
     public String getMessage(String key, Map<String, String> replacements) {
-        // Retrieve the raw message template (which already has %error-prefix% resolved)
-        String messageTemplate = messages.get(key);
-
+        // Retrieve the compiled template (%error-prefix% and %prefix% are already resolved)
+        MessageTemplate messageTemplate = loaded.messages.get(key);
         if (messageTemplate == null) {
-            plugin.getLogger().warning("Missing message in config.yml for key: '" + key + "'");
-            return ChatColor.RED + "Missing message: " + key;
+            return missingMessage(key);
         }
+        return messageTemplate.render(replacements);
+    }
 
-        // Apply the main plugin prefix
-        String message = messageTemplate.replace("%prefix%", prefix);
+    // Overload for messages without extra placeholders
+    public String getMessage(String key) {
+        return getMessage(key, (Map<String, String>) null);
+    }
 
-        // Apply any other dynamic replacements
-        if (replacements != null) {
-            for (Map.Entry<String, String> entry : replacements.entrySet()) {
-                message = message.replace(entry.getKey(), entry.getValue());
-            }
+    /**
+     * Gets a message, with placeholders given as alternating tokens and values, e.g. ("%player%", name).
+     * Avoids building a replacement map per call.
+     */
+    public String getMessage(String key, String... placeholderPairs) {
+        MessageTemplate messageTemplate = loaded.messages.get(key);
+        if (messageTemplate == null) {
+            return missingMessage(key);
         }
+        return messageTemplate.render(placeholderPairs);
+    }
 
-        return ChatColor.translateAlternateColorCodes('&', message);
+    /**
+     * Gets a message as an Adventure component. Components of messages without placeholders are cached.
+     */
+    public Component getMessageComponent(String key, Map<String, String> replacements) {
+        MessageTemplate messageTemplate = loaded.messages.get(key);
+        if (messageTemplate == null) {
+            return LegacyComponentSerializer.legacySection().deserialize(missingMessage(key));
+        }
+        return messageTemplate.toComponent(replacements);
     }
 
-    // Overload for messages without extra placeholders
-    public String getMessage(String key) {
-        return getMessage(key, null);
+    /**
+     * Gets a message as an Adventure component, with placeholders given as alternating tokens and values.
+     */
+    public Component getMessageComponent(String key, String... placeholderPairs) {
+        MessageTemplate messageTemplate = loaded.messages.get(key);
+        if (messageTemplate == null) {
+            return LegacyComponentSerializer.legacySection().deserialize(missingMessage(key));
+        }
+        return messageTemplate.toComponent(placeholderPairs);
+    }
+
+    private String missingMessage(String key) {
+        plugin.getLogger().warning("Missing message in config.yml for key: '" + key + "'");
+        return ChatColor.RED + "Missing message: " + key;
     }
 
 
 
     public String getColoredString(String path, String defaultValue) {
-        return ChatColor.translateAlternateColorCodes('&', config.getString(path, defaultValue));
+        return ChatColor.translateAlternateColorCodes('&', getConfig().getString(path, defaultValue));
     }
 
 
     public List<String> getColoredStringList(String path) {
-        List<String> list = config.getStringList(path);
+        List<String> list = getConfig().getStringList(path);
         list.replaceAll(s -> ChatColor.translateAlternateColorCodes('&', s));
         return list;
     }
+
+    /**
+     * Immutable result of reading config.yml: the parsed file plus the values derived from it.
+     * The FileConfiguration must not be modified once the snapshot is published.
+     */
+    public static final class LoadedConfig {
+        private final FileConfiguration config;
+        private final String prefix;
+        private final int minPartySize;
+        private final int maxPartySize;
+        private final boolean debugMode;
+        private final Map<String, MessageTemplate> messages; // Messages compiled at load
+
+        private LoadedConfig(FileConfiguration config, String prefix, int minPartySize, int maxPartySize,
+                             boolean debugMode, Map<String, MessageTemplate> messages) {
+            this.config = config;
+            this.prefix = prefix;
+            this.minPartySize = minPartySize;
+            this.maxPartySize = maxPartySize;
+            this.debugMode = debugMode;
+            this.messages = Collections.unmodifiableMap(messages);
+        }
+
+        public FileConfiguration getConfig() {
+            return config;
+        }
+    }
 }
@@ -7,29 +7,36 @@ import dev.triumphteam.gui.guis.PaginatedGui;
 
 
 import io.mewb.bossEventManager.BossEventManagerPlugin;
+import io.mewb.bossEventManager.arena.ArenaInstance;
+import io.mewb.bossEventManager.arena.ArenaRequestQueue;
 import io.mewb.bossEventManager.arena.ArenaTheme;
+import io.mewb.bossEventManager.arena.StartPipelineMetrics;
+import io.mewb.bossEventManager.bosses.BossCatalog;
 import io.mewb.bossEventManager.bosses.BossDefinition;
+import io.mewb.bossEventManager.economy.EconomyEscrow;
+import io.mewb.bossEventManager.gui.MenuSnapshot;
+import io.mewb.bossEventManager.party.PartyInfo;
 import io.mewb.bossEventManager.party.PartyInfoManager;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
-import net.milkbowl.vault.economy.Economy;
-import net.milkbowl.vault.economy.EconomyResponse;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
@@ -40,7 +47,7 @@ public class GuiManager {
     private final BossManager bossManager;
     private ArenaManager arenaManager; // Can be null initially
     private PartyInfoManager partyInfoManager;
-    private Economy economy;
+    private EconomyEscrow economyEscrow;
 
     // Common GUI settings
     private final Material fillerMaterial;
@@ -50,6 +57,10 @@ public class GuiManager {
     private final Sound soundNavFail;
     private final Sound soundItemSelect;
 
+    // Pre-rendered menus, rebuilt on reload
+    private volatile MenuSnapshot menuSnapshot;
+    private static final int[][] DIFFICULTY_COLUMNS = {{5}, {4, 6}, {3, 5, 7}, {2, 4, 6, 8}, {1, 3, 5, 7, 9}};
+
     public GuiManager(BossEventManagerPlugin plugin) {
         this.plugin = plugin;
         this.configManager = plugin.getConfigManager();
@@ -74,10 +85,10 @@ public class GuiManager {
         if (this.partyInfoManager == null) plugin.getLogger().warning("[GuiManager] Attempted to access PartyInfoManager, but it is still null!");
         return this.partyInfoManager;
     }
-    private Economy getEconomy() {
-        if (this.economy == null) this.economy = plugin.getVaultEconomy();
-        if (this.economy == null) plugin.getLogger().warning("[GuiManager] Attempted to access Vault Economy, but it is still null!");
-        return this.economy;
+    private EconomyEscrow getEconomyEscrow() {
+        if (this.economyEscrow == null) this.economyEscrow = plugin.getEconomyEscrow();
+        if (this.economyEscrow == null) plugin.getLogger().warning("[GuiManager] Attempted to access the economy escrow, but it is still null!");
+        return this.economyEscrow;
     }
 
     private Material parseMaterial(String materialName, Material defaultMaterial, String context) {
@@ -99,15 +110,22 @@ public class GuiManager {
             return defaultSound;
         }
     }
-    private List<Component> createLore(List<String> format, Map<String, String> placeholders) {
+    /**
+     * @param placeholderPairs Alternating tokens and values, e.g. ("%boss_name%", name).
+     */
+    private List<Component> createLore(List<String> format, String... placeholderPairs) {
+        String description = null;
+        for (int p = 0; p + 1 < placeholderPairs.length; p += 2) {
+            if (placeholderPairs[p].equals("%boss_description%")) description = placeholderPairs[p + 1];
+        }
         List<Component> lore = new ArrayList<>();
         for (String line : format) {
             String processedLine = line;
-            for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                processedLine = processedLine.replace(entry.getKey(), entry.getValue());
+            for (int p = 0; p + 1 < placeholderPairs.length; p += 2) {
+                processedLine = processedLine.replace(placeholderPairs[p], placeholderPairs[p + 1]);
             }
-            if (processedLine.contains("%boss_description%") && placeholders.containsKey("%boss_description%")) {
-                String[] descLines = placeholders.get("%boss_description%").split("\n");
+            if (processedLine.contains("%boss_description%") && description != null) {
+                String[] descLines = description.split("\n");
                 for(int i = 0; i < descLines.length; i++) {
                     String currentLine = (i == 0) ? processedLine.replace("%boss_description%", descLines[i]) : descLines[i];
                     lore.add(Component.text(ChatColor.translateAlternateColorCodes('&', currentLine))
@@ -121,61 +139,73 @@ public class GuiManager {
         return lore;
     }
 
-    public void openDifficultySelectionGUI(Player player) {
+    // --- Menu snapshot ---
+
+    /**
+     * Rebuilds the pre-rendered menus from the current config, bosses and arena themes.
+     * Menus opened afterwards use the new snapshot.
+     */
+    public void reloadMenus() {
+        menuSnapshot = buildMenuSnapshot();
+    }
+
+    private MenuSnapshot getMenuSnapshot() {
+        MenuSnapshot snapshot = menuSnapshot;
+        if (snapshot == null || (snapshot.getArenaThemeMenu() == null && plugin.getArenaManager() != null)) {
+            // First open, or arena themes became available after the last build
+            snapshot = buildMenuSnapshot();
+            menuSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    private MenuSnapshot buildMenuSnapshot() {
+        MenuSnapshot.Pagination pagination = buildPagination();
+        BossCatalog catalog = bossManager.getCatalog();
+        Map<String, MenuSnapshot.Menu<BossDefinition>> bossMenus = new HashMap<>();
+        for (String difficulty : catalog.getDifficulties()) {
+            bossMenus.put(difficulty.toLowerCase(), buildBossMenu(catalog, difficulty, pagination));
+        }
+        ArenaManager currentArenaManager = plugin.getArenaManager();
+        MenuSnapshot.Menu<ArenaTheme> arenaThemeMenu = currentArenaManager != null ? buildArenaThemeMenu(currentArenaManager.getAllArenaThemes(), pagination) : null;
+        return new MenuSnapshot(buildDifficultyMenu(catalog), bossMenus, arenaThemeMenu, pagination,
+                ItemBuilder.from(fillerMaterial).name(Component.text(" ")).build(),
+                ItemBuilder.from(Material.ARROW).name(Component.text(ChatColor.RED + "<- Back to Difficulties")).build(),
+                ItemBuilder.from(Material.ARROW).name(Component.text(ChatColor.RED + "<- Back to Bosses")).build());
+    }
+
+    private MenuSnapshot.Menu<String> buildDifficultyMenu(BossCatalog catalog) {
         String title = configManager.getColoredString("gui.difficulty-selection.title", "&1&lSelect Difficulty");
-        List<String> difficulties = new ArrayList<>(bossManager.getAvailableDifficulties());
+        List<String> difficulties = catalog.getDifficulties();
         int numDifficulties = difficulties.size();
         int contentRowsNeeded = Math.max(1, (int) Math.ceil((double) numDifficulties / 5.0));
         int totalRows = Math.max(3, contentRowsNeeded + 2);
-        Gui gui = Gui.gui().title(Component.text(title)).rows(totalRows).disableAllInteractions().create();
-        gui.setDefaultClickAction(event -> event.setCancelled(true));
-        GuiItem filler = ItemBuilder.from(fillerMaterial).name(Component.text(" ")).asGuiItem();
-        gui.getFiller().fillTop(filler);
-        gui.getFiller().fillBottom(filler);
-        if (numDifficulties == 0) {
-            int centerRowForBarrier = (totalRows + 1) / 2;
-            gui.setItem(centerRowForBarrier, 5, ItemBuilder.from(Material.BARRIER).name(Component.text("&cNo difficulties found!")).asGuiItem());
-            for (int r = 2; r < totalRows; r++) {
-                for (int c = 1; c <= 9; c++) {
-                    if (gui.getGuiItem(r) == null) gui.setItem(r, c, filler);
-                }
+        boolean[][] usedSlots = new boolean[totalRows + 1][10];
+        List<MenuSnapshot.Entry<String>> entries = new ArrayList<>();
+        int itemsPlaced = 0;
+        for (int r = 0; r < contentRowsNeeded && itemsPlaced < numDifficulties; r++) {
+            int displayRow = r + 2;
+            if (displayRow >= totalRows) break;
+            int itemsInThisRow = Math.min(5, numDifficulties - itemsPlaced);
+            int[] colsToUse = DIFFICULTY_COLUMNS[itemsInThisRow - 1];
+            for (int i = 0; i < itemsInThisRow; i++) {
+                String difficulty = difficulties.get(itemsPlaced + i);
+                entries.add(new MenuSnapshot.Entry<>(displayRow, colsToUse[i], createDifficultyItem(difficulty), difficulty));
+                usedSlots[displayRow][colsToUse[i]] = true;
             }
-        } else {
-            int itemsPlaced = 0;
-            for (int r = 0; r < contentRowsNeeded; r++) {
-                int displayRow = r + 2;
-                if (displayRow >= totalRows) break;
-                int itemsInThisRow = 0;
-                List<String> currentRowDifficulties = new ArrayList<>();
-                for (int i = 0; i < 5 && (itemsPlaced + i) < numDifficulties; i++) {
-                    currentRowDifficulties.add(difficulties.get(itemsPlaced + i));
-                    itemsInThisRow++;
-                }
-                if (itemsInThisRow > 0) {
-                    int[] colsToUse;
-                    if (itemsInThisRow == 1) colsToUse = new int[]{5};
-                    else if (itemsInThisRow == 2) colsToUse = new int[]{4, 6};
-                    else if (itemsInThisRow == 3) colsToUse = new int[]{3, 5, 7};
-                    else if (itemsInThisRow == 4) colsToUse = new int[]{2, 4, 6, 8};
-                    else colsToUse = new int[]{1, 3, 5, 7, 9};
-                    for (int i = 0; i < itemsInThisRow; i++) {
-                        gui.setItem(displayRow, colsToUse[i], createDifficultyItem(player, currentRowDifficulties.get(i)));
-                    }
-                    itemsPlaced += itemsInThisRow;
-                }
-                for (int c = 1; c <= 9; c++) {
-                    if (gui.getGuiItem(displayRow) == null) {
-                        gui.setItem(displayRow, c, filler);
-                    }
-                }
+            itemsPlaced += itemsInThisRow;
+        }
+        if (numDifficulties == 0) usedSlots[(totalRows + 1) / 2][5] = true; // Barrier slot
+        List<int[]> fillerSlots = new ArrayList<>();
+        for (int row = 2; row < totalRows; row++) {
+            for (int col = 1; col <= 9; col++) {
+                if (!usedSlots[row][col]) fillerSlots.add(new int[]{row, col});
             }
         }
-        gui.setOpenGuiAction(event -> playSoundForPlayer(player, soundOpen, 0.5f, 1f));
-        gui.setCloseGuiAction(event -> playSoundForPlayer(player, soundClose, 0.5f, 1f));
-        try { gui.open(player); }
-        catch (Exception e) { plugin.getLogger().log(Level.SEVERE, "[GuiManager] Exception opening difficulty GUI for " + player.getName(), e); }
+        ItemStack emptyItem = ItemBuilder.from(Material.BARRIER).name(Component.text(ChatColor.RED + "No difficulties found!")).build();
+        return new MenuSnapshot.Menu<>(Component.text(title), totalRows, 0, 0, entries, fillerSlots, emptyItem);
     }
-    private GuiItem createDifficultyItem(Player player, String difficulty) {
+    private ItemStack createDifficultyItem(String difficulty) {
         String configKey = difficulty.toLowerCase();
         String name = configManager.getColoredString("gui.difficulty-selection." + configKey + "-name", "&f" + difficulty);
         List<String> loreFormat = configManager.getConfig().getStringList("gui.difficulty-selection." + configKey + "-lore");
@@ -185,58 +215,109 @@ public class GuiManager {
                 .collect(Collectors.toList());
         lore.add(Component.empty());
         lore.add(Component.text(ChatColor.GREEN + "Click to view bosses"));
-        return ItemBuilder.from(material).name(Component.text(name)).lore(lore)
-                .asGuiItem(event -> {
-                    playSoundForPlayer(player, soundItemSelect, 1f, 1.1f);
-                    openBossSelectionGUI(player, difficulty);
-                });
+        return ItemBuilder.from(material).name(Component.text(name)).lore(lore).build();
     }
 
-    public void openBossSelectionGUI(Player player, String selectedDifficulty) {
+    private MenuSnapshot.Menu<BossDefinition> buildBossMenu(BossCatalog catalog, String difficulty, MenuSnapshot.Pagination pagination) {
         String titleFormat = configManager.getColoredString("gui.boss-selection.title", "&1&lSelect Boss (%difficulty%)");
-        String title = titleFormat.replace("%difficulty%", selectedDifficulty);
         int rows = configManager.getConfig().getInt("gui.boss-selection.rows", 6);
         int pageSize = configManager.getConfig().getInt("gui.boss-selection.items-per-page", (rows - 1) * 9);
         String noBossesMsg = configManager.getColoredString("gui.boss-selection.no-bosses", "&cNo bosses found for this difficulty.");
-        List<BossDefinition> bosses = bossManager.getBossesByDifficulty(selectedDifficulty);
-        PaginatedGui gui = Gui.paginated().title(Component.text(title)).rows(rows).pageSize(pageSize).disableAllInteractions().create();
+        List<MenuSnapshot.Entry<BossDefinition>> entries = new ArrayList<>();
+        for (BossDefinition bossDef : catalog.getBossesByDifficulty(difficulty)) {
+            entries.add(new MenuSnapshot.Entry<>(0, 0, createBossSelectionItem(bossDef, catalog.getGuiMetadata(bossDef.getId())), bossDef));
+        }
+        int navRow = getNavigationRow(rows);
+        return new MenuSnapshot.Menu<>(Component.text(titleFormat.replace("%difficulty%", difficulty)), rows, pageSize, navRow,
+                entries, getNavigationFillerSlots(navRow, pagination), ItemBuilder.from(Material.BARRIER).name(Component.text(noBossesMsg)).build());
+    }
+    private ItemStack createBossSelectionItem(BossDefinition bossDef, BossCatalog.GuiMetadata metadata) {
+        String nameFormat = configManager.getConfig().getString("gui.boss-item.name-format", "&6%boss_name%");
+        List<String> loreFormat = configManager.getConfig().getStringList("gui.boss-item.lore-format");
+        Material iconMaterial = parseMaterial(metadata.getIconMaterialName(), Material.PLAYER_HEAD, "Boss Icon (" + bossDef.getId() + ")");
+        String processedName = ChatColor.translateAlternateColorCodes('&', nameFormat.replace("%boss_name%", bossDef.getDisplayName()));
+        List<Component> processedLore = createLore(loreFormat,
+                "%boss_name%", bossDef.getDisplayName(),
+                "%gem_cost%", metadata.getGemCostText(),
+                "%required_level%", metadata.getRequiredLevelText(),
+                "%boss_description%", metadata.getDescriptionText());
+        return ItemBuilder.from(iconMaterial).name(Component.text(processedName)).lore(processedLore).build();
+    }
+
+    private MenuSnapshot.Menu<ArenaTheme> buildArenaThemeMenu(Collection<ArenaTheme> themes, MenuSnapshot.Pagination pagination) {
+        String title = configManager.getColoredString("gui.arena-selection.title", "&1&lSelect Arena Theme");
+        int rows = configManager.getConfig().getInt("gui.arena-selection.rows", 4);
+        int pageSize = configManager.getConfig().getInt("gui.arena-selection.items-per-page", (rows - 1) * 9);
+        String noThemesMsg = configManager.getColoredString("gui.arena-selection.no-themes", "&cNo arena themes available.");
+        List<MenuSnapshot.Entry<ArenaTheme>> entries = new ArrayList<>();
+        for (ArenaTheme theme : themes) {
+            entries.add(new MenuSnapshot.Entry<>(0, 0, createArenaThemeItem(theme), theme));
+        }
+        int navRow = getNavigationRow(rows);
+        return new MenuSnapshot.Menu<>(Component.text(title), rows, pageSize, navRow,
+                entries, getNavigationFillerSlots(navRow, pagination), ItemBuilder.from(Material.BARRIER).name(Component.text(noThemesMsg)).build());
+    }
+    private ItemStack createArenaThemeItem(ArenaTheme theme) {
+        String nameFormat = configManager.getConfig().getString("gui.arena-selection.theme-item.name-format", "&b%theme_name%");
+        List<String> loreFormat = configManager.getConfig().getStringList("gui.arena-selection.theme-item.lore-format");
+        Material iconMaterial = parseMaterial(configManager.getConfig().getString("arena-themes." + theme.getId() + ".gui-icon"), Material.GRASS_BLOCK, "Arena Theme Icon (" + theme.getId() + ")");
+        String processedName = ChatColor.translateAlternateColorCodes('&', nameFormat.replace("%theme_name%", theme.getDisplayName()).replace("%theme_id%", theme.getId()));
+        List<Component> processedLore = createLore(loreFormat, "%theme_name%", theme.getDisplayName(), "%theme_id%", theme.getId());
+        return ItemBuilder.from(iconMaterial).name(Component.text(processedName)).lore(processedLore).build();
+    }
+
+    private int getNavigationRow(int rows) {
+        return Math.max(1, Math.min(configManager.getConfig().getInt("gui.pagination.navigation-row", rows), rows));
+    }
+
+    // Navigation row columns not taken by the back button or the pagination controls
+    private List<int[]> getNavigationFillerSlots(int navRow, MenuSnapshot.Pagination pagination) {
+        List<int[]> fillerSlots = new ArrayList<>();
+        for (int col = 2; col <= 9; col++) {
+            if (pagination.isValid() && (col == pagination.getPreviousCol() || col == pagination.getInfoCol() || col == pagination.getNextCol())) continue;
+            fillerSlots.add(new int[]{navRow, col});
+        }
+        return fillerSlots;
+    }
+
+    // --- Opening menus ---
+
+    public void openDifficultySelectionGUI(Player player) {
+        MenuSnapshot snapshot = getMenuSnapshot();
+        MenuSnapshot.Menu<String> menu = snapshot.getDifficultyMenu();
+        Gui gui = Gui.gui().title(menu.getTitle()).rows(menu.getRows()).disableAllInteractions().create();
         gui.setDefaultClickAction(event -> event.setCancelled(true));
-        if (bosses.isEmpty()) {
-            gui.setItem(rows / 2, 5, ItemBuilder.from(Material.BARRIER).name(Component.text(noBossesMsg)).asGuiItem());
-        } else {
-            for (BossDefinition bossDef : bosses) {
-                gui.addItem(createBossSelectionItem(player, bossDef));
-            }
+        GuiItem filler = new GuiItem(snapshot.getFiller().clone());
+        gui.getFiller().fillTop(filler);
+        gui.getFiller().fillBottom(filler);
+        if (menu.getEntries().isEmpty()) {
+            gui.setItem((menu.getRows() + 1) / 2, 5, new GuiItem(menu.getEmptyItem().clone()));
         }
-        int navRow = Math.max(1, Math.min(configManager.getConfig().getInt("gui.pagination.navigation-row", rows), rows));
-        addPaginationControls(gui, rows, navRow);
-        gui.setItem(navRow, 1, ItemBuilder.from(Material.ARROW).name(Component.text(ChatColor.RED + "<- Back to Difficulties")).asGuiItem(event -> {
-            playSoundForPlayer(player, soundNavClick, 1f, 0.9f);
-            openDifficultySelectionGUI(player);
-        }));
-        GuiItem filler = ItemBuilder.from(fillerMaterial).name(Component.text(" ")).asGuiItem();
-        for (int col = 1; col <= 9; col++) {
-            if (gui.getGuiItem(navRow) == null) {
-                gui.setItem(navRow, col, filler);
-            }
+        for (MenuSnapshot.Entry<String> entry : menu.getEntries()) {
+            String difficulty = entry.getValue();
+            gui.setItem(entry.getRow(), entry.getCol(), new GuiItem(entry.getItem().clone(), event -> {
+                playSoundForPlayer(player, soundItemSelect, 1f, 1.1f);
+                openBossSelectionGUI(player, difficulty);
+            }));
+        }
+        for (int[] slot : menu.getFillerSlots()) {
+            gui.setItem(slot[0], slot[1], filler);
         }
         gui.setOpenGuiAction(event -> playSoundForPlayer(player, soundOpen, 0.5f, 1f));
         gui.setCloseGuiAction(event -> playSoundForPlayer(player, soundClose, 0.5f, 1f));
-        gui.open(player);
+        try { gui.open(player); }
+        catch (Exception e) { plugin.getLogger().log(Level.SEVERE, "[GuiManager] Exception opening difficulty GUI for " + player.getName(), e); }
     }
-    private GuiItem createBossSelectionItem(Player player, BossDefinition bossDef) {
-        String nameFormat = configManager.getConfig().getString("gui.boss-item.name-format", "&6%boss_name%");
-        List<String> loreFormat = configManager.getConfig().getStringList("gui.boss-item.lore-format");
-        Material iconMaterial = parseMaterial(configManager.getConfig().getString("bosses." + bossDef.getId() + ".gui-icon"), Material.PLAYER_HEAD, "Boss Icon (" + bossDef.getId() + ")");
-        String processedName = ChatColor.translateAlternateColorCodes('&', nameFormat.replace("%boss_name%", bossDef.getDisplayName()));
-        Map<String, String> placeholders = new HashMap<>();
-        placeholders.put("%boss_name%", bossDef.getDisplayName());
-        placeholders.put("%gem_cost%", String.valueOf(bossDef.getGemCost()));
-        placeholders.put("%required_level%", bossDef.getRequiredLevel() > 0 ? String.valueOf(bossDef.getRequiredLevel()) : "None");
-        placeholders.put("%boss_description%", bossDef.getDescription().stream().collect(Collectors.joining("\n")));
-        List<Component> processedLore = createLore(loreFormat, placeholders);
-        return ItemBuilder.from(iconMaterial).name(Component.text(processedName)).lore(processedLore)
-                .asGuiItem(event -> {
+
+    public void openBossSelectionGUI(Player player, String selectedDifficulty) {
+        MenuSnapshot snapshot = getMenuSnapshot();
+        MenuSnapshot.Menu<BossDefinition> menu = snapshot.getBossMenu(selectedDifficulty);
+        if (menu == null) {
+            menu = buildBossMenu(bossManager.getCatalog(), selectedDifficulty, snapshot.getPagination()); // Difficulty without bosses
+        }
+        openPaginatedMenu(player, snapshot, menu, snapshot.getBackToDifficulties(),
+                () -> openDifficultySelectionGUI(player),
+                bossDef -> {
                     playSoundForPlayer(player, soundItemSelect, 1f, 1.2f);
                     openArenaThemeSelectionGUI(player, bossDef);
                 });
@@ -250,54 +331,51 @@ public class GuiManager {
             plugin.getLogger().severe("ArenaManager is null when trying to open Arena Theme Selection GUI!");
             return;
         }
-        String title = configManager.getColoredString("gui.arena-selection.title", "&1&lSelect Arena Theme");
-        int rows = configManager.getConfig().getInt("gui.arena-selection.rows", 4);
-        int pageSize = configManager.getConfig().getInt("gui.arena-selection.items-per-page", (rows - 1) * 9);
-        String noThemesMsg = configManager.getColoredString("gui.arena-selection.no-themes", "&cNo arena themes available.");
-        Collection<ArenaTheme> themes = currentArenaManager.getAllArenaThemes();
-        PaginatedGui gui = Gui.paginated().title(Component.text(title)).rows(rows).pageSize(pageSize).disableAllInteractions().create();
+        MenuSnapshot snapshot = getMenuSnapshot();
+        openPaginatedMenu(player, snapshot, snapshot.getArenaThemeMenu(), snapshot.getBackToBosses(),
+                () -> openBossSelectionGUI(player, selectedBoss.getDifficulty()),
+                theme -> {
+                    playSoundForPlayer(player, soundItemSelect, 1f, 1.3f);
+                    player.closeInventory();
+                    handleFinalSelection(player, selectedBoss, theme);
+                });
+    }
+
+    /**
+     * Opens a paginated menu from the snapshot. Only the click handlers are created per player.
+     */
+    private <T> void openPaginatedMenu(Player player, MenuSnapshot snapshot, MenuSnapshot.Menu<T> menu, ItemStack backItem, Runnable backAction, Consumer<T> selectAction) {
+        int rows = menu.getRows();
+        int navRow = menu.getNavigationRow();
+        PaginatedGui gui = Gui.paginated().title(menu.getTitle()).rows(rows).pageSize(menu.getPageSize()).disableAllInteractions().create();
         gui.setDefaultClickAction(event -> event.setCancelled(true));
-        if (themes.isEmpty()) {
-            gui.setItem(rows / 2, 5, ItemBuilder.from(Material.BARRIER).name(Component.text(noThemesMsg)).asGuiItem());
+        if (menu.getEntries().isEmpty()) {
+            gui.setItem(rows / 2, 5, new GuiItem(menu.getEmptyItem().clone()));
         } else {
-            for (ArenaTheme theme : themes) {
-                gui.addItem(createArenaThemeItem(player, selectedBoss, theme));
+            for (MenuSnapshot.Entry<T> entry : menu.getEntries()) {
+                T value = entry.getValue();
+                gui.addItem(new GuiItem(entry.getItem().clone(), event -> selectAction.accept(value)));
             }
         }
-        int navRow = Math.max(1, Math.min(configManager.getConfig().getInt("gui.pagination.navigation-row", rows), rows));
-        addPaginationControls(gui, rows, navRow);
-        gui.setItem(navRow, 1, ItemBuilder.from(Material.ARROW).name(Component.text(ChatColor.RED + "<- Back to Bosses")).asGuiItem(event -> {
+        addPaginationControls(gui, snapshot.getPagination(), navRow);
+        gui.setItem(navRow, 1, new GuiItem(backItem.clone(), event -> {
             playSoundForPlayer(player, soundNavClick, 1f, 0.9f);
-            openBossSelectionGUI(player, selectedBoss.getDifficulty());
+            backAction.run();
         }));
-        GuiItem filler = ItemBuilder.from(fillerMaterial).name(Component.text(" ")).asGuiItem();
-        for (int col = 1; col <= 9; col++) {
-            if (gui.getGuiItem(navRow) == null) {
-                gui.setItem(navRow, col, filler);
-            }
+        GuiItem filler = new GuiItem(snapshot.getFiller().clone());
+        for (int[] slot : menu.getFillerSlots()) {
+            gui.setItem(slot[0], slot[1], filler);
         }
         gui.setOpenGuiAction(event -> playSoundForPlayer(player, soundOpen, 0.5f, 1f));
         gui.setCloseGuiAction(event -> playSoundForPlayer(player, soundClose, 0.5f, 1f));
         gui.open(player);
     }
-    private GuiItem createArenaThemeItem(Player player, BossDefinition selectedBoss, ArenaTheme theme) {
-        String nameFormat = configManager.getConfig().getString("gui.arena-selection.theme-item.name-format", "&b%theme_name%");
-        List<String> loreFormat = configManager.getConfig().getStringList("gui.arena-selection.theme-item.lore-format");
-        Material iconMaterial = parseMaterial(configManager.getConfig().getString("arena-themes." + theme.getId() + ".gui-icon"), Material.GRASS_BLOCK, "Arena Theme Icon (" + theme.getId() + ")");
-        String processedName = ChatColor.translateAlternateColorCodes('&', nameFormat.replace("%theme_name%", theme.getDisplayName()).replace("%theme_id%", theme.getId()));
-        Map<String, String> placeholders = new HashMap<>();
-        placeholders.put("%theme_name%", theme.getDisplayName());
-        placeholders.put("%theme_id%", theme.getId());
-        List<Component> processedLore = createLore(loreFormat, placeholders);
-        return ItemBuilder.from(iconMaterial).name(Component.text(processedName)).lore(processedLore)
-                .asGuiItem(event -> {
-                    playSoundForPlayer(player, soundItemSelect, 1f, 1.3f);
-                    player.closeInventory();
-                    handleFinalSelection(player, selectedBoss, theme);
-                });
-    }
 
     // --- GUI Step 4: Final Handling (Integrate Checks) ---
+    // The party lookup and a speculative arena reservation run in parallel. Once the checks pass the
+    // reservation is used (commit); if they fail it is handed back (rollback). Without a reservation the
+    // request goes through the normal queued path after payment. The cost is withdrawn into an escrow on the
+    // economy thread and only kept once the event has started; every failure after payment refunds it.
     private void handleFinalSelection(Player player, BossDefinition selectedBoss, ArenaTheme selectedTheme) {
         player.sendMessage(configManager.getPrefix() + ChatColor.GREEN + "Selected Boss: " + selectedBoss.getDisplayName() +
                 ChatColor.GREEN + " | Arena: " + selectedTheme.getDisplayName());
@@ -309,113 +387,245 @@ public class GuiManager {
             plugin.getLogger().severe("PartyInfoManager is null! Cannot perform party checks for " + player.getName());
             return;
         }
+        ArenaManager currentArenaManager = getArenaManager();
+        if (currentArenaManager == null) {
+            player.sendMessage(configManager.getPrefix() + ChatColor.RED + "Critical Error: Arena Manager is not available!");
+            return;
+        }
+        if (currentArenaManager.getRequestQueue().contains(player.getUniqueId())) {
+            player.sendMessage(configManager.getMessage("queue-already-waiting")); return;
+        }
+        EconomyEscrow currentEscrow = getEconomyEscrow();
+        if (currentEscrow == null) { player.sendMessage(configManager.getMessage("economy-error")); plugin.getLogger().severe("Vault Economy provider is null for " + player.getName() + "!"); return; }
+        double cost = selectedBoss.getGemCost();
+
+        StartPipelineMetrics startMetrics = currentArenaManager.getStartMetrics();
+        long pipelineStartedAt = System.currentTimeMillis();
 
-        // 1. Request Party Info (Asynchronous)
+        // 1. Speculative arena reservation and party info request (both asynchronous, in parallel)
+        CompletableFuture<ArenaInstance> reservation = currentArenaManager.reserveArena(selectedTheme.getId());
+        reservation.thenAccept(instance -> {
+            if (instance != null) startMetrics.record(StartPipelineMetrics.Stage.ARENA_RESERVE, System.currentTimeMillis() - pipelineStartedAt);
+        });
         currentPartyManager.requestPartyInfo(player).whenComplete((partyInfo, throwable) -> {
+            startMetrics.record(StartPipelineMetrics.Stage.PARTY_LOOKUP, System.currentTimeMillis() - pipelineStartedAt);
             Bukkit.getScheduler().runTask(plugin, () -> { // Ensure all subsequent logic runs on main thread
-                if (throwable != null) {
-                    player.sendMessage(configManager.getMessage("party-check-fail"));
-                    plugin.getLogger().log(Level.WARNING, "Party info request future completed exceptionally for " + player.getName(), throwable);
-                    return;
-                }
-                if (partyInfo == null || !partyInfo.isSuccess()) {
-                    player.sendMessage(configManager.getMessage("party-check-fail"));
-                    plugin.getLogger().warning("Party info request unsuccessful for " + player.getName() + " (Response success=" + (partyInfo != null && partyInfo.isSuccess()) + ")");
-                    return;
-                }
-
                 // 2. Perform Party Checks
-                if (!partyInfo.isInParty()) { player.sendMessage(configManager.getMessage("not-in-party")); return; }
-                if (!partyInfo.isLeader()) { player.sendMessage(configManager.getMessage("not-party-leader")); return; }
-                int minSize = configManager.getMinPartySize(); int maxSize = configManager.getMaxPartySize();
-                if (partyInfo.getPartySize() < minSize) { Map<String, String> r = new HashMap<>(); r.put("%min_size%", String.valueOf(minSize)); player.sendMessage(configManager.getMessage("party-too-small", r)); return; }
-                if (partyInfo.getPartySize() > maxSize) { Map<String, String> r = new HashMap<>(); r.put("%max_size%", String.valueOf(maxSize)); player.sendMessage(configManager.getMessage("party-too-large", r)); return; }
-
+                if (!checkParty(player, partyInfo, throwable)) { rollbackReservation(reservation); return; }
                 player.sendMessage(configManager.getPrefix() + ChatColor.AQUA + "Party checks passed. Checking economy...");
 
-                // 3. Perform Economy Checks
-                Economy currentEconomy = getEconomy();
-                if (currentEconomy == null) { player.sendMessage(configManager.getMessage("economy-error")); plugin.getLogger().severe("Vault Economy provider is null for " + player.getName() + "!"); return; }
-                double cost = selectedBoss.getGemCost();
-                // The player initiating the GUI is the one whose balance is checked and charged (assumed to be party leader from previous check)
-                if (!currentEconomy.has(player, cost)) {
-                    Map<String, String> r = new HashMap<>(); r.put("%cost%", String.valueOf(cost));
-                    player.sendMessage(configManager.getMessage("not-enough-gems", r)); return;
+                // 3. Hold the cost in escrow, off the main thread. Charged to the initiator (the party leader,
+                // see the previous check) or split across the party as one batch.
+                Map<UUID, Double> shares;
+                if (configManager.getConfig().getBoolean("economy.split-cost", false) && partyInfo.getMemberUUIDs() != null && !partyInfo.getMemberUUIDs().isEmpty()) {
+                    shares = EconomyEscrow.split(partyInfo.getMemberUUIDs(), cost);
+                } else {
+                    shares = new HashMap<>();
+                    shares.put(player.getUniqueId(), cost);
                 }
+                long holdStartedAt = System.currentTimeMillis();
+                currentEscrow.hold(shares).whenComplete((escrow, holdThrowable) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                    startMetrics.record(StartPipelineMetrics.Stage.ECONOMY_HOLD, System.currentTimeMillis() - holdStartedAt);
+                    if (holdThrowable != null) {
+                        reportHoldFailure(player, holdThrowable);
+                        rollbackReservation(reservation);
+                        return;
+                    }
+                    notifyPayment(player, escrow);
+                    player.sendMessage(configManager.getMessage("event-starting", "%boss_name%", selectedBoss.getDisplayName()));
+
+                    // 4. Commit the reservation, or fall back to a (possibly queued) arena request
+                    reservation.whenComplete((reserved, reserveThrowable) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                        ArenaManager commitArenaManager = getArenaManager();
+                        if (commitArenaManager == null) {
+                            player.sendMessage(configManager.getPrefix() + ChatColor.RED + "Critical Error: Arena Manager is not available!");
+                            escrow.refund();
+                            plugin.getLogger().severe("ArenaManager became null before arena request for " + player.getName());
+                            return;
+                        }
+                        if (reserveThrowable == null && reserved != null && reserved.getState() == ArenaInstance.ArenaState.PREPARING) {
+                            startMetrics.recordSpeculativeHit();
+                            startInArena(player, partyInfo, selectedBoss, reserved, escrow, pipelineStartedAt);
+                            return;
+                        }
+                        if (reserved != null) commitArenaManager.releaseReservation(reserved);
+                        startMetrics.recordFallback();
+                        requestQueuedArena(player, partyInfo, selectedBoss, selectedTheme, escrow, pipelineStartedAt);
+                    }));
+                }));
+            });
+        });
+    }
 
-                EconomyResponse econResponse = currentEconomy.withdrawPlayer(player, cost);
-                if (!econResponse.transactionSuccess()) {
-                    player.sendMessage(configManager.getMessage("economy-error"));
-                    plugin.getLogger().warning("Vault withdrawal failed for " + player.getName() + " (Cost: " + cost + "). Reason: " + econResponse.errorMessage);
-                    return;
-                }
-                player.sendMessage(configManager.getPrefix() + ChatColor.GREEN + "Payment successful. " + cost + " gems deducted.");
+    /**
+     * Tells the initiator why the cost could not be held. Nothing was withdrawn in that case.
+     */
+    private void reportHoldFailure(Player player, Throwable throwable) {
+        EconomyEscrow.EscrowException failure = EconomyEscrow.unwrap(throwable);
+        if (failure == null) {
+            player.sendMessage(configManager.getMessage("economy-error"));
+            plugin.getLogger().log(Level.SEVERE, "Economy escrow failed for " + player.getName(), throwable);
+        } else if (failure.getReason() != EconomyEscrow.FailureReason.INSUFFICIENT_FUNDS) {
+            player.sendMessage(configManager.getMessage("economy-error"));
+        } else if (failure.getPayer().equals(player.getUniqueId())) {
+            player.sendMessage(configManager.getMessage("not-enough-gems", "%cost%", String.valueOf(failure.getAmount())));
+        } else {
+            String payerName = Bukkit.getOfflinePlayer(failure.getPayer()).getName();
+            player.sendMessage(configManager.getMessage("split-cost-insufficient", "%player%", payerName != null ? payerName : failure.getPayer().toString(), "%cost%", String.valueOf(failure.getAmount())));
+        }
+    }
 
-                // 4. Request Arena
-                player.sendMessage(configManager.getMessage("event-starting", Collections.singletonMap("%boss_name%", selectedBoss.getDisplayName())));
+    /**
+     * Tells every online payer what was deducted from them.
+     */
+    private void notifyPayment(Player player, EconomyEscrow.Escrow escrow) {
+        for (Map.Entry<UUID, Double> holding : escrow.getHoldings().entrySet()) {
+            if (holding.getKey().equals(player.getUniqueId())) {
+                player.sendMessage(configManager.getPrefix() + ChatColor.GREEN + "Payment successful. " + holding.getValue() + " gems deducted.");
+                continue;
+            }
+            Player payer = Bukkit.getPlayer(holding.getKey());
+            if (payer != null && payer.isOnline()) {
+                payer.sendMessage(configManager.getMessage("split-cost-charged", "%cost%", String.valueOf(holding.getValue()), "%player%", player.getName()));
+            }
+        }
+    }
+
+    /**
+     * Checks the party info response, telling the player why it failed.
+     * @return true if the player may start the event.
+     */
+    private boolean checkParty(Player player, PartyInfo partyInfo, Throwable throwable) {
+        if (throwable != null) {
+            player.sendMessage(configManager.getMessage("party-check-fail"));
+            plugin.getLogger().log(Level.WARNING, "Party info request future completed exceptionally for " + player.getName(), throwable);
+            return false;
+        }
+        if (partyInfo == null || !partyInfo.isSuccess()) {
+            player.sendMessage(configManager.getMessage("party-check-fail"));
+            plugin.getLogger().warning("Party info request unsuccessful for " + player.getName() + " (Response success=" + (partyInfo != null && partyInfo.isSuccess()) + ")");
+            return false;
+        }
+        if (!partyInfo.isInParty()) { player.sendMessage(configManager.getMessage("not-in-party")); return false; }
+        if (!partyInfo.isLeader()) { player.sendMessage(configManager.getMessage("not-party-leader")); return false; }
+        int minSize = configManager.getMinPartySize(); int maxSize = configManager.getMaxPartySize();
+        if (partyInfo.getPartySize() < minSize) { player.sendMessage(configManager.getMessage("party-too-small", "%min_size%", String.valueOf(minSize))); return false; }
+        if (partyInfo.getPartySize() > maxSize) { player.sendMessage(configManager.getMessage("party-too-large", "%max_size%", String.valueOf(maxSize))); return false; }
+        return true;
+    }
+
+    /**
+     * Hands back a speculative reservation once it resolves, if it produced an arena.
+     */
+    private void rollbackReservation(CompletableFuture<ArenaInstance> reservation) {
+        reservation.thenAccept(instance -> {
+            if (instance == null) return;
+            Bukkit.getScheduler().runTask(plugin, () -> {
                 ArenaManager currentArenaManager = getArenaManager();
-                if (currentArenaManager == null) {
-                    player.sendMessage(configManager.getPrefix() + ChatColor.RED + "Critical Error: Arena Manager is not available!");
-                    currentEconomy.depositPlayer(player, cost); // Attempt to refund
-                    plugin.getLogger().severe("ArenaManager became null before arena request for " + player.getName());
-                    return;
-                }
+                if (currentArenaManager == null) return;
+                currentArenaManager.getStartMetrics().recordRollback();
+                currentArenaManager.releaseReservation(instance);
+            });
+        });
+    }
 
-                currentArenaManager.requestArena(selectedTheme.getId()).whenComplete((arenaInstance, arenaThrowable) -> {
-                    Bukkit.getScheduler().runTask(plugin, () -> { // Ensure response handling is on main thread
-                        if (arenaThrowable != null || arenaInstance == null) {
-                            player.sendMessage(configManager.getMessage("arena-request-failed"));
-                            plugin.getLogger().log(Level.SEVERE, "Arena request failed for player " + player.getName() + " and theme " + selectedTheme.getId(), arenaThrowable);
-                            currentEconomy.depositPlayer(player, cost); // Attempt to refund
-                        } else {
-                            player.sendMessage(configManager.getPrefix() + ChatColor.GREEN + "Arena ready! Teleporting party and starting event...");
-
-                            // Get ONLINE party members on THIS server
-                            List<Player> onlinePartyMembers = new ArrayList<>();
-                            if (partyInfo.getMemberUUIDs() != null) {
-                                for (UUID memberUUID : partyInfo.getMemberUUIDs()) {
-                                    Player member = Bukkit.getPlayer(memberUUID);
-                                    // Ensure player is online AND on the same server where BossEventManager is running
-                                    if (member != null && member.isOnline()) {
-                                        onlinePartyMembers.add(member);
-                                    }
-                                }
-                            }
-
-                            if (onlinePartyMembers.isEmpty()) {
-                                plugin.getLogger().warning("No online party members found on this server for arena " + arenaInstance.getInstanceId() + " (Initiator: " + player.getName() + "). Aborting event start.");
-                                player.sendMessage(configManager.getPrefix() + ChatColor.RED + "Could not find any online party members on this server to start the event. Refunding cost.");
-                                if (getArenaManager() != null) { // Re-check arenaManager before calling endEvent
-                                    getArenaManager().endEvent(arenaInstance); // Clean up the unused arena
-                                }
-                                currentEconomy.depositPlayer(player, cost); // Refund
-                            } else {
-                                // Ensure initiator is in the list if they are online
-                                // This is a safeguard, as the partyInfo should include them.
-                                boolean initiatorFound = false;
-                                for(Player p : onlinePartyMembers) {
-                                    if(p.getUniqueId().equals(player.getUniqueId())) {
-                                        initiatorFound = true;
-                                        break;
-                                    }
-                                }
-                                if(!initiatorFound && player.isOnline()){
-                                    plugin.getLogger().info("Initiator " + player.getName() + " was not in the online member list, adding them for event start.");
-                                    onlinePartyMembers.add(player); // Add initiator if they are online but somehow missed
-                                }
-
-                                getArenaManager().startEvent(arenaInstance, onlinePartyMembers, selectedBoss);
-                            }
-                        }
-                    });
-                });
+    /**
+     * Requests an arena through the admission queue after payment. Used when no arena could be reserved up front.
+     */
+    private void requestQueuedArena(Player player, PartyInfo partyInfo, BossDefinition selectedBoss, ArenaTheme selectedTheme, EconomyEscrow.Escrow escrow, long pipelineStartedAt) {
+        int queuePriority = player.hasPermission("bosseventmanager.queue.priority") ? 1 : 0;
+        getArenaManager().requestArena(selectedTheme.getId(), player.getUniqueId(), queuePriority, new ArenaRequestQueue.Listener() {
+            @Override
+            public void onQueued(int position, long etaMillis) {
+                player.sendMessage(configManager.getMessage("queue-joined", "%position%", String.valueOf(position), "%eta%", formatEta(etaMillis)));
+            }
+
+            @Override
+            public void onPositionUpdate(int position, long etaMillis) {
+                player.sendActionBar(configManager.getMessageComponent("queue-position", "%position%", String.valueOf(position), "%eta%", formatEta(etaMillis)));
+            }
+        }).whenComplete((arenaInstance, arenaThrowable) -> {
+            Bukkit.getScheduler().runTask(plugin, () -> { // Ensure response handling is on main thread
+                if (arenaThrowable instanceof ArenaRequestQueue.QueueException) {
+                    switch (((ArenaRequestQueue.QueueException) arenaThrowable).getReason()) {
+                        case FULL: player.sendMessage(configManager.getMessage("max-arenas-reached")); break;
+                        case TIMED_OUT: player.sendMessage(configManager.getMessage("queue-timeout")); break;
+                        default: break; // Cancelled, the player left
+                    }
+                    escrow.refund();
+                } else if (arenaThrowable != null || arenaInstance == null) {
+                    player.sendMessage(configManager.getMessage("arena-request-failed"));
+                    plugin.getLogger().log(Level.SEVERE, "Arena request failed for player " + player.getName() + " and theme " + selectedTheme.getId(), arenaThrowable);
+                    escrow.refund();
+                } else {
+                    startInArena(player, partyInfo, selectedBoss, arenaInstance, escrow, pipelineStartedAt);
+                }
             });
         });
     }
 
+    /**
+     * Starts the event in an arena the party has paid for. The escrow is settled once the event started
+     * and refunded otherwise. Must be called on the main thread.
+     */
+    private void startInArena(Player player, PartyInfo partyInfo, BossDefinition selectedBoss, ArenaInstance arenaInstance, EconomyEscrow.Escrow escrow, long pipelineStartedAt) {
+        player.sendMessage(configManager.getPrefix() + ChatColor.GREEN + "Arena ready! Teleporting party and starting event...");
+
+        // Get ONLINE party members on THIS server
+        List<Player> onlinePartyMembers = new ArrayList<>();
+        if (partyInfo.getMemberUUIDs() != null) {
+            for (UUID memberUUID : partyInfo.getMemberUUIDs()) {
+                Player member = Bukkit.getPlayer(memberUUID);
+                // Ensure player is online AND on the same server where BossEventManager is running
+                if (member != null && member.isOnline()) {
+                    onlinePartyMembers.add(member);
+                }
+            }
+        }
+
+        if (onlinePartyMembers.isEmpty()) {
+            plugin.getLogger().warning("No online party members found on this server for arena " + arenaInstance.getInstanceId() + " (Initiator: " + player.getName() + "). Aborting event start.");
+            player.sendMessage(configManager.getPrefix() + ChatColor.RED + "Could not find any online party members on this server to start the event. Refunding cost.");
+            if (getArenaManager() != null) { // Re-check arenaManager before calling endEvent
+                getArenaManager().endEvent(arenaInstance); // Clean up the unused arena
+            }
+            escrow.refund();
+            return;
+        }
+        // Ensure initiator is in the list if they are online
+        // This is a safeguard, as the partyInfo should include them.
+        boolean initiatorFound = false;
+        for(Player p : onlinePartyMembers) {
+            if(p.getUniqueId().equals(player.getUniqueId())) {
+                initiatorFound = true;
+                break;
+            }
+        }
+        if(!initiatorFound && player.isOnline()){
+            plugin.getLogger().info("Initiator " + player.getName() + " was not in the online member list, adding them for event start.");
+            onlinePartyMembers.add(player); // Add initiator if they are online but somehow missed
+        }
+
+        ArenaManager currentArenaManager = getArenaManager();
+        currentArenaManager.startEvent(arenaInstance, onlinePartyMembers, selectedBoss).whenComplete((started, startThrowable) -> {
+            if (startThrowable == null && started) {
+                escrow.settle();
+                currentArenaManager.getStartMetrics().record(StartPipelineMetrics.Stage.TOTAL, System.currentTimeMillis() - pipelineStartedAt);
+            } else {
+                escrow.refund();
+                if (player.isOnline()) player.sendMessage(configManager.getMessage("event-start-refunded"));
+            }
+        });
+    }
+
+
+    private static String formatEta(long etaMillis) {
+        long seconds = Math.max(0, (etaMillis + 999) / 1000);
+        return seconds < 60 ? seconds + "s" : (seconds / 60) + "m " + (seconds % 60) + "s";
+    }
 
     // --- Helper for Pagination Controls ---
-    private void addPaginationControls(PaginatedGui gui, int totalRows, int navRow) {
+    private MenuSnapshot.Pagination buildPagination() {
         int prevCol = configManager.getConfig().getInt("gui.pagination.previous-page-col", 3);
         int infoCol = configManager.getConfig().getInt("gui.pagination.page-info-col", 5);
         int nextCol = configManager.getConfig().getInt("gui.pagination.next-page-col", 7);
@@ -423,54 +633,47 @@ public class GuiManager {
         Material prevMat = parseMaterial(configManager.getConfig().getString("gui.pagination.previous-page-item.material"), Material.PAPER, "Prev Page Item");
         String nextName = configManager.getColoredString("gui.pagination.next-page-item.name", "&aNext ->");
         Material nextMat = parseMaterial(configManager.getConfig().getString("gui.pagination.next-page-item.material"), Material.PAPER, "Next Page Item");
+        Material infoMat = parseMaterial(configManager.getConfig().getString("gui.pagination.page-info-item.material"), Material.MAP, "Page Info Item");
+        List<String> infoLoreFormat = configManager.getConfig().getStringList("gui.pagination.page-info-item.lore");
 
-        if (prevCol < 1 || prevCol > 9 || infoCol < 1 || infoCol > 9 || nextCol < 1 || nextCol > 9) { plugin.getLogger().warning("Invalid column configuration for pagination controls."); return; }
+        if (prevCol < 1 || prevCol > 9 || infoCol < 1 || infoCol > 9 || nextCol < 1 || nextCol > 9) { plugin.getLogger().warning("Invalid column configuration for pagination controls."); }
 
-        gui.setItem(navRow, prevCol, ItemBuilder.from(prevMat).name(Component.text(prevName)).glow(gui.getCurrentPageNum() > 1)
-                .asGuiItem(event -> {
-                    event.setCancelled(true);
-                    if (gui.previous()) {
-                        playSoundForPlayer(event.getWhoClicked(), soundNavClick, 1f, 1f);
-                        updatePaginationControls(gui, navRow, prevCol, infoCol, nextCol);
-                    } else { playSoundForPlayer(event.getWhoClicked(), soundNavFail, 1f, 0.8f); }
-                }));
-        updatePageInfoItem(gui, navRow, infoCol);
-        gui.setItem(navRow, nextCol, ItemBuilder.from(nextMat).name(Component.text(nextName)).glow(gui.getCurrentPageNum() < gui.getPagesNum())
-                .asGuiItem(event -> {
-                    event.setCancelled(true);
-                    if (gui.next()) {
-                        playSoundForPlayer(event.getWhoClicked(), soundNavClick, 1f, 1f);
-                        updatePaginationControls(gui, navRow, prevCol, infoCol, nextCol);
-                    } else { playSoundForPlayer(event.getWhoClicked(), soundNavFail, 1f, 0.8f); }
-                }));
+        return new MenuSnapshot.Pagination(prevCol, infoCol, nextCol,
+                ItemBuilder.from(prevMat).name(Component.text(prevName)).glow(false).build(),
+                ItemBuilder.from(prevMat).name(Component.text(prevName)).glow(true).build(),
+                ItemBuilder.from(nextMat).name(Component.text(nextName)).glow(false).build(),
+                ItemBuilder.from(nextMat).name(Component.text(nextName)).glow(true).build(),
+                (currentPage, totalPages) -> {
+                    List<Component> lore = createLore(infoLoreFormat, "%current%", String.valueOf(currentPage), "%total%", String.valueOf(totalPages));
+                    return ItemBuilder.from(infoMat).name(Component.text(ChatColor.YELLOW + "Page " + currentPage + "/" + totalPages)).lore(lore).build();
+                });
     }
-    private void updatePaginationControls(PaginatedGui gui, int navRow, int prevCol, int infoCol, int nextCol) {
-        updatePageInfoItem(gui, navRow, infoCol);
-        GuiItem prevItem = gui.getGuiItem(navRow);
-        if (prevItem != null) {
-            String prevName = configManager.getColoredString("gui.pagination.previous-page-item.name", "&c<- Prev");
-            Material prevMat = parseMaterial(configManager.getConfig().getString("gui.pagination.previous-page-item.material"), Material.PAPER, "Prev Page Item");
-            prevItem = ItemBuilder.from(prevMat).name(Component.text(prevName)).glow(gui.getCurrentPageNum() > 1).asGuiItem();
-            gui.updateItem(navRow, prevCol, prevItem);
-        }
-        GuiItem nextItem = gui.getGuiItem(navRow);
-        if (nextItem != null) {
-            String nextName = configManager.getColoredString("gui.pagination.next-page-item.name", "&aNext ->");
-            Material nextMat = parseMaterial(configManager.getConfig().getString("gui.pagination.next-page-item.material"), Material.PAPER, "Next Page Item");
-            nextItem = ItemBuilder.from(nextMat).name(Component.text(nextName)).glow(gui.getCurrentPageNum() < gui.getPagesNum()).asGuiItem();
-            gui.updateItem(navRow, nextCol, nextItem);
-        }
+    private void addPaginationControls(PaginatedGui gui, MenuSnapshot.Pagination pagination, int navRow) {
+        if (!pagination.isValid()) return;
+        gui.setItem(navRow, pagination.getPreviousCol(), new GuiItem(pagination.getPrevious(gui.getCurrentPageNum() > 1).clone(), event -> {
+            event.setCancelled(true);
+            if (gui.previous()) {
+                playSoundForPlayer(event.getWhoClicked(), soundNavClick, 1f, 1f);
+                updatePaginationControls(gui, pagination, navRow);
+            } else { playSoundForPlayer(event.getWhoClicked(), soundNavFail, 1f, 0.8f); }
+        }));
+        gui.setItem(navRow, pagination.getInfoCol(), new GuiItem(getPageInfoItem(gui, pagination), event -> event.setCancelled(true)));
+        gui.setItem(navRow, pagination.getNextCol(), new GuiItem(pagination.getNext(gui.getCurrentPageNum() < gui.getPagesNum()).clone(), event -> {
+            event.setCancelled(true);
+            if (gui.next()) {
+                playSoundForPlayer(event.getWhoClicked(), soundNavClick, 1f, 1f);
+                updatePaginationControls(gui, pagination, navRow);
+            } else { playSoundForPlayer(event.getWhoClicked(), soundNavFail, 1f, 0.8f); }
+        }));
     }
-    private void updatePageInfoItem(PaginatedGui gui, int row, int col) {
-        Material infoMat = parseMaterial(configManager.getConfig().getString("gui.pagination.page-info-item.material"), Material.MAP, "Page Info Item");
-        List<String> infoLoreFormat = configManager.getConfig().getStringList("gui.pagination.page-info-item.lore");
-        String currentPage = String.valueOf(gui.getCurrentPageNum());
-        String totalPages = String.valueOf(Math.max(1, gui.getPagesNum()));
-        Map<String, String> placeholders = new HashMap<>();
-        placeholders.put("%current%", currentPage); placeholders.put("%total%", totalPages);
-        List<Component> lore = createLore(infoLoreFormat, placeholders);
-        GuiItem pageInfoItem = ItemBuilder.from(infoMat).name(Component.text(ChatColor.YELLOW + "Page " + currentPage + "/" + totalPages)).lore(lore).asGuiItem(event -> event.setCancelled(true));
-        gui.setItem(row, col, pageInfoItem);
+    // Swaps only the item stacks, so the click handlers set in addPaginationControls stay in place
+    private void updatePaginationControls(PaginatedGui gui, MenuSnapshot.Pagination pagination, int navRow) {
+        gui.updateItem(navRow, pagination.getInfoCol(), getPageInfoItem(gui, pagination));
+        gui.updateItem(navRow, pagination.getPreviousCol(), pagination.getPrevious(gui.getCurrentPageNum() > 1).clone());
+        gui.updateItem(navRow, pagination.getNextCol(), pagination.getNext(gui.getCurrentPageNum() < gui.getPagesNum()).clone());
+    }
+    private ItemStack getPageInfoItem(PaginatedGui gui, MenuSnapshot.Pagination pagination) {
+        return pagination.getPageInfo(gui.getCurrentPageNum(), Math.max(1, gui.getPagesNum())).clone();
     }
     private void playSoundForPlayer(HumanEntity player, Sound sound, float volume, float pitch) {
         if (player instanceof Player) { ((Player) player).playSound(player.getLocation(), sound, volume, pitch); }
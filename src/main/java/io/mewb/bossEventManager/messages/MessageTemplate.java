@@ -0,0 +1,151 @@
+package io.mewb.bossEventManager.messages;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A message compiled once at config load: pre-colored literal segments with placeholder slots between them.
+ * Rendering is a single pass into a per-thread reused builder.
+ * <p>
+ * Placeholders are %name% tokens. %prefix% is resolved at compile time. Values are color-translated when
+ * inserted, like the old replace-then-translate path, and slots without a value keep their token.
+ */
+public final class MessageTemplate {
+
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    private final String[] literals; // One more than slots: literal, slot, literal, slot, ..., literal
+    private final String[] slots;    // Placeholder tokens including the percent signs, e.g. "%boss_name%"
+    private final String constant;   // Fully rendered text when there are no slots
+    private volatile Component cachedComponent;
+
+    private MessageTemplate(String[] literals, String[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        this.constant = slots.length == 0 ? literals[0] : null;
+    }
+
+    /**
+     * Compiles a raw config message.
+     * @param raw The message with '&' color codes and %placeholders%.
+     * @param prefix The already colored plugin prefix substituted for %prefix%.
+     */
+    public static MessageTemplate compile(String raw, String prefix) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < raw.length()) {
+            char c = raw.charAt(i);
+            int end = c == '%' ? findPlaceholderEnd(raw, i) : -1;
+            if (end < 0) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            String token = raw.substring(i, end + 1);
+            if (token.equals("%prefix%")) {
+                literal.append(prefix);
+            } else {
+                literals.add(ChatColor.translateAlternateColorCodes('&', literal.toString()));
+                slots.add(token);
+                literal.setLength(0);
+            }
+            i = end + 1;
+        }
+        literals.add(ChatColor.translateAlternateColorCodes('&', literal.toString()));
+        return new MessageTemplate(literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    private static int findPlaceholderEnd(String raw, int start) {
+        for (int j = start + 1; j < raw.length(); j++) {
+            char c = raw.charAt(j);
+            if (c == '%') return j > start + 1 ? j : -1;
+            if (!(Character.isLetterOrDigit(c) || c == '_' || c == '-')) return -1;
+        }
+        return -1;
+    }
+
+    public boolean hasPlaceholders() {
+        return slots.length > 0;
+    }
+
+    /**
+     * Renders the message, taking slot values from a map keyed by placeholder token.
+     */
+    public String render(Map<String, String> replacements) {
+        if (constant != null) return constant;
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(literals[i]);
+            String value = replacements != null ? replacements.get(slots[i]) : null;
+            appendValue(builder, slots[i], value);
+        }
+        builder.append(literals[slots.length]);
+        return builder.toString();
+    }
+
+    /**
+     * Renders the message from alternating placeholder tokens and values, e.g. ("%player%", name).
+     */
+    public String render(String... placeholderPairs) {
+        if (constant != null) return constant;
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(literals[i]);
+            String value = null;
+            for (int p = 0; p + 1 < placeholderPairs.length; p += 2) {
+                if (slots[i].equals(placeholderPairs[p])) { value = placeholderPairs[p + 1]; break; }
+            }
+            appendValue(builder, slots[i], value);
+        }
+        builder.append(literals[slots.length]);
+        return builder.toString();
+    }
+
+    private static void appendValue(StringBuilder builder, String token, String value) {
+        if (value == null) {
+            builder.append(token);
+        } else if (value.indexOf('&') >= 0) {
+            builder.append(ChatColor.translateAlternateColorCodes('&', value));
+        } else {
+            builder.append(value);
+        }
+    }
+
+    /**
+     * @return The message as an Adventure component. Cached for messages without placeholders.
+     */
+    public Component toComponent(Map<String, String> replacements) {
+        if (constant == null) {
+            return LegacyComponentSerializer.legacySection().deserialize(render(replacements));
+        }
+        return constantComponent();
+    }
+
+    /**
+     * @return The message as an Adventure component, from alternating placeholder tokens and values.
+     */
+    public Component toComponent(String... placeholderPairs) {
+        if (constant == null) {
+            return LegacyComponentSerializer.legacySection().deserialize(render(placeholderPairs));
+        }
+        return constantComponent();
+    }
+
+    private Component constantComponent() {
+        Component component = cachedComponent;
+        if (component == null) {
+            component = LegacyComponentSerializer.legacySection().deserialize(constant);
+            cachedComponent = component;
+        }
+        return component;
+    }
+}
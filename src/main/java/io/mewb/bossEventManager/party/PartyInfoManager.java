@@ -3,36 +3,101 @@ package io.mewb.bossEventManager.party;
 import com.google.common.io.ByteArrayDataOutput;
 import com.google.common.io.ByteStreams;
 import io.mewb.bossEventManager.BossEventManagerPlugin;
+import io.mewb.bossEventManager.arena.ArenaScheduler;
 import io.mewb.bossEventManager.party.PartyInfo;
 
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 /**
  * Manages requests for party information via BungeeCord plugin messaging
  * and handles the asynchronous responses.
+ * <p>
+ * Concurrent requests for the same player share one in-flight future. With batching enabled,
+ * requests made during a tick are sent together in one GET_PARTY_INFO_BATCH frame on the next tick,
+ * and the response is correlated by its request ID.
+ * <p>
+ * Successful results are cached per member UUID for party.cache-ttl-seconds. The proxy invalidates
+ * entries by pushing PARTY_CHANGED messages whenever a party is created, joined, left or disbanded.
  */
 public class PartyInfoManager {
 
+    private static final long REQUEST_TIMEOUT_TICKS = 100; // 5 seconds
+
     private final BossEventManagerPlugin plugin;
-    // Map to store pending requests: Player UUID -> Future that will hold the PartyInfo
+    // Map to store pending requests: Player UUID -> Future that will hold the PartyInfo. Shared by concurrent callers.
     private final Map<UUID, CompletableFuture<PartyInfo>> pendingRequests;
+    // Batch request ID -> players included in that frame
+    private final Map<Long, List<UUID>> pendingBatches = new ConcurrentHashMap<>();
+    private final AtomicLong nextRequestId = new AtomicLong();
+
+    // Players waiting for the next batch flush
+    private final Queue<UUID> queuedPlayers = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final boolean batchingEnabled;
+    private final int maxBatchSize;
+
+    // Member UUID -> cached party info
+    private final Map<UUID, CachedPartyInfo> partyCache = new ConcurrentHashMap<>();
+    // Bumped on every invalidation, so responses to requests sent before it are not cached
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+    private final long cacheTtlMillis;
+
+    // Message format negotiation, see PartyMessageCodec
+    private final String messageFormat;
+    private final boolean acceptLegacyMessages;
+    private volatile boolean binaryFormatNegotiated;
+    private static final int CACHE_PURGE_THRESHOLD = 1024;
 
     public PartyInfoManager(BossEventManagerPlugin plugin) {
         this.plugin = plugin;
         this.pendingRequests = new ConcurrentHashMap<>(); // Use ConcurrentHashMap for thread safety
+        this.batchingEnabled = plugin.getConfigManager().getConfig().getBoolean("party.batch-requests", false);
+        this.maxBatchSize = Math.max(1, plugin.getConfigManager().getConfig().getInt("party.max-batch-size", 64));
+        this.cacheTtlMillis = Math.max(0L, plugin.getConfigManager().getConfig().getLong("party.cache-ttl-seconds", 10L)) * 1000L;
+        this.messageFormat = plugin.getConfigManager().getConfig().getString("party.message-format", "auto").toLowerCase();
+        this.acceptLegacyMessages = plugin.getConfigManager().getConfig().getBoolean("party.accept-legacy-messages", true);
+        this.binaryFormatNegotiated = messageFormat.equals("binary");
+    }
+
+    /**
+     * @return true if requests are sent with the binary codec rather than writeUTF sub-channels.
+     */
+    public boolean isBinaryFormat() {
+        return binaryFormatNegotiated;
+    }
+
+    /**
+     * Called when the proxy sends a binary frame. In 'auto' mode this switches outgoing requests to the binary format.
+     */
+    public void binaryFormatSeen() {
+        if (!binaryFormatNegotiated && messageFormat.equals("auto")) {
+            binaryFormatNegotiated = true;
+            plugin.getLogger().info("Proxy supports the binary party message format, switching to it.");
+        }
+    }
+
+    public boolean isLegacyFormatAccepted() {
+        return acceptLegacyMessages || !binaryFormatNegotiated;
     }
 
     /**
      * Sends a request to the BungeeCord extension to get party info for a player.
      * Returns a CompletableFuture that will be completed when the response arrives.
+     * Cached results are returned immediately. If a request for the same player is already in flight,
+     * its future is returned instead.
      *
      * @param player The player whose party info is needed.
      * @return A CompletableFuture<PartyInfo>.
@@ -44,37 +109,225 @@ public class PartyInfoManager {
         }
 
         UUID playerUUID = player.getUniqueId();
-        CompletableFuture<PartyInfo> future = new CompletableFuture<>();
+        PartyInfo cached = getCachedPartyInfo(playerUUID);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
 
-        // Store the future, waiting for the response listener to complete it
-        pendingRequests.put(playerUUID, future);
+        long epochAtRequest = invalidationEpoch.get();
+        CompletableFuture<PartyInfo> newFuture = new CompletableFuture<>();
+        CompletableFuture<PartyInfo> existing = pendingRequests.putIfAbsent(playerUUID, newFuture);
+        if (existing != null) {
+            return existing; // Coalesce onto the in-flight request
+        }
+        CompletableFuture<PartyInfo> future = newFuture;
 
-        // Construct the plugin message payload
-        ByteArrayDataOutput out = ByteStreams.newDataOutput();
-        out.writeUTF("GET_PARTY_INFO"); // Sub-channel
-        out.writeUTF(playerUUID.toString()); // Player UUID
+        if (batchingEnabled) {
+            queuedPlayers.add(playerUUID);
+            scheduleFlush();
+        } else {
+            // Construct the plugin message payload
+            byte[] payload;
+            if (binaryFormatNegotiated) {
+                payload = PartyMessageCodec.encodeGetPartyInfo(playerUUID);
+            } else {
+                ByteArrayDataOutput out = ByteStreams.newDataOutput();
+                out.writeUTF("GET_PARTY_INFO"); // Sub-channel
+                out.writeUTF(playerUUID.toString()); // Player UUID
+                payload = out.toByteArray();
+            }
 
-        // Send the message to BungeeCord via the player's connection
-        player.sendPluginMessage(plugin, BossEventManagerPlugin.BUNGEE_CHANNEL, out.toByteArray());
-        // plugin.getLogger().info("Sent GET_PARTY_INFO request for player " + player.getName() + " (UUID: " + playerUUID + ")"); // Commented out
+            // Send the message to BungeeCord via the player's connection
+            player.sendPluginMessage(plugin, BossEventManagerPlugin.BUNGEE_CHANNEL, payload);
+            // plugin.getLogger().info("Sent GET_PARTY_INFO request for player " + player.getName() + " (UUID: " + playerUUID + ")"); // Commented out
+        }
 
         // Add a timeout for the request
-        future.completeOnTimeout(new PartyInfo(playerUUID), 5, TimeUnit.SECONDS); // Timeout after 5 seconds
+        ArenaScheduler.Timer timeout = plugin.getArenaScheduler().schedule(null, REQUEST_TIMEOUT_TICKS, () -> future.complete(new PartyInfo(playerUUID)));
 
         // Clean up the map when the future completes (either successfully or via timeout/exception)
         future.whenComplete((result, throwable) -> {
-            pendingRequests.remove(playerUUID);
+            pendingRequests.remove(playerUUID, future);
+            timeout.cancel(); // Responses and timeouts both complete on the main thread
             if (throwable != null) {
                 plugin.getLogger().log(Level.WARNING, "Party info request future completed exceptionally for " + playerUUID, throwable);
             } else if (result != null && !result.isSuccess()) {
                 plugin.getLogger().warning("Party info request failed or timed out for " + playerUUID);
+            } else if (result != null && invalidationEpoch.get() == epochAtRequest) {
+                cachePartyInfo(result);
             }
         });
 
-
         return future;
     }
 
+    // --- Cache ---
+
+    private PartyInfo getCachedPartyInfo(UUID playerUUID) {
+        if (cacheTtlMillis <= 0) return null;
+        CachedPartyInfo cached = partyCache.get(playerUUID);
+        if (cached == null) return null;
+        if (cached.isExpired(System.currentTimeMillis())) {
+            partyCache.remove(playerUUID, cached);
+            return null;
+        }
+        return cached.info;
+    }
+
+    /**
+     * Caches a successful result for the requested player. When the requested player is the leader,
+     * the other members' entries are known too (same party, not leader) and are cached as well.
+     */
+    private void cachePartyInfo(PartyInfo info) {
+        if (cacheTtlMillis <= 0 || !info.isSuccess() || info.getRequestedPlayerUUID() == null) return;
+        long now = System.currentTimeMillis();
+        long expiresAt = now + cacheTtlMillis;
+        if (partyCache.size() >= CACHE_PURGE_THRESHOLD) {
+            partyCache.values().removeIf(entry -> entry.isExpired(now));
+        }
+        partyCache.put(info.getRequestedPlayerUUID(), new CachedPartyInfo(info, expiresAt));
+        if (info.isLeader()) {
+            for (UUID memberUUID : info.getMemberUUIDs()) {
+                if (memberUUID.equals(info.getRequestedPlayerUUID())) continue;
+                PartyInfo memberInfo = new PartyInfo(memberUUID, false, info.getPartySize(), info.getMemberUUIDs());
+                partyCache.put(memberUUID, new CachedPartyInfo(memberInfo, expiresAt));
+            }
+        }
+    }
+
+    /**
+     * Drops cached party info for the given players and for everyone cached in the same party.
+     * Called when the proxy reports a party change.
+     */
+    public void invalidatePartyInfo(List<UUID> playerUUIDs) {
+        invalidationEpoch.incrementAndGet();
+        for (UUID playerUUID : playerUUIDs) {
+            CachedPartyInfo removed = partyCache.remove(playerUUID);
+            if (removed != null) {
+                for (UUID memberUUID : removed.info.getMemberUUIDs()) {
+                    partyCache.remove(memberUUID);
+                }
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        invalidationEpoch.incrementAndGet();
+        partyCache.clear();
+    }
+
+    private static class CachedPartyInfo {
+        private final PartyInfo info;
+        private final long expiresAt;
+
+        private CachedPartyInfo(PartyInfo info, long expiresAt) {
+            this.info = info;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    // --- Batching ---
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTask(plugin, this::flushQueuedRequests);
+        }
+    }
+
+    /**
+     * Sends all queued players in as few GET_PARTY_INFO_BATCH frames as possible. Runs on the main thread.
+     */
+    private void flushQueuedRequests() {
+        flushScheduled.set(false);
+        List<UUID> batch = new ArrayList<>(Math.min(maxBatchSize, 16));
+        UUID next;
+        while ((next = queuedPlayers.poll()) != null) {
+            CompletableFuture<PartyInfo> future = pendingRequests.get(next);
+            if (future == null || future.isDone()) continue; // Timed out before the flush
+            batch.add(next);
+            if (batch.size() >= maxBatchSize) {
+                sendBatch(batch);
+                batch = new ArrayList<>(Math.min(maxBatchSize, 16));
+            }
+        }
+        if (!batch.isEmpty()) {
+            sendBatch(batch);
+        }
+    }
+
+    private void sendBatch(List<UUID> playerUUIDs) {
+        Player carrier = findCarrier(playerUUIDs);
+        if (carrier == null) {
+            // Plugin messages need a player connection to travel through
+            for (UUID playerUUID : playerUUIDs) handlePartyInfoFailure(playerUUID);
+            return;
+        }
+
+        long requestId = nextRequestId.incrementAndGet();
+        pendingBatches.put(requestId, playerUUIDs);
+
+        byte[] payload;
+        if (binaryFormatNegotiated) {
+            payload = PartyMessageCodec.encodeGetPartyInfoBatch(requestId, playerUUIDs);
+        } else {
+            ByteArrayDataOutput out = ByteStreams.newDataOutput();
+            out.writeUTF("GET_PARTY_INFO_BATCH"); // Sub-channel
+            out.writeLong(requestId);
+            out.writeInt(playerUUIDs.size());
+            for (UUID playerUUID : playerUUIDs) {
+                out.writeUTF(playerUUID.toString());
+            }
+            payload = out.toByteArray();
+        }
+        carrier.sendPluginMessage(plugin, BossEventManagerPlugin.BUNGEE_CHANNEL, payload);
+
+        // Forget the batch once every player in it has a result, including timeouts
+        List<CompletableFuture<PartyInfo>> futures = new ArrayList<>(playerUUIDs.size());
+        for (UUID playerUUID : playerUUIDs) {
+            CompletableFuture<PartyInfo> future = pendingRequests.get(playerUUID);
+            if (future != null) futures.add(future);
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((v, t) -> pendingBatches.remove(requestId));
+    }
+
+    private Player findCarrier(List<UUID> playerUUIDs) {
+        for (UUID playerUUID : playerUUIDs) {
+            Player player = Bukkit.getPlayer(playerUUID);
+            if (player != null && player.isOnline()) return player;
+        }
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            return player;
+        }
+        return null;
+    }
+
+    /**
+     * Called by the PluginMessageListener when a batch response is received from BungeeCord.
+     * Players of the batch missing from the response are completed as failed.
+     *
+     * @param requestId The request ID the batch was sent with.
+     * @param results   Party info for each player the proxy answered for.
+     */
+    public void handleBatchResponse(long requestId, List<PartyInfo> results) {
+        List<UUID> batchPlayers = pendingBatches.remove(requestId);
+        if (batchPlayers == null) {
+            plugin.getLogger().warning("Received PARTY_INFO_BATCH_RESPONSE for request " + requestId + " but no pending batch was found (or it timed out).");
+            return;
+        }
+        for (PartyInfo info : results) {
+            CompletableFuture<PartyInfo> future = pendingRequests.get(info.getRequestedPlayerUUID());
+            if (future != null) future.complete(info);
+        }
+        for (UUID playerUUID : batchPlayers) {
+            CompletableFuture<PartyInfo> future = pendingRequests.get(playerUUID);
+            if (future != null) future.complete(new PartyInfo(playerUUID));
+        }
+    }
+
     /**
      * Called by the PluginMessageListener when a response is received from BungeeCord.
      * Completes the corresponding CompletableFuture.
@@ -107,4 +360,4 @@ public class PartyInfoManager {
             plugin.getLogger().warning("Received failed PARTY_INFO_RESPONSE for UUID " + playerUUID + " but no pending request was found (or it timed out).");
         }
     }
-}
\ No newline at end of file
+}
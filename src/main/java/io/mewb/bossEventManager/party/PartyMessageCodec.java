@@ -0,0 +1,264 @@
+package io.mewb.bossEventManager.party;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Versioned binary codec for messages on the bossevent:party channel.
+ * <p>
+ * Frame layout: magic byte, version byte, message type byte, then the payload.
+ * UUIDs are written as two big-endian longs and counts/IDs as unsigned varints,
+ * so decoding never goes through intermediate Strings.
+ * <p>
+ * Legacy frames start with a writeUTF sub-channel name, whose first byte is the high byte
+ * of the string length (always 0 for our names), so they can never be mistaken for a binary frame.
+ */
+public final class PartyMessageCodec {
+
+    public static final byte MAGIC = (byte) 0xBE;
+    public static final byte VERSION = 1;
+
+    public static final byte TYPE_GET_PARTY_INFO = 1;
+    public static final byte TYPE_GET_PARTY_INFO_BATCH = 2;
+    public static final byte TYPE_PARTY_INFO_RESPONSE = 3;
+    public static final byte TYPE_PARTY_INFO_BATCH_RESPONSE = 4;
+    public static final byte TYPE_PARTY_CHANGED = 5;
+
+    private static final int HEADER_SIZE = 3;
+    private static final int UUID_SIZE = 16;
+    private static final int FLAG_SUCCESS = 1;
+    private static final int FLAG_LEADER = 1 << 1;
+
+    private PartyMessageCodec() {
+    }
+
+    public static boolean isBinaryFrame(byte[] message) {
+        return message != null && message.length >= HEADER_SIZE && message[0] == MAGIC;
+    }
+
+    // --- Encoding ---
+
+    public static byte[] encodeGetPartyInfo(UUID playerUUID) {
+        Writer writer = new Writer(TYPE_GET_PARTY_INFO, UUID_SIZE);
+        writer.writeUuid(playerUUID);
+        return writer.toByteArray();
+    }
+
+    public static byte[] encodeGetPartyInfoBatch(long requestId, List<UUID> playerUUIDs) {
+        Writer writer = new Writer(TYPE_GET_PARTY_INFO_BATCH, 15 + playerUUIDs.size() * UUID_SIZE);
+        writer.writeVarLong(requestId);
+        writer.writeVarInt(playerUUIDs.size());
+        for (UUID playerUUID : playerUUIDs) {
+            writer.writeUuid(playerUUID);
+        }
+        return writer.toByteArray();
+    }
+
+    public static byte[] encodePartyInfoResponse(PartyInfo info) {
+        Writer writer = new Writer(TYPE_PARTY_INFO_RESPONSE, estimatePartyInfoSize(info));
+        writer.writePartyInfo(info);
+        return writer.toByteArray();
+    }
+
+    public static byte[] encodePartyInfoBatchResponse(long requestId, List<PartyInfo> results) {
+        int size = 15;
+        for (PartyInfo info : results) size += estimatePartyInfoSize(info);
+        Writer writer = new Writer(TYPE_PARTY_INFO_BATCH_RESPONSE, size);
+        writer.writeVarLong(requestId);
+        writer.writeVarInt(results.size());
+        for (PartyInfo info : results) {
+            writer.writePartyInfo(info);
+        }
+        return writer.toByteArray();
+    }
+
+    public static byte[] encodePartyChanged(List<UUID> playerUUIDs) {
+        Writer writer = new Writer(TYPE_PARTY_CHANGED, 5 + playerUUIDs.size() * UUID_SIZE);
+        writer.writeVarInt(playerUUIDs.size());
+        for (UUID playerUUID : playerUUIDs) {
+            writer.writeUuid(playerUUID);
+        }
+        return writer.toByteArray();
+    }
+
+    private static int estimatePartyInfoSize(PartyInfo info) {
+        return UUID_SIZE + 1 + 5 + 5 + info.getMemberUUIDs().size() * UUID_SIZE;
+    }
+
+    // --- Decoding ---
+
+    /**
+     * Opens a binary frame for reading.
+     * @throws IllegalArgumentException if the frame is not a binary frame or has an unsupported version.
+     */
+    public static Reader reader(byte[] message) {
+        if (!isBinaryFrame(message)) {
+            throw new IllegalArgumentException("Not a binary party message frame.");
+        }
+        if (message[1] != VERSION) {
+            throw new IllegalArgumentException("Unsupported party message version " + message[1] + ".");
+        }
+        return new Reader(message);
+    }
+
+    /**
+     * Cursor over a binary frame. Read methods throw IllegalArgumentException on truncated or malformed input.
+     */
+    public static final class Reader {
+        private final byte[] data;
+        private final byte type;
+        private int position = HEADER_SIZE;
+
+        private Reader(byte[] data) {
+            this.data = data;
+            this.type = data[2];
+        }
+
+        public byte getType() {
+            return type;
+        }
+
+        public UUID readUuid() {
+            return new UUID(readLong(), readLong());
+        }
+
+        public List<UUID> readUuidList() {
+            int count = readCount(UUID_SIZE);
+            List<UUID> uuids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                uuids.add(readUuid());
+            }
+            return uuids;
+        }
+
+        public PartyInfo readPartyInfo() {
+            UUID playerUUID = readUuid();
+            int flags = readByte();
+            if ((flags & FLAG_SUCCESS) == 0) {
+                return new PartyInfo(playerUUID);
+            }
+            int partySize = readVarInt();
+            List<UUID> memberUUIDs = readUuidList();
+            return new PartyInfo(playerUUID, (flags & FLAG_LEADER) != 0, partySize, memberUUIDs);
+        }
+
+        public List<PartyInfo> readPartyInfoList() {
+            int count = readCount(UUID_SIZE + 1);
+            List<PartyInfo> infos = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                infos.add(readPartyInfo());
+            }
+            return infos;
+        }
+
+        public int readVarInt() {
+            long value = readVarLong();
+            if (value > Integer.MAX_VALUE) throw new IllegalArgumentException("Varint out of range.");
+            return (int) value;
+        }
+
+        public long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalArgumentException("Varint too long.");
+        }
+
+        /**
+         * Reads a count and checks the remaining bytes could hold that many elements,
+         * so a corrupt count cannot trigger a huge allocation.
+         */
+        private int readCount(int minElementSize) {
+            int count = readVarInt();
+            if ((long) count * minElementSize > data.length - position) {
+                throw new IllegalArgumentException("Element count " + count + " exceeds frame size.");
+            }
+            return count;
+        }
+
+        private int readByte() {
+            if (position >= data.length) throw new IllegalArgumentException("Truncated party message frame.");
+            return data[position++] & 0xFF;
+        }
+
+        private long readLong() {
+            if (position + 8 > data.length) throw new IllegalArgumentException("Truncated party message frame.");
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (data[position++] & 0xFF);
+            }
+            return value;
+        }
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        private Writer(byte type, int payloadSizeHint) {
+            this.buffer = new byte[HEADER_SIZE + Math.max(16, payloadSizeHint)];
+            buffer[0] = MAGIC;
+            buffer[1] = VERSION;
+            buffer[2] = type;
+            this.position = HEADER_SIZE;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void writeUuid(UUID uuid) {
+            writeLong(uuid.getMostSignificantBits());
+            writeLong(uuid.getLeastSignificantBits());
+        }
+
+        private void writeVarInt(int value) {
+            if (value < 0) throw new IllegalArgumentException("Negative count " + value + ".");
+            writeVarLong(value);
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void writePartyInfo(PartyInfo info) {
+            writeUuid(info.getRequestedPlayerUUID());
+            int flags = (info.isSuccess() ? FLAG_SUCCESS : 0) | (info.isLeader() ? FLAG_LEADER : 0);
+            writeByte(flags);
+            if (!info.isSuccess()) return;
+            writeVarInt(info.getPartySize());
+            writeVarInt(info.getMemberUUIDs().size());
+            for (UUID memberUUID : info.getMemberUUIDs()) {
+                writeUuid(memberUUID);
+            }
+        }
+
+        private byte[] toByteArray() {
+            return position == buffer.length ? buffer : Arrays.copyOf(buffer, position);
+        }
+    }
+}
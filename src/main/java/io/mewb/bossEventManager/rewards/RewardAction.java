@@ -0,0 +1,252 @@
+package io.mewb.bossEventManager.rewards;
+
+import io.lumine.mythic.bukkit.MythicBukkit;
+import io.mewb.bossEventManager.BossEventManagerPlugin;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One typed boss reward, compiled once when bosses are loaded. Executed by the {@link RewardEngine} on the main thread.
+ */
+public interface RewardAction {
+
+    /**
+     * Grants the reward.
+     * @return true if it was granted, false if it could not be (e.g. the player is offline for an item).
+     */
+    boolean execute(BossEventManagerPlugin plugin, RewardContext context);
+
+    /**
+     * @return true if the reward runs once per kill instead of once per party member.
+     */
+    default boolean isPerKill() {
+        return false;
+    }
+
+    /**
+     * @return true if the reward can only be granted while the player is online. The engine holds such rewards
+     * until the player joins instead of running them and losing them.
+     */
+    default boolean needsOnlinePlayer() {
+        return false;
+    }
+
+    String getType();
+
+    /**
+     * Compiles a reward config entry. An explicit 'type' selects the executor. Plain 'command' entries
+     * that match a known form are mapped to a native executor: 'broadcast' becomes a once-per-kill broadcast,
+     * '[minecraft:]give %player% material [amount]' an item give and 'mm i[tems] give %player% item [amount]'
+     * a MythicMobs item. Anything else stays a console command.
+     * @throws IllegalArgumentException If the entry is invalid.
+     */
+    static RewardAction compile(Map<?, ?> map) {
+        Object typeObj = map.get("type");
+        String type = typeObj != null ? String.valueOf(typeObj).toLowerCase(Locale.ROOT) : "command";
+        switch (type) {
+            case "money": return new Money(requireNumber(map, "amount"));
+            case "item": return new Item(requireMaterial(String.valueOf(require(map, "material"))), optionalInt(map, "amount", 1));
+            case "mythic-item": return new MythicItem(String.valueOf(require(map, "item")), optionalInt(map, "amount", 1));
+            case "broadcast": return new Broadcast(RewardTemplate.compile(String.valueOf(require(map, "message"))));
+            case "command": return fromCommand(String.valueOf(require(map, "command")));
+            default: throw new IllegalArgumentException("Unknown reward type '" + type + "'");
+        }
+    }
+
+    private static RewardAction fromCommand(String command) {
+        String trimmed = command.startsWith("/") ? command.substring(1).trim() : command.trim();
+        String[] args = trimmed.split("\\s+");
+        String label = args[0].toLowerCase(Locale.ROOT);
+        if ((label.equals("broadcast") || label.equals("bc")) && args.length > 1) {
+            return new Broadcast(RewardTemplate.compile(trimmed.substring(args[0].length()).trim()));
+        }
+        if ((label.equals("give") || label.equals("minecraft:give")) && (args.length == 3 || args.length == 4) && args[1].equals("%player%")) {
+            Material material = Material.matchMaterial(args[2]);
+            Integer amount = args.length == 4 ? parseInt(args[3]) : Integer.valueOf(1);
+            if (material != null && material.isItem() && amount != null) return new Item(material, amount);
+        }
+        if ((label.equals("mm") || label.equals("mythicmobs")) && (args.length == 5 || args.length == 6)
+                && (args[1].equalsIgnoreCase("i") || args[1].equalsIgnoreCase("items")) && args[2].equalsIgnoreCase("give") && args[3].equals("%player%")) {
+            Integer amount = args.length == 6 ? parseInt(args[5]) : Integer.valueOf(1);
+            if (amount != null) return new MythicItem(args[4], amount);
+        }
+        return new Command(RewardTemplate.compile(trimmed));
+    }
+
+    private static Object require(Map<?, ?> map, String key) {
+        Object value = map.get(key);
+        if (value == null) throw new IllegalArgumentException("Reward is missing '" + key + "'");
+        return value;
+    }
+
+    private static double requireNumber(Map<?, ?> map, String key) {
+        Object value = require(map, key);
+        if (value instanceof Number) return ((Number) value).doubleValue();
+        throw new IllegalArgumentException("Reward '" + key + "' must be a number");
+    }
+
+    private static int optionalInt(Map<?, ?> map, String key, int def) {
+        Object value = map.get(key);
+        if (value == null) return def;
+        if (value instanceof Number) return Math.max(1, ((Number) value).intValue());
+        throw new IllegalArgumentException("Reward '" + key + "' must be a number");
+    }
+
+    private static Material requireMaterial(String name) {
+        Material material = Material.matchMaterial(name);
+        if (material == null || !material.isItem()) throw new IllegalArgumentException("Unknown item material '" + name + "'");
+        return material;
+    }
+
+    private static Integer parseInt(String value) {
+        try {
+            return Math.max(1, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gives an item stack, dropping what does not fit at the player's feet.
+     */
+    private static boolean give(Player player, ItemStack stack) {
+        for (ItemStack leftover : player.getInventory().addItem(stack).values()) {
+            player.getWorld().dropItemNaturally(player.getLocation(), leftover);
+        }
+        return true;
+    }
+
+    /**
+     * Deposits through the Vault economy the plugin is hooked into. Works for offline players.
+     */
+    final class Money implements RewardAction {
+        private final double amount;
+
+        private Money(double amount) {
+            this.amount = amount;
+        }
+
+        @Override
+        public boolean execute(BossEventManagerPlugin plugin, RewardContext context) {
+            Economy economy = plugin.getVaultEconomy();
+            if (economy == null) return false;
+            EconomyResponse response = economy.depositPlayer(Bukkit.getOfflinePlayer(context.getPlayerUUID()), amount);
+            if (!response.transactionSuccess()) {
+                plugin.getLogger().warning("Reward deposit of " + amount + " to " + context.getPlayerName() + " failed: " + response.errorMessage);
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public String getType() { return "money"; }
+    }
+
+    final class Item implements RewardAction {
+        private final Material material;
+        private final int amount;
+
+        private Item(Material material, int amount) {
+            this.material = material;
+            this.amount = amount;
+        }
+
+        @Override
+        public boolean execute(BossEventManagerPlugin plugin, RewardContext context) {
+            Player player = context.getOnlinePlayer();
+            if (player == null) return false;
+            return give(player, new ItemStack(material, amount));
+        }
+
+        @Override
+        public boolean needsOnlinePlayer() { return true; }
+
+        @Override
+        public String getType() { return "item"; }
+    }
+
+    final class MythicItem implements RewardAction {
+        private final String itemId;
+        private final int amount;
+
+        private MythicItem(String itemId, int amount) {
+            this.itemId = itemId;
+            this.amount = amount;
+        }
+
+        @Override
+        public boolean execute(BossEventManagerPlugin plugin, RewardContext context) {
+            Player player = context.getOnlinePlayer();
+            if (player == null || plugin.getMythicMobsApi() == null) return false;
+            ItemStack stack = MythicBukkit.inst().getItemManager().getItemStack(itemId);
+            if (stack == null) {
+                plugin.getLogger().warning("MythicMobs item '" + itemId + "' for a boss reward does not exist.");
+                return false;
+            }
+            stack.setAmount(amount);
+            return give(player, stack);
+        }
+
+        @Override
+        public boolean needsOnlinePlayer() { return true; }
+
+        @Override
+        public String getType() { return "mythic-item"; }
+    }
+
+    /**
+     * Broadcasts a message once per kill. %player% is the first party member, %player_list% the whole party.
+     */
+    final class Broadcast implements RewardAction {
+        private final RewardTemplate message;
+
+        private Broadcast(RewardTemplate message) {
+            this.message = message;
+        }
+
+        @Override
+        public boolean execute(BossEventManagerPlugin plugin, RewardContext context) {
+            Bukkit.broadcastMessage(ChatColor.translateAlternateColorCodes('&', message.render(context)));
+            return true;
+        }
+
+        @Override
+        public boolean isPerKill() { return true; }
+
+        @Override
+        public String getType() { return "broadcast"; }
+    }
+
+    /**
+     * Fallback for anything without a native executor: dispatched as the console.
+     */
+    final class Command implements RewardAction {
+        private final RewardTemplate command;
+
+        private Command(RewardTemplate command) {
+            this.command = command;
+        }
+
+        @Override
+        public boolean execute(BossEventManagerPlugin plugin, RewardContext context) {
+            return Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command.render(context));
+        }
+
+        /**
+         * Commands naming the player, e.g. a give, usually fail silently for offline players.
+         */
+        @Override
+        public boolean needsOnlinePlayer() { return command.usesPlayerName(); }
+
+        @Override
+        public String getType() { return "command"; }
+    }
+}
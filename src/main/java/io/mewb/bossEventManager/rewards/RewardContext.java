@@ -0,0 +1,41 @@
+package io.mewb.bossEventManager.rewards;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+
+/**
+ * Placeholder values for one reward execution: one party member of one boss kill.
+ * Once-per-kill rewards get the context of the first party member.
+ */
+public final class RewardContext {
+
+    private final UUID playerUUID;
+    private final String playerName;
+    private final String bossName; // Without color codes
+    private final String arenaId;
+    private final String playerList;
+
+    public RewardContext(UUID playerUUID, String playerName, String bossName, String arenaId, String playerList) {
+        this.playerUUID = playerUUID;
+        this.playerName = playerName;
+        this.bossName = bossName;
+        this.arenaId = arenaId;
+        this.playerList = playerList;
+    }
+
+    public UUID getPlayerUUID() { return playerUUID; }
+    public String getPlayerName() { return playerName; }
+    public String getBossName() { return bossName; }
+    public String getArenaId() { return arenaId; }
+    public String getPlayerList() { return playerList; }
+
+    /**
+     * @return The player if online, resolved at execution time since rewards may run a few ticks after the kill.
+     */
+    public Player getOnlinePlayer() {
+        Player player = Bukkit.getPlayer(playerUUID);
+        return player != null && player.isOnline() ? player : null;
+    }
+}
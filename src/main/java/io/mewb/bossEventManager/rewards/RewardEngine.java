@@ -0,0 +1,212 @@
+package io.mewb.bossEventManager.rewards;
+
+import io.mewb.bossEventManager.BossEventManagerPlugin;
+import io.mewb.bossEventManager.bosses.BossCatalog;
+import io.mewb.bossEventManager.bosses.BossDefinition;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Runs boss rewards on the main thread, spread over ticks. Each tick executes queued rewards until the
+ * per-tick time budget is used up, so a large party's rewards cannot cause a lag spike. At least one
+ * reward runs per tick so the queue always drains. Must only be used from the main thread.
+ * <p>
+ * With the journal enabled, every reward is journaled before it is queued and marked done after it ran,
+ * and rewards left unfinished by the previous run are replayed by {@link #replayJournal(BossCatalog)}.
+ * Rewards that need the player online (items, commands naming the player) wait for the player's next join
+ * when they are offline, e.g. replayed at startup, and stay pending in the journal until then.
+ */
+public class RewardEngine {
+
+    private final BossEventManagerPlugin plugin;
+    private final long budgetNanosPerTick;
+    private final Deque<PendingReward> queue = new ArrayDeque<>();
+    private final Map<UUID, List<PendingReward>> waitingForJoin = new HashMap<>();
+    private int waitingCount = 0;
+    private RewardJournal journal; // Null if disabled or it could not be opened
+    private BukkitTask tickTask;
+
+    // --- Metrics ---
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private int peakBacklog = 0;
+
+    public RewardEngine(BossEventManagerPlugin plugin) {
+        this.plugin = plugin;
+        double budgetMillis = plugin.getConfigManager().getConfig().getDouble("rewards.max-millis-per-tick", 1.0);
+        this.budgetNanosPerTick = Math.max(1L, (long) (budgetMillis * 1_000_000L));
+        if (plugin.getConfigManager().getConfig().getBoolean("rewards.journal.enabled", true)) {
+            long compactBytes = plugin.getConfigManager().getConfig().getLong("rewards.journal.compact-kb", 1024) * 1024L;
+            this.journal = new RewardJournal(new File(plugin.getDataFolder(), "reward-journal.log"), plugin.getLogger(), compactBytes);
+        } else {
+            this.journal = null;
+        }
+    }
+
+    /**
+     * Opens the journal and queues the rewards the previous run journaled but never finished.
+     * Rewards whose boss or reward entry no longer matches the config are dropped with a warning.
+     */
+    public void replayJournal(BossCatalog catalog) {
+        if (journal == null) return;
+        List<String[]> unfinished;
+        try {
+            unfinished = journal.open();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not open the reward journal. Rewards will not be journaled this run.", e);
+            journal = null; // Nothing would consume its lines
+            return;
+        }
+        int replayed = 0;
+        for (String[] fields : unfinished) {
+            // P key bossId rewardIndex type playerUUID playerName bossName arenaId playerList
+            String key = fields[1];
+            BossDefinition boss = catalog.getBoss(fields[2]);
+            int rewardIndex;
+            UUID playerUUID;
+            try {
+                rewardIndex = Integer.parseInt(fields[3]);
+                playerUUID = UUID.fromString(fields[5]);
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Dropping unreadable unfinished reward " + key + " from the reward journal.");
+                journal.recordDone(key);
+                continue;
+            }
+            if (boss == null || rewardIndex < 0 || rewardIndex >= boss.getRewards().size() || !boss.getRewards().get(rewardIndex).getAction().getType().equals(fields[4])) {
+                plugin.getLogger().warning("Dropping unfinished reward " + key + " (" + fields[4] + " for " + fields[6] + "): boss '" + fields[2] + "' or its reward #" + rewardIndex + " changed.");
+                journal.recordDone(key);
+                continue;
+            }
+            RewardContext context = new RewardContext(playerUUID, fields[6], fields[7], fields[8], fields[9]);
+            queue.add(new PendingReward(boss.getRewards().get(rewardIndex).getAction(), context, boss.getId(), rewardIndex, key));
+            replayed++;
+        }
+        if (replayed > 0) {
+            plugin.getLogger().warning("Replaying " + replayed + " boss rewards left unfinished by the last shutdown.");
+            peakBacklog = Math.max(peakBacklog, queue.size());
+            if (tickTask == null) tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Queues rewards behind any already waiting. They start running on the next tick.
+     */
+    public void submit(Collection<PendingReward> rewards) {
+        if (rewards.isEmpty()) return;
+        queue.addAll(journal != null ? journal.recordPending(rewards) : rewards);
+        peakBacklog = Math.max(peakBacklog, queue.size());
+        if (tickTask == null) tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    private void tick() {
+        long deadline = System.nanoTime() + budgetNanosPerTick;
+        do {
+            PendingReward next = queue.poll();
+            if (next == null) break;
+            run(next);
+        } while (System.nanoTime() < deadline);
+        if (queue.isEmpty() && tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+    }
+
+    /**
+     * Queues the rewards held for a player who was offline when they were due. Called when the player joins.
+     */
+    public void playerJoined(UUID playerUUID) {
+        List<PendingReward> held = waitingForJoin.remove(playerUUID);
+        if (held == null) return;
+        waitingCount -= held.size();
+        queue.addAll(held);
+        peakBacklog = Math.max(peakBacklog, queue.size());
+        if (tickTask == null) tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    private void run(PendingReward reward) {
+        if (reward.action.needsOnlinePlayer() && reward.context.getOnlinePlayer() == null) {
+            // Not a failure: granted on join, and left pending in the journal so a restart keeps it
+            waitingForJoin.computeIfAbsent(reward.context.getPlayerUUID(), uuid -> new ArrayList<>()).add(reward);
+            waitingCount++;
+            return;
+        }
+        boolean success;
+        try {
+            success = reward.action.execute(plugin, reward.context);
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.SEVERE, "Error executing " + reward.action.getType() + " reward for " + reward.context.getPlayerName(), e);
+            success = false;
+        }
+        if (success) executed.incrementAndGet();
+        else failed.incrementAndGet(); // Permanent, e.g. an unknown item or a failed deposit; retrying would not help
+        if (journal != null) journal.recordDone(reward.key);
+    }
+
+    /**
+     * Runs every queued reward right away, ignoring the budget, and closes the journal. Called on disable.
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        PendingReward next;
+        while ((next = queue.poll()) != null) run(next);
+        if (journal != null) journal.close();
+    }
+
+    public RewardJournal getJournal() {
+        return journal;
+    }
+
+    public int getBacklog() { return queue.size(); }
+    public int getWaitingForJoin() { return waitingCount; }
+    public int getPeakBacklog() { return peakBacklog; }
+    public long getExecuted() { return executed.get(); }
+    public long getFailed() { return failed.get(); }
+
+    /**
+     * A reward that passed its chance roll, waiting to be granted.
+     */
+    public static final class PendingReward {
+        private final RewardAction action;
+        private final RewardContext context;
+        private final String bossId;
+        private final int rewardIndex; // Position in the boss's reward list
+        private final String key; // Idempotency key, see RewardJournal
+
+        /**
+         * @param perKillKey true for once-per-kill rewards, whose key does not name a player.
+         */
+        public PendingReward(RewardAction action, RewardContext context, String bossId, int rewardIndex, boolean perKillKey) {
+            this(action, context, bossId, rewardIndex, context.getArenaId() + ":" + (perKillKey ? "kill" : context.getPlayerUUID().toString()) + ":" + rewardIndex);
+        }
+
+        private PendingReward(RewardAction action, RewardContext context, String bossId, int rewardIndex, String key) {
+            this.action = action;
+            this.context = context;
+            this.bossId = bossId;
+            this.rewardIndex = rewardIndex;
+            this.key = key;
+        }
+
+        public RewardAction getAction() { return action; }
+        public RewardContext getContext() { return context; }
+        public String getBossId() { return bossId; }
+        public int getRewardIndex() { return rewardIndex; }
+        public String getKey() { return key; }
+    }
+}
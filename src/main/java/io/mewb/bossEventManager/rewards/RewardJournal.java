@@ -0,0 +1,230 @@
+package io.mewb.bossEventManager.rewards;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Append-only journal of reward grants, so rewards interrupted by a crash or stop are granted on the next start.
+ * A reward is journaled as pending ("P") when it is rolled and as done ("D") once it ran. Callers only enqueue
+ * lines on a lock-free queue. One writer thread appends everything queued at once and fsyncs once per batch
+ * (group commit). Pending rewards without a done record are replayed at startup, so grants are at-least-once:
+ * a crash between a grant and its fsynced done record grants it again.
+ * <p>
+ * Line format, tab separated: {@code P key bossId rewardIndex type playerUUID playerName bossName arenaId playerList}
+ * and {@code D key}. The key is {@code arenaInstanceId:playerUUID:rewardIndex}, with "kill" instead of the
+ * player for once-per-kill rewards.
+ */
+public class RewardJournal {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final File file;
+    private final Logger logger;
+    private final long compactBytes;
+    private final ConcurrentLinkedQueue<String> lines = new ConcurrentLinkedQueue<>();
+    private final Set<String> knownKeys = ConcurrentHashMap.newKeySet(); // Keys journaled and not yet done, for de-duplication
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong committedLines = new AtomicLong();
+    private volatile boolean running = false;
+    private Thread writer;
+
+    // Writer thread state
+    private final Map<String, String> outstanding = new LinkedHashMap<>(); // Key -> pending line, in journal order
+    private final List<String> doneInBatch = new ArrayList<>();
+    private FileOutputStream out;
+    private Writer appender;
+    private long bytesSinceCompaction;
+
+    /**
+     * @param compactBytes The journal is rewritten with only its pending lines once this many bytes were appended.
+     */
+    public RewardJournal(File file, Logger logger, long compactBytes) {
+        this.file = file;
+        this.logger = logger;
+        this.compactBytes = Math.max(4096, compactBytes);
+    }
+
+    /**
+     * Reads the pending rewards left by the previous run, compacts the journal down to them and starts the writer.
+     * Call once, before any other method.
+     * @return The pending lines as field arrays, in journal order.
+     */
+    public List<String[]> open() throws IOException {
+        outstanding.clear();
+        if (file.exists()) {
+            try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] fields = line.split("\t", -1);
+                    if (fields.length == 10 && fields[0].equals("P")) outstanding.put(fields[1], line);
+                    else if (fields.length == 2 && fields[0].equals("D")) outstanding.remove(fields[1]);
+                    // Anything else is a line torn by a crash
+                }
+            }
+        }
+        List<String[]> pending = new ArrayList<>(outstanding.size());
+        for (Map.Entry<String, String> entry : outstanding.entrySet()) {
+            knownKeys.add(entry.getKey());
+            pending.add(entry.getValue().split("\t", -1));
+        }
+        compact();
+        running = true;
+        writer = new Thread(this::writeLoop, "BossEventManager-RewardJournal");
+        writer.setDaemon(true);
+        writer.start();
+        return pending;
+    }
+
+    /**
+     * Journals rewards as pending. Lock-free; safe from any thread.
+     * @return The rewards whose key was not journaled before, which are the ones to grant.
+     */
+    public List<RewardEngine.PendingReward> recordPending(Collection<RewardEngine.PendingReward> rewards) {
+        List<RewardEngine.PendingReward> accepted = new ArrayList<>(rewards.size());
+        for (RewardEngine.PendingReward reward : rewards) {
+            if (!knownKeys.add(reward.getKey())) continue;
+            RewardContext context = reward.getContext();
+            lines.offer(String.join("\t", "P", reward.getKey(), clean(reward.getBossId()), String.valueOf(reward.getRewardIndex()),
+                    reward.getAction().getType(), context.getPlayerUUID().toString(), clean(context.getPlayerName()),
+                    clean(context.getBossName()), clean(context.getArenaId()), clean(context.getPlayerList())));
+            accepted.add(reward);
+        }
+        LockSupport.unpark(writer);
+        return accepted;
+    }
+
+    /**
+     * Journals a reward as done, whether or not it could be granted. Lock-free; safe from any thread.
+     */
+    public void recordDone(String key) {
+        lines.offer("D\t" + key);
+        LockSupport.unpark(writer);
+    }
+
+    private static String clean(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private void writeLoop() {
+        while (running || !lines.isEmpty()) {
+            String line = lines.poll();
+            if (line == null) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                // Everything queued while the previous fsync ran goes into this commit
+                int batch = 0;
+                do {
+                    append(line);
+                    batch++;
+                } while ((line = lines.poll()) != null);
+                appender.flush();
+                out.getChannel().force(false);
+                commits.incrementAndGet();
+                committedLines.addAndGet(batch);
+                // Forgotten once the done records are durable, so the set only holds outstanding rewards
+                for (String key : doneInBatch) knownKeys.remove(key);
+                doneInBatch.clear();
+                if (bytesSinceCompaction >= compactBytes) compact();
+            } catch (IOException | RuntimeException e) { // Never let the writer thread die, or lines pile up unconsumed
+                logger.log(Level.SEVERE, "Failed to write the reward journal " + file.getName() + ". Unfinished rewards may not be replayed after a crash.", e);
+            }
+        }
+    }
+
+    private void append(String line) throws IOException {
+        if (line.startsWith("P\t")) {
+            outstanding.put(line.substring(2, line.indexOf('\t', 2)), line);
+        } else {
+            String key = line.substring(2);
+            outstanding.remove(key);
+            doneInBatch.add(key);
+        }
+        appender.write(line);
+        appender.write('\n');
+        bytesSinceCompaction += line.length() + 1;
+    }
+
+    /**
+     * Rewrites the journal with only its pending lines and reopens it for appending. The current stream is only
+     * swapped once the rewritten file is in place, so a failure leaves the writer appending to the old file.
+     */
+    private void compact() throws IOException {
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (FileOutputStream tempOut = new FileOutputStream(temp, false);
+             Writer tempWriter = new OutputStreamWriter(tempOut, StandardCharsets.UTF_8)) {
+            for (String line : outstanding.values()) {
+                tempWriter.write(line);
+                tempWriter.write('\n');
+            }
+            tempWriter.flush();
+            tempOut.getChannel().force(false);
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        FileOutputStream newOut = new FileOutputStream(file, true);
+        try {
+            closeAppender();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to close the reward journal before reopening it.", e);
+        }
+        out = newOut;
+        appender = new OutputStreamWriter(newOut, StandardCharsets.UTF_8);
+        bytesSinceCompaction = 0;
+    }
+
+    private void closeAppender() throws IOException {
+        if (appender != null) {
+            appender.close();
+            appender = null;
+            out = null;
+        }
+    }
+
+    /**
+     * Commits everything queued and stops the writer.
+     */
+    public void close() {
+        running = false;
+        if (writer == null) return;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.warning("Reward journal writer did not finish in time; the last rewards may be replayed on the next start.");
+            return;
+        }
+        try {
+            closeAppender();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to close the reward journal.", e);
+        }
+    }
+
+    public long getCommits() { return commits.get(); }
+    public long getCommittedLines() { return committedLines.get(); }
+    public int getQueuedLines() { return lines.size(); }
+}
@@ -0,0 +1,98 @@
+package io.mewb.bossEventManager.rewards;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A reward string compiled once at boss load: literal segments with placeholder slots between them.
+ * Unlike {@link io.mewb.bossEventManager.messages.MessageTemplate} no color codes are translated, since
+ * most reward strings are commands. Unknown %tokens% are kept as literal text.
+ */
+public final class RewardTemplate {
+
+    private enum Placeholder {
+        PLAYER("%player%"),
+        PLAYER_UUID("%player_uuid%"),
+        BOSS_NAME("%boss_name%"),
+        ARENA_ID("%arena_id%"),
+        PLAYER_LIST("%player_list%");
+
+        private final String token;
+
+        Placeholder(String token) {
+            this.token = token;
+        }
+
+        private static Placeholder byToken(String token) {
+            for (Placeholder placeholder : values()) {
+                if (placeholder.token.equals(token)) return placeholder;
+            }
+            return null;
+        }
+
+        private String resolve(RewardContext context) {
+            switch (this) {
+                case PLAYER: return context.getPlayerName();
+                case PLAYER_UUID: return context.getPlayerUUID().toString();
+                case BOSS_NAME: return context.getBossName();
+                case ARENA_ID: return context.getArenaId();
+                default: return context.getPlayerList();
+            }
+        }
+    }
+
+    private final String raw;
+    private final String[] literals; // One more than slots
+    private final Placeholder[] slots;
+
+    private RewardTemplate(String raw, String[] literals, Placeholder[] slots) {
+        this.raw = raw;
+        this.literals = literals;
+        this.slots = slots;
+    }
+
+    public static RewardTemplate compile(String raw) {
+        List<String> literals = new ArrayList<>();
+        List<Placeholder> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < raw.length()) {
+            int end = raw.charAt(i) == '%' ? raw.indexOf('%', i + 1) : -1;
+            Placeholder placeholder = end > i ? Placeholder.byToken(raw.substring(i, end + 1)) : null;
+            if (placeholder == null) {
+                literal.append(raw.charAt(i));
+                i++;
+                continue;
+            }
+            literals.add(literal.toString());
+            slots.add(placeholder);
+            literal.setLength(0);
+            i = end + 1;
+        }
+        literals.add(literal.toString());
+        return new RewardTemplate(raw, literals.toArray(new String[0]), slots.toArray(new Placeholder[0]));
+    }
+
+    public String render(RewardContext context) {
+        if (slots.length == 0) return literals[0];
+        StringBuilder builder = new StringBuilder(raw.length() + 32);
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(literals[i]).append(slots[i].resolve(context));
+        }
+        return builder.append(literals[slots.length]).toString();
+    }
+
+    /**
+     * @return true if the string names the player, e.g. a command that needs them online.
+     */
+    public boolean usesPlayerName() {
+        for (Placeholder slot : slots) {
+            if (slot == Placeholder.PLAYER) return true;
+        }
+        return false;
+    }
+
+    public String getRaw() {
+        return raw;
+    }
+}